@@ -0,0 +1,66 @@
+#!/bin/sh
+#
+# Copyright 2025 Google LLC
+#
+# Licensed under the Apache License, Version 2.0 (the "License");
+# you may not use this file except in compliance with the License.
+# You may obtain a copy of the License at
+#
+#     http://www.apache.org/licenses/LICENSE-2.0
+#
+# Unless required by applicable law or agreed to in writing, software
+# distributed under the License is distributed on an "AS IS" BASIS,
+# WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+# See the License for the specific language governing permissions and
+# limitations under the License.
+#
+
+# Measures the time from "docker run" to the first successful tool call, for each of the given images,
+# i.e. what a client waiting on a cold start experiences.
+#
+# Usage: measure-startup.sh [runs] image...
+
+set -eu
+
+RUNS=$1
+shift
+PORT=${PORT:-18080}
+MCP_URL="http://localhost:$PORT/mcp"
+
+now_millis() {
+  echo $(($(date +%s%N) / 1000000))
+}
+
+first_tool_call() {
+  curl -sf -X POST "$MCP_URL" \
+    -H 'Content-Type: application/json' \
+    -H 'Accept: application/json, text/event-stream' \
+    -D headers.txt -o /dev/null \
+    -d '{"jsonrpc":"2.0","id":1,"method":"initialize","params":{"protocolVersion":"2025-06-18","capabilities":{},"clientInfo":{"name":"startup","version":"1.0.0"}}}' \
+    || return 1
+  SESSION_ID=$(grep -i '^mcp-session-id:' headers.txt | cut -d' ' -f2 | tr -d '\r')
+  curl -sf -X POST "$MCP_URL" \
+    -H 'Content-Type: application/json' \
+    -H 'Accept: application/json, text/event-stream' \
+    -H "Mcp-Session-Id: $SESSION_ID" \
+    -d '{"jsonrpc":"2.0","id":2,"method":"tools/call","params":{"name":"current-moon-phase","arguments":{}}}' \
+    | grep -q '"result"'
+}
+
+for image in "$@"; do
+  total=0
+  run=1
+  while [ "$run" -le "$RUNS" ]; do
+    start=$(now_millis)
+    container=$(docker run -d -p "$PORT:8080" "$image")
+    until first_tool_call; do
+      sleep 0.01
+    done
+    elapsed=$(($(now_millis) - start))
+    docker rm -f "$container" > /dev/null
+    total=$((total + elapsed))
+    run=$((run + 1))
+  done
+  echo "$image: $((total / RUNS)) ms to the first successful tool call (mean of $RUNS runs)"
+done
+rm -f headers.txt
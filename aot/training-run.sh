@@ -0,0 +1,69 @@
+#!/bin/sh
+#
+# Copyright 2025 Google LLC
+#
+# Licensed under the Apache License, Version 2.0 (the "License");
+# you may not use this file except in compliance with the License.
+# You may obtain a copy of the License at
+#
+#     http://www.apache.org/licenses/LICENSE-2.0
+#
+# Unless required by applicable law or agreed to in writing, software
+# distributed under the License is distributed on an "AS IS" BASIS,
+# WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+# See the License for the specific language governing permissions and
+# limitations under the License.
+#
+
+# Training run for the AOT cache: starts the server with the given command,
+# replays a typical MCP session against it, then stops it gracefully,
+# which is when the JVM writes the cache requested with -XX:AOTCacheOutput.
+#
+# Usage: training-run.sh java -XX:AOTCacheOutput=app.aot ... -jar app.jar
+
+set -eu
+
+MCP_URL=${MCP_URL:-http://localhost:8080/mcp}
+# Repeat the tool calls enough for the hot methods to be profiled
+ROUNDS=${ROUNDS:-200}
+
+"$@" &
+SERVER_PID=$!
+
+mcp() {
+  curl -sf -X POST "$MCP_URL" \
+    -H 'Content-Type: application/json' \
+    -H 'Accept: application/json, text/event-stream' \
+    ${SESSION_ID:+-H "Mcp-Session-Id: $SESSION_ID"} \
+    "$@"
+}
+
+INITIALIZE='{"jsonrpc":"2.0","id":1,"method":"initialize","params":{"protocolVersion":"2025-06-18","capabilities":{},"clientInfo":{"name":"aot-training","version":"1.0.0"}}}'
+
+# Wait for the server to accept an initialize request
+SESSION_ID=
+for _ in $(seq 1 300); do
+  if mcp -D headers.txt -o /dev/null -d "$INITIALIZE"; then
+    break
+  fi
+  sleep 0.1
+done
+SESSION_ID=$(grep -i '^mcp-session-id:' headers.txt | cut -d' ' -f2 | tr -d '\r')
+rm -f headers.txt
+
+mcp -o /dev/null -d '{"jsonrpc":"2.0","method":"notifications/initialized"}'
+mcp -o /dev/null -d '{"jsonrpc":"2.0","id":2,"method":"tools/list"}'
+
+i=0
+while [ "$i" -lt "$ROUNDS" ]; do
+  mcp -o /dev/null -d '{"jsonrpc":"2.0","id":3,"method":"tools/call","params":{"name":"current-moon-phase","arguments":{}}}'
+  mcp -o /dev/null -d '{"jsonrpc":"2.0","id":4,"method":"tools/call","params":{"name":"moon-phase-at-date","arguments":{"date":"2025-10-01"}}}'
+  mcp -o /dev/null -d '{"jsonrpc":"2.0","id":5,"method":"tools/call","params":{"name":"moon-phase-range","arguments":{"start":"2025-01-01","end":"2025-03-31"}}}'
+  mcp -o /dev/null -d '{"jsonrpc":"2.0","id":6,"method":"tools/call","params":{"name":"next-phase-event","arguments":{"phase":"FULL_MOON","count":2}}}'
+  mcp -o /dev/null -d '{"jsonrpc":"2.0","id":7,"method":"tools/call","params":{"name":"moon-phases-batch","arguments":{"dates":["2025-10-01","1982-10-28","2025-10-01"],"instants":["2025-10-07T03:47:00Z"]}}}'
+  i=$((i + 1))
+done
+
+# The cache is written when the JVM exits
+kill -TERM "$SERVER_PID"
+wait "$SERVER_PID" || true
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package mn.mcp.server;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+/**
+ * Fits Chebyshev polynomials to the phase angle of the reference algorithm, segment by segment,
+ * and writes them in the format read by {@link ChebyshevEphemeris}. Run at build time by the
+ * {@code generateEphemeris} Gradle task.
+ * <p>
+ * The coefficients are interpolated at the Chebyshev nodes of each segment, with the continuous
+ * {@link MoonPhasesService#calculateMoonPhaseRadiansAtDays(double)}. The error is then measured
+ * against {@link MoonPhasesService#calculateMoonPhaseRadians(long)} at regular instants across the whole span.
+ */
+final class ChebyshevEphemerisGenerator {
+
+    private static final int SECONDS_IN_A_DAY = 86400;
+    // Odd, so that the error is sampled at every position within the segments
+    private static final long ERROR_SAMPLING_SECONDS = 3607;
+
+    private ChebyshevEphemerisGenerator() {
+    }
+
+    /**
+     * @param args The first and last years covered, the length of a segment in days,
+     *             the degree of the polynomials, and the file to write.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 5) {
+            throw new IllegalArgumentException("Usage: ChebyshevEphemerisGenerator <start-year> <end-year> <segment-days> <degree> <file>");
+        }
+        long start = LocalDate.of(Integer.parseInt(args[0]), 1, 1).toEpochDay() * SECONDS_IN_A_DAY;
+        long end = LocalDate.of(Integer.parseInt(args[1]) + 1, 1, 1).toEpochDay() * SECONDS_IN_A_DAY;
+        long segmentSeconds = Long.parseLong(args[2]) * SECONDS_IN_A_DAY;
+        int degree = Integer.parseInt(args[3]);
+
+        ByteBuffer file = generate(start, end, segmentSeconds, degree);
+        Path path = Path.of(args[4]);
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        Files.write(path, file.array());
+        System.out.printf("Wrote %s: %d bytes, maximum error %.2e degrees%n", path, file.capacity(), file.getDouble(32));
+    }
+
+    /**
+     * Fits the polynomials over {@code [start, end)}, rounded up to a whole number of segments.
+     *
+     * @return The content of the ephemeris file.
+     */
+    static ByteBuffer generate(long start, long end, long segmentSeconds, int degree) {
+        int segmentCount = (int) ((end - start + segmentSeconds - 1) / segmentSeconds);
+        int coefficientCount = degree + 1;
+        ByteBuffer file = ByteBuffer
+            .allocate(ChebyshevEphemeris.HEADER_BYTES + segmentCount * coefficientCount * Double.BYTES)
+            .order(ByteOrder.LITTLE_ENDIAN);
+        file.putInt(ChebyshevEphemeris.MAGIC)
+            .putInt(ChebyshevEphemeris.VERSION)
+            .putLong(start)
+            .putLong(segmentSeconds)
+            .putInt(segmentCount)
+            .putInt(coefficientCount)
+            .putDouble(Double.NaN);
+
+        double segmentDays = (double) segmentSeconds / SECONDS_IN_A_DAY;
+        double[] values = new double[coefficientCount];
+        for (int segment = 0; segment < segmentCount; segment++) {
+            double middleDays = MoonPhasesService.daysSinceEpoch1980(start + segment * segmentSeconds) + segmentDays / 2.0;
+            double middleDegrees = phaseDegreesAtDays(middleDays);
+            for (int k = 0; k < coefficientCount; k++) {
+                double x = Math.cos(Math.PI * (k + 0.5) / coefficientCount);
+                // Unwrapped around the middle of the segment, which moves less than 180 degrees either way
+                values[k] = middleDegrees + signedDegrees(phaseDegreesAtDays(middleDays + x * segmentDays / 2.0) - middleDegrees);
+            }
+            for (int j = 0; j < coefficientCount; j++) {
+                double sum = 0.0;
+                for (int k = 0; k < coefficientCount; k++) {
+                    sum += values[k] * Math.cos(Math.PI * j * (k + 0.5) / coefficientCount);
+                }
+                file.putDouble((j == 0 ? 1.0 : 2.0) * sum / coefficientCount);
+            }
+        }
+
+        ChebyshevEphemeris ephemeris = new ChebyshevEphemeris(file.duplicate());
+        double maxErrorDegrees = 0.0;
+        for (long t = start; t < end; t += ERROR_SAMPLING_SECONDS) {
+            double error = Math.abs(signedDegrees(ephemeris.phaseDegrees(t) - MoonPhasesService.normalizedPhaseDegrees(t)));
+            maxErrorDegrees = Math.max(maxErrorDegrees, error);
+        }
+        file.putDouble(32, maxErrorDegrees);
+        return file;
+    }
+
+    private static double phaseDegreesAtDays(double daysSinceEpoch1980) {
+        return MoonPhasesService.fixAngle(Math.toDegrees(MoonPhasesService.calculateMoonPhaseRadiansAtDays(daysSinceEpoch1980)));
+    }
+
+    /**
+     * @return The angle in the range [-180, 180) degrees.
+     */
+    private static double signedDegrees(double angleDegrees) {
+        return MoonPhasesService.fixAngle(angleDegrees + 180.0) - 180.0;
+    }
+}
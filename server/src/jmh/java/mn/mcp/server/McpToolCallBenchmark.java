@@ -0,0 +1,104 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package mn.mcp.server;
+
+import io.micronaut.context.ApplicationContext;
+import io.micronaut.runtime.server.EmbeddedServer;
+import io.modelcontextprotocol.client.McpClient;
+import io.modelcontextprotocol.client.McpSyncClient;
+import io.modelcontextprotocol.client.transport.HttpClientStreamableHttpTransport;
+import io.modelcontextprotocol.json.McpJsonMapper;
+import io.modelcontextprotocol.json.TypeRef;
+import io.modelcontextprotocol.spec.McpSchema;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * End-to-end benchmark of a {@code tools/call} request, from the MCP client to an embedded server
+ * over the Streamable HTTP transport, like in {@code MoonPhaseWithMcpSdkTest}.
+ * <p>
+ * {@code preEncoded} compares the phase tools with and without the pre-encoded responses,
+ * see {@link PreEncodedMcpJsonMapper}. {@code encodeResponse} isolates the encoding of a {@code tools/call} response
+ * from the transport, as done by the SDK with the MCP JSON mapper.
+ */
+@State(Scope.Benchmark)
+public class McpToolCallBenchmark {
+
+    private static final McpSchema.CallToolRequest MOON_PHASE_AT_DATE =
+        new McpSchema.CallToolRequest("moon-phase-at-date", Map.of("date", "2025-10-01"));
+    private static final McpSchema.CallToolRequest CURRENT_MOON_PHASE =
+        new McpSchema.CallToolRequest("current-moon-phase", Map.of());
+
+    @Param({"true", "false"})
+    public boolean preEncoded;
+
+    private EmbeddedServer embeddedServer;
+    private McpSyncClient client;
+    private McpJsonMapper jsonMapper;
+    private long nextId;
+
+    @Setup
+    public void setUp() {
+        embeddedServer = ApplicationContext.run(EmbeddedServer.class, Map.of("moon-phases.tools.pre-encoded", preEncoded));
+
+        HttpClientStreamableHttpTransport transport = HttpClientStreamableHttpTransport
+            .builder(embeddedServer.getURI().toString() + "/mcp")
+            .build();
+        client = McpClient.sync(transport)
+            .requestTimeout(Duration.ofSeconds(10))
+            .build();
+        client.initialize();
+        jsonMapper = embeddedServer.getApplicationContext().getBean(McpJsonMapper.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        client.closeGracefully();
+        embeddedServer.close();
+    }
+
+    @Benchmark
+    public McpSchema.CallToolResult moonPhaseAtDate() {
+        return client.callTool(MOON_PHASE_AT_DATE);
+    }
+
+    @Benchmark
+    public McpSchema.CallToolResult currentMoonPhase() {
+        return client.callTool(CURRENT_MOON_PHASE);
+    }
+
+    @Benchmark
+    public byte[] encodeResponse() throws IOException {
+        // Built like the SDK does for each call, from the JSON text and the map form of the value of the tool
+        MoonPhaseEmoji moonPhaseEmoji = MoonPhaseEmoji.of(MoonPhase.FULL_MOON);
+        McpSchema.CallToolResult result = McpSchema.CallToolResult.builder()
+            .addTextContent(jsonMapper.writeValueAsString(moonPhaseEmoji))
+            .isError(false)
+            .structuredContent(jsonMapper.convertValue(moonPhaseEmoji, new TypeRef<Map<String, Object>>() {
+            }))
+            .build();
+        return jsonMapper.writeValueAsBytes(new McpSchema.JSONRPCResponse(McpSchema.JSONRPC_VERSION, nextId++, result, null));
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package mn.mcp.server;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDate;
+import java.util.Random;
+
+/**
+ * Benchmarks of the batch calculation of moon phases, per timestamp, against the one-at-a-time reference.
+ */
+@State(Scope.Thread)
+public class MoonPhaseBatchBenchmark {
+
+    private static final int TIMESTAMP_COUNT = 1024;
+
+    private final long[] timestamps = new long[TIMESTAMP_COUNT];
+    private final byte[] phaseOrdinals = new byte[TIMESTAMP_COUNT];
+
+    @Setup
+    public void setUp() {
+        long start = LocalDate.of(1800, 1, 1).toEpochDay() * 86400;
+        long end = LocalDate.of(2200, 1, 1).toEpochDay() * 86400;
+        Random random = new Random(42);
+        for (int i = 0; i < TIMESTAMP_COUNT; i++) {
+            timestamps[i] = start + (long) (random.nextDouble() * (end - start));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TIMESTAMP_COUNT)
+    public byte[] vectorized() {
+        VectorizedMoonPhaseBatch.evaluate(timestamps, phaseOrdinals, null);
+        return phaseOrdinals;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TIMESTAMP_COUNT)
+    public byte[] scalar() {
+        MoonPhaseBatch.evaluateScalar(timestamps, 0, phaseOrdinals, null);
+        return phaseOrdinals;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TIMESTAMP_COUNT)
+    public byte[] reference() {
+        for (int i = 0; i < TIMESTAMP_COUNT; i++) {
+            phaseOrdinals[i] = (byte) MoonPhasesService.phaseOrdinal(MoonPhasesService.normalizedPhaseDegrees(timestamps[i]));
+        }
+        return phaseOrdinals;
+    }
+}
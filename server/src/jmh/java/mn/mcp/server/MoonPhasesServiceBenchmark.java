@@ -0,0 +1,107 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package mn.mcp.server;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDate;
+import java.util.Random;
+
+/**
+ * Benchmarks of the ephemeris, over timestamps spread between 1800 and 2200,
+ * i.e. both inside and outside of the span covered by the phase-transition index.
+ */
+@State(Scope.Thread)
+public class MoonPhasesServiceBenchmark {
+
+    private static final int TIMESTAMP_COUNT = 1024;
+    private static final MoonPhase[] PHASES = MoonPhase.values();
+
+    @Param({"true", "false"})
+    boolean indexed;
+
+    private MoonPhasesService moonPhasesService;
+    private Ephemeris chebyshevEphemeris;
+    private MoonSkyService moonSkyService;
+    private final long[] timestamps = new long[TIMESTAMP_COUNT];
+    private final double[] angles = new double[TIMESTAMP_COUNT];
+    private int next;
+
+    @Setup
+    public void setUp() {
+        moonPhasesService = new MoonPhasesService(new MoonPhaseIndex(indexed, 1900, 2100));
+        chebyshevEphemeris = ChebyshevEphemeris.fromClasspath();
+        moonSkyService = new MoonSkyService(new LunarStateCache(4096), moonPhasesService);
+
+        long start = LocalDate.of(1800, 1, 1).toEpochDay() * 86400;
+        long end = LocalDate.of(2200, 1, 1).toEpochDay() * 86400;
+        Random random = new Random(42);
+        for (int i = 0; i < TIMESTAMP_COUNT; i++) {
+            timestamps[i] = start + (long) (random.nextDouble() * (end - start));
+            angles[i] = random.nextDouble() * 360.0;
+        }
+        // Build the index outside of the measurements
+        moonPhasesService.moonPhaseAtUnixTimestamp(timestamps[0]);
+    }
+
+    @Benchmark
+    public MoonPhaseEmoji moonPhaseAtUnixTimestamp() {
+        return moonPhasesService.moonPhaseAtUnixTimestamp(timestamps[next++ & (TIMESTAMP_COUNT - 1)]);
+    }
+
+    @Benchmark
+    public int phaseOrdinalAt() {
+        return moonPhasesService.phaseOrdinalAt(timestamps[next++ & (TIMESTAMP_COUNT - 1)]);
+    }
+
+    @Benchmark
+    public double calculateMoonPhaseRadians() {
+        return MoonPhasesService.calculateMoonPhaseRadians(timestamps[next++ & (TIMESTAMP_COUNT - 1)]);
+    }
+
+    @Benchmark
+    public double chebyshevPhaseDegrees() {
+        return chebyshevEphemeris.phaseDegrees(timestamps[next++ & (TIMESTAMP_COUNT - 1)]);
+    }
+
+    @Benchmark
+    public double fastPhaseDegrees() {
+        return FastEphemeris.phaseDegrees(timestamps[next++ & (TIMESTAMP_COUNT - 1)]);
+    }
+
+    @Benchmark
+    public MoonPhaseEmoji getMoonPhaseEmoji() {
+        double angle = angles[next++ & (TIMESTAMP_COUNT - 1)];
+        return MoonPhasesService.getMoonPhaseEmoji(PHASES[MoonPhasesService.phaseOrdinal(angle)]);
+    }
+
+    @Benchmark
+    public LunarState lunarStateAt() {
+        return MoonPhasesService.lunarStateAt(timestamps[next++ & (TIMESTAMP_COUNT - 1)]);
+    }
+
+    // Locations around the world for the days of a month, whose states stay in the cache as in steady state
+    @Benchmark
+    public RiseSetTimes riseSetTimes() {
+        int i = next++ & (TIMESTAMP_COUNT - 1);
+        return moonSkyService.riseSetTimes(LocalDate.of(2025, 10, 1).plusDays(i % 31), angles[i] / 2.0 - 90.0, angles[i] - 180.0);
+    }
+}
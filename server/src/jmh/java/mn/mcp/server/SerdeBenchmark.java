@@ -0,0 +1,62 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package mn.mcp.server;
+
+import io.micronaut.context.ApplicationContext;
+import io.micronaut.json.JsonMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Benchmarks of the Micronaut Serde (de)serialization of the tools' input and output.
+ */
+@State(Scope.Benchmark)
+public class SerdeBenchmark {
+
+    private static final byte[] REQUEST = "{\"date\":\"2025-10-01\"}".getBytes(StandardCharsets.UTF_8);
+
+    private ApplicationContext applicationContext;
+    private JsonMapper jsonMapper;
+    private final MoonPhaseEmoji moonPhaseEmoji = MoonPhaseEmoji.of(MoonPhase.FIRST_QUARTER);
+
+    @Setup
+    public void setUp() {
+        applicationContext = ApplicationContext.run();
+        jsonMapper = applicationContext.getBean(JsonMapper.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        applicationContext.close();
+    }
+
+    @Benchmark
+    public byte[] serializeMoonPhaseEmoji() throws IOException {
+        return jsonMapper.writeValueAsBytes(moonPhaseEmoji);
+    }
+
+    @Benchmark
+    public MoonPhaseRequest deserializeMoonPhaseRequest() throws IOException {
+        return jsonMapper.readValue(REQUEST, MoonPhaseRequest.class);
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package mn.mcp.server;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micronaut.context.annotation.Value;
+import jakarta.inject.Singleton;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Admission control of the tool calls, which rejects the excess calls right away rather than letting them queue,
+ * so that a runaway client cannot inflate the latency of all the others:
+ * <ul>
+ *     <li>each session gets a {@link TokenBucket} of {@code moon-phases.admission.session.rate} requests per second,
+ *     checked on its HTTP requests by {@link AdmissionControlFilter},</li>
+ *     <li>all the tool calls share a bucket of {@code moon-phases.admission.global.rate} calls per second,
+ *     and at most {@code moon-phases.admission.max-in-flight} of them run at once, checked by {@link AdmissionControlInterceptor}.</li>
+ * </ul>
+ * Metrics: {@code mcp.tool.calls.active}, the tool calls running, and {@code mcp.admission.rejections}, tagged by reason.
+ * The requests waiting for a thread are the difference between {@code mcp.requests.active} and {@code mcp.tool.calls.active}.
+ */
+@Singleton
+public class AdmissionControl implements MeterBinder {
+
+    /**
+     * Why a request was rejected.
+     */
+    enum Rejection {
+        SESSION_RATE,
+        GLOBAL_RATE,
+        CONCURRENCY
+    }
+
+    // Hint given when the in-flight calls are capped, the time for a typical call to complete
+    static final long CONCURRENCY_RETRY_AFTER_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+    // Size of the session map above which the full buckets, equivalent to new ones, are dropped
+    private static final int SESSION_BUCKETS_SWEEP_SIZE = 10_000;
+
+    private final double sessionRate;
+    private final int sessionBurst;
+    private final TokenBucket globalBucket;
+    private final int maxInFlight;
+    private final Map<String, TokenBucket> sessionBuckets = new ConcurrentHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Map<Rejection, LongAdder> rejections = new EnumMap<>(Rejection.class);
+
+    AdmissionControl(@Value("${moon-phases.admission.session.rate:50}") double sessionRate,
+                     @Value("${moon-phases.admission.session.burst:100}") int sessionBurst,
+                     @Value("${moon-phases.admission.global.rate:5000}") double globalRate,
+                     @Value("${moon-phases.admission.global.burst:10000}") int globalBurst,
+                     @Value("${moon-phases.admission.max-in-flight:256}") int maxInFlight) {
+        this.sessionRate = sessionRate;
+        this.sessionBurst = sessionBurst;
+        this.globalBucket = new TokenBucket(globalRate, globalBurst, System.nanoTime());
+        this.maxInFlight = maxInFlight;
+        for (Rejection rejection : Rejection.values()) {
+            rejections.put(rejection, new LongAdder());
+        }
+    }
+
+    /**
+     * @param sessionId The session of a request.
+     * @return 0 when the request is admitted, otherwise the nanoseconds after which to retry.
+     */
+    long admitSessionRequest(String sessionId) {
+        long now = System.nanoTime();
+        TokenBucket bucket = sessionBuckets.get(sessionId);
+        if (bucket == null) {
+            if (sessionBuckets.size() >= SESSION_BUCKETS_SWEEP_SIZE) {
+                sessionBuckets.values().removeIf(candidate -> candidate.isFull(now));
+            }
+            bucket = sessionBuckets.computeIfAbsent(sessionId, id -> new TokenBucket(sessionRate, sessionBurst, now));
+        }
+        return rejectedIfWaiting(bucket.tryAcquire(now), Rejection.SESSION_RATE);
+    }
+
+    /**
+     * @param sessionId A session that has ended.
+     */
+    void sessionEnded(String sessionId) {
+        sessionBuckets.remove(sessionId);
+    }
+
+    /**
+     * Admits a tool call, which must then be {@link #release() released} when it completes.
+     *
+     * @return 0 when the call is admitted, otherwise the nanoseconds after which to retry.
+     */
+    long admitToolCall() {
+        if (inFlight.incrementAndGet() > maxInFlight) {
+            inFlight.decrementAndGet();
+            return rejectedIfWaiting(CONCURRENCY_RETRY_AFTER_NANOS, Rejection.CONCURRENCY);
+        }
+        long retryAfter = rejectedIfWaiting(globalBucket.tryAcquire(System.nanoTime()), Rejection.GLOBAL_RATE);
+        if (retryAfter > 0) {
+            inFlight.decrementAndGet();
+        }
+        return retryAfter;
+    }
+
+    /**
+     * Ends a tool call admitted by {@link #admitToolCall()}.
+     */
+    void release() {
+        inFlight.decrementAndGet();
+    }
+
+    long rejections(Rejection rejection) {
+        return rejections.get(rejection).sum();
+    }
+
+    private long rejectedIfWaiting(long retryAfterNanos, Rejection rejection) {
+        if (retryAfterNanos > 0) {
+            rejections.get(rejection).increment();
+        }
+        return retryAfterNanos;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("mcp.tool.calls.active", inFlight, AtomicInteger::get)
+            .description("Tool calls running")
+            .register(registry);
+        for (Rejection rejection : Rejection.values()) {
+            FunctionCounter.builder("mcp.admission.rejections", rejections.get(rejection), LongAdder::sum)
+                .description("Requests rejected by the admission control")
+                .tag("reason", rejection.name().toLowerCase(Locale.ROOT).replace('_', '-'))
+                .register(registry);
+        }
+    }
+}
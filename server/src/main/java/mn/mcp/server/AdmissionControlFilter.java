@@ -0,0 +1,78 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package mn.mcp.server;
+
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.util.StringUtils;
+import io.micronaut.http.HttpHeaders;
+import io.micronaut.http.HttpMethod;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.MediaType;
+import io.micronaut.http.annotation.RequestFilter;
+import io.micronaut.http.annotation.ServerFilter;
+
+import java.util.concurrent.TimeUnit;
+
+import static mn.mcp.server.McpTransportMetricsFilter.SESSION_HEADER;
+
+/**
+ * Rate limits the requests of each MCP session, see {@link AdmissionControl}.
+ * <p>
+ * The request body is not parsed, so the JSON-RPC id of a rejected request is unknown: it is answered with a
+ * {@code 429 Too Many Requests} status and a {@code Retry-After} header, which fails the request on the client
+ * right away, and a JSON-RPC error whose data gives the retry delay in milliseconds.
+ */
+@ServerFilter("/mcp")
+@Requires(property = "moon-phases.admission.enabled", notEquals = StringUtils.FALSE)
+public class AdmissionControlFilter {
+
+    private final AdmissionControl admissionControl;
+
+    AdmissionControlFilter(AdmissionControl admissionControl) {
+        this.admissionControl = admissionControl;
+    }
+
+    @RequestFilter
+    @Nullable
+    public HttpResponse<?> admit(HttpRequest<?> request) {
+        String sessionId = request.getHeaders().get(SESSION_HEADER);
+        if (sessionId == null) {
+            return null;
+        }
+        if (request.getMethod() == HttpMethod.DELETE) {
+            admissionControl.sessionEnded(sessionId);
+            return null;
+        }
+        if (request.getMethod() != HttpMethod.POST) {
+            return null;
+        }
+
+        long retryAfterNanos = admissionControl.admitSessionRequest(sessionId);
+        if (retryAfterNanos == 0) {
+            return null;
+        }
+        long retryAfterMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(retryAfterNanos));
+        return HttpResponse.status(HttpStatus.TOO_MANY_REQUESTS)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf((retryAfterMillis + 999) / 1000))
+            .contentType(MediaType.APPLICATION_JSON_TYPE)
+            .body("{\"jsonrpc\":\"2.0\",\"id\":null,\"error\":{\"code\":" + AdmissionControlInterceptor.OVERLOADED +
+                ",\"message\":\"Too many requests in this session\",\"data\":{\"retryAfterMillis\":" + retryAfterMillis + "}}}");
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package mn.mcp.server;
+
+import io.micronaut.aop.InterceptPhase;
+import io.micronaut.aop.InterceptorBean;
+import io.micronaut.aop.MethodInterceptor;
+import io.micronaut.aop.MethodInvocationContext;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.util.StringUtils;
+import io.modelcontextprotocol.spec.McpError;
+import jakarta.inject.Singleton;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admits the calls to the {@link ToolCall} methods under the global rate and in-flight limits of {@link AdmissionControl}.
+ * A rejected call fails right away with an {@link McpError} of code {@value #OVERLOADED}, whose data gives the delay
+ * after which to retry, in milliseconds. It runs before the metrics of {@link ToolCallInterceptor},
+ * so the rejected calls are only counted as rejections.
+ */
+@Singleton
+@InterceptorBean(ToolCall.class)
+@Requires(property = "moon-phases.admission.enabled", notEquals = StringUtils.FALSE)
+public class AdmissionControlInterceptor implements MethodInterceptor<Object, Object> {
+
+    // In the range of the JSON-RPC errors left to the implementations, reminiscent of HTTP 429
+    static final int OVERLOADED = -32029;
+
+    private final AdmissionControl admissionControl;
+
+    AdmissionControlInterceptor(AdmissionControl admissionControl) {
+        this.admissionControl = admissionControl;
+    }
+
+    @Override
+    public int getOrder() {
+        return InterceptPhase.VALIDATE.getPosition() - 20;
+    }
+
+    @Override
+    public Object intercept(MethodInvocationContext<Object, Object> context) {
+        long retryAfterNanos = admissionControl.admitToolCall();
+        if (retryAfterNanos > 0) {
+            long retryAfterMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(retryAfterNanos));
+            throw McpError.builder(OVERLOADED)
+                .message("The server is overloaded, retry in " + retryAfterMillis + " ms")
+                .data(Map.of("retryAfterMillis", retryAfterMillis))
+                .build();
+        }
+        try {
+            return context.proceed();
+        } finally {
+            admissionControl.release();
+        }
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package mn.mcp.server;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Phase angle evaluated from Chebyshev polynomials fitted to the reference algorithm, without any trigonometry
+ * or Kepler iteration: a lookup of the segment, then a Clenshaw recurrence of a dozen multiply-adds.
+ * <p>
+ * The coefficients are generated at build time by {@code ChebyshevEphemerisGenerator} and memory-mapped,
+ * so that they live in the page cache, shared by all the processes on a host, rather than on the heap.
+ * The file is little-endian:
+ * <pre>
+ * int    magic, "MNEP"
+ * int    format version
+ * long   first second covered, as a Unix timestamp
+ * long   length of a segment, in seconds
+ * int    number of segments
+ * int    number of coefficients per segment
+ * double maximum error relative to the reference algorithm, in degrees
+ * double coefficients, segment after segment
+ * </pre>
+ * Each segment holds the unwrapped phase angle in degrees, which may go past 360 within the segment.
+ * Instants outside of the fitted span are answered by the reference algorithm.
+ */
+final class ChebyshevEphemeris implements Ephemeris {
+
+    static final String RESOURCE = "ephemeris/moon-elongation.bin";
+    static final int MAGIC = 0x4D4E4550;
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 40;
+
+    private final ByteBuffer file;
+    private final long start;
+    private final long segmentSeconds;
+    private final int segmentCount;
+    private final int coefficientCount;
+    private final double maxErrorDegrees;
+
+    ChebyshevEphemeris(ByteBuffer file) {
+        this.file = file.order(ByteOrder.LITTLE_ENDIAN);
+        if (this.file.getInt(0) != MAGIC || this.file.getInt(4) != VERSION) {
+            throw new IllegalArgumentException("Not a version " + VERSION + " Chebyshev ephemeris file");
+        }
+        this.start = this.file.getLong(8);
+        this.segmentSeconds = this.file.getLong(16);
+        this.segmentCount = this.file.getInt(24);
+        this.coefficientCount = this.file.getInt(28);
+        this.maxErrorDegrees = this.file.getDouble(32);
+        long expectedBytes = HEADER_BYTES + (long) segmentCount * coefficientCount * Double.BYTES;
+        if (this.file.capacity() != expectedBytes) {
+            throw new IllegalArgumentException("Truncated Chebyshev ephemeris file, " + this.file.capacity()
+                + " bytes instead of " + expectedBytes);
+        }
+    }
+
+    /**
+     * Memory-maps a Chebyshev ephemeris file.
+     */
+    static ChebyshevEphemeris map(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // The mapping stays valid once the channel is closed
+            return new ChebyshevEphemeris(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Memory-maps the Chebyshev ephemeris file generated at build time. As a resource inside a JAR cannot be
+     * mapped, it is first copied to the temporary directory, see {@link #mapCopy(byte[], Path)}.
+     */
+    static ChebyshevEphemeris fromClasspath() {
+        URL resource = ChebyshevEphemeris.class.getClassLoader().getResource(RESOURCE);
+        if (resource == null) {
+            throw new IllegalStateException("The Chebyshev ephemeris resource " + RESOURCE + " is missing, "
+                + "it is generated by the generateEphemeris Gradle task");
+        }
+        try {
+            if ("file".equals(resource.getProtocol())) {
+                return map(Path.of(resource.toURI()));
+            }
+            try (InputStream in = resource.openStream()) {
+                return mapCopy(in.readAllBytes(), Path.of(System.getProperty("java.io.tmpdir"), "mn-mcp-server"));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to map the Chebyshev ephemeris", e);
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException("Unable to map the Chebyshev ephemeris", e);
+        }
+    }
+
+    /**
+     * Memory-maps a copy of the content of an ephemeris file, shared by all the processes of the host.
+     * <p>
+     * The shared copy is named after the hash of the content, and only used once its mapped bytes are checked
+     * to be that content: a copy left by another build whose hash collides, or altered since, is not trusted.
+     * The content is then mapped from a copy private to the process instead.
+     */
+    static ChebyshevEphemeris mapCopy(byte[] content, Path directory) throws IOException {
+        Path shared = directory.resolve("moon-elongation-" + Integer.toHexString(Arrays.hashCode(content)) + ".bin");
+        if (!Files.exists(shared)) {
+            Files.createDirectories(directory);
+            Path temporary = Files.createTempFile(directory, "moon-elongation", ".tmp");
+            Files.write(temporary, content);
+            Files.move(temporary, shared, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        }
+        try (FileChannel channel = FileChannel.open(shared, StandardOpenOption.READ)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (mapped.equals(ByteBuffer.wrap(content))) {
+                return new ChebyshevEphemeris(mapped);
+            }
+        }
+
+        // Created readable by the owner alone, and deleted once mapped, which the mapping outlives where the OS allows it
+        Path copy = Files.createTempFile("moon-elongation", ".bin");
+        try {
+            Files.write(copy, content);
+            return map(copy);
+        } finally {
+            try {
+                Files.delete(copy);
+            } catch (IOException e) {
+                copy.toFile().deleteOnExit();
+            }
+        }
+    }
+
+    @Override
+    public double phaseDegrees(long unixTimestamp) {
+        long offset = unixTimestamp - start;
+        long segment = Math.floorDiv(offset, segmentSeconds);
+        if (segment < 0 || segment >= segmentCount) {
+            return PRECISE.phaseDegrees(unixTimestamp);
+        }
+        // Position within the segment, mapped to [-1, 1]
+        double x = 2.0 * (offset - segment * segmentSeconds) / segmentSeconds - 1.0;
+
+        // Clenshaw recurrence, from the highest degree down
+        int base = HEADER_BYTES + (int) segment * coefficientCount * Double.BYTES;
+        double b1 = 0.0;
+        double b2 = 0.0;
+        for (int j = coefficientCount - 1; j >= 1; j--) {
+            double b0 = 2.0 * x * b1 - b2 + file.getDouble(base + j * Double.BYTES);
+            b2 = b1;
+            b1 = b0;
+        }
+        return MoonPhasesService.fixAngle(x * b1 - b2 + file.getDouble(base));
+    }
+
+    /**
+     * @return Whether the instant is within the fitted span.
+     */
+    boolean covers(long unixTimestamp) {
+        return unixTimestamp >= start && unixTimestamp - start < segmentCount * segmentSeconds;
+    }
+
+    /**
+     * @return The maximum error relative to the reference algorithm, in degrees, measured when the file was generated.
+     */
+    double maxErrorDegrees() {
+        return maxErrorDegrees;
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package mn.mcp.server;
+
+import io.micronaut.context.event.ApplicationEventPublisher;
+import io.micronaut.scheduling.TaskExecutors;
+import io.micronaut.scheduling.TaskScheduler;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * Holds the current moon phase, which only changes every few days.
+ * <p>
+ * The phase is computed once, along with the instant at which it ends. A task is scheduled for that
+ * instant to swap in the next phase, so that reading the current phase is a single volatile read.
+ * Should a read happen past the end of the phase before the task has run, the phase is refreshed right away.
+ * <p>
+ * Each change of phase is published as a {@link MoonPhaseChangedEvent}.
+ */
+@Singleton
+public class CurrentMoonPhaseCache {
+
+    private final MoonPhasesService moonPhasesService;
+    private final Clock clock;
+    private final TaskScheduler taskScheduler;
+    private final ApplicationEventPublisher<MoonPhaseChangedEvent> eventPublisher;
+
+    private volatile Entry current;
+    private ScheduledFuture<?> scheduledRefresh;
+
+    CurrentMoonPhaseCache(MoonPhasesService moonPhasesService,
+                          Clock clock,
+                          @Named(TaskExecutors.SCHEDULED) TaskScheduler taskScheduler) {
+        this(moonPhasesService, clock, taskScheduler, ApplicationEventPublisher.noOp());
+    }
+
+    @Inject
+    CurrentMoonPhaseCache(MoonPhasesService moonPhasesService,
+                          Clock clock,
+                          @Named(TaskExecutors.SCHEDULED) TaskScheduler taskScheduler,
+                          ApplicationEventPublisher<MoonPhaseChangedEvent> eventPublisher) {
+        this.moonPhasesService = moonPhasesService;
+        this.clock = clock;
+        this.taskScheduler = taskScheduler;
+        this.eventPublisher = eventPublisher;
+        refresh();
+    }
+
+    /**
+     * @return The moon phase at the current time of the clock.
+     */
+    public MoonPhaseEmoji currentMoonPhase() {
+        Entry entry = current;
+        if (clock.millis() >= entry.expiresAtMillis) {
+            entry = refresh();
+        }
+        return entry.moonPhaseEmoji;
+    }
+
+    /**
+     * @return The instant at which the cached phase ends.
+     */
+    Instant expiresAt() {
+        return Instant.ofEpochMilli(current.expiresAtMillis);
+    }
+
+    private Entry refresh() {
+        Entry previous;
+        Entry entry;
+        synchronized (this) {
+            long nowMillis = clock.millis();
+            previous = current;
+            entry = previous;
+            // Unless a concurrent caller got there first
+            if (entry == null || nowMillis >= entry.expiresAtMillis) {
+                long now = Math.floorDiv(nowMillis, 1000L);
+                MoonPhaseEmoji moonPhaseEmoji = moonPhasesService.moonPhaseAtUnixTimestamp(now);
+                long expiresAtMillis = moonPhasesService.nextPhaseChangeAt(now) * 1000L;
+                entry = new Entry(moonPhaseEmoji, expiresAtMillis);
+                current = entry;
+            }
+
+            // (Re)arm the swap for the end of the phase, also when the scheduler fired a little early
+            if (scheduledRefresh != null) {
+                scheduledRefresh.cancel(false);
+            }
+            scheduledRefresh = taskScheduler.schedule(Duration.ofMillis(entry.expiresAtMillis - nowMillis), (Runnable) this::refresh);
+        }
+
+        // Published once the lock is released, as the listeners may block, e.g. to notify the clients
+        if (previous != null && previous != entry && previous.moonPhaseEmoji.phase() != entry.moonPhaseEmoji.phase()) {
+            eventPublisher.publishEvent(new MoonPhaseChangedEvent(entry.moonPhaseEmoji, Instant.ofEpochMilli(previous.expiresAtMillis)));
+        }
+        return entry;
+    }
+
+    @PreDestroy
+    synchronized void close() {
+        if (scheduledRefresh != null) {
+            scheduledRefresh.cancel(false);
+        }
+    }
+
+    private record Entry(MoonPhaseEmoji moonPhaseEmoji, long expiresAtMillis) { }
+}
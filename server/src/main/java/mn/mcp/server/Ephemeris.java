@@ -0,0 +1,41 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package mn.mcp.server;
+
+/**
+ * Source of the moon's phase angle, i.e. its elongation from the Sun.
+ * The implementation used by {@link MoonPhasesService} is selected by {@link EphemerisTier}.
+ */
+@FunctionalInterface
+public interface Ephemeris {
+
+    /**
+     * The reference algorithm, {@link MoonPhasesService#calculateMoonPhaseRadians(long)}.
+     */
+    Ephemeris PRECISE = MoonPhasesService::normalizedPhaseDegrees;
+
+    /**
+     * The approximation of the reference algorithm for the phase only, see {@link FastEphemeris}.
+     */
+    Ephemeris FAST = FastEphemeris::phaseDegrees;
+
+    /**
+     * @param unixTimestamp The time as a Unix timestamp (seconds since 1970-01-01T00:00:00Z).
+     * @return The moon's phase angle in degrees, in the range [0, 360).
+     */
+    double phaseDegrees(long unixTimestamp);
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package mn.mcp.server;
+
+import io.micronaut.context.annotation.Factory;
+import io.micronaut.context.annotation.Value;
+import jakarta.inject.Singleton;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Provides the {@link Ephemeris} of the tier configured with {@code moon-phases.ephemeris.tier}.
+ * The Chebyshev tier reads the file given by {@code moon-phases.ephemeris.file}, or else the one generated at build time.
+ */
+@Factory
+public class EphemerisFactory {
+
+    @Singleton
+    Ephemeris ephemeris(@Value("${moon-phases.ephemeris.tier:precise}") String tier,
+                        @Value("${moon-phases.ephemeris.file:}") String file) {
+        return switch (tier(tier)) {
+            case PRECISE -> Ephemeris.PRECISE;
+            case CHEBYSHEV -> chebyshev(file);
+            case FAST -> Ephemeris.FAST;
+        };
+    }
+
+    static EphemerisTier tier(String name) {
+        try {
+            return EphemerisTier.valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown moon-phases.ephemeris.tier '" + name + "', expected one of "
+                + Arrays.toString(EphemerisTier.values()).toLowerCase(Locale.ROOT), e);
+        }
+    }
+
+    private static Ephemeris chebyshev(String file) {
+        if (file.isBlank()) {
+            return ChebyshevEphemeris.fromClasspath();
+        }
+        try {
+            return ChebyshevEphemeris.map(Path.of(file));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to map the Chebyshev ephemeris " + file, e);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package mn.mcp.server;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.inject.Singleton;
+
+/**
+ * Counters of the work done by the Kepler solver for the calculations of the application, see {@link KeplerSolverCounters}:
+ * {@code ephemeris.kepler.solves} and {@code ephemeris.kepler.iterations}, whose ratio is the mean number of
+ * Newton iterations per solve. The solver only counts in {@link java.util.concurrent.atomic.LongAdder}s,
+ * which are read when the metrics are scraped.
+ */
+@Singleton
+public class EphemerisMetrics implements MeterBinder {
+
+    private final KeplerSolverCounters keplerSolverCounters;
+
+    EphemerisMetrics(KeplerSolverCounters keplerSolverCounters) {
+        this.keplerSolverCounters = keplerSolverCounters;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("ephemeris.kepler.solves", keplerSolverCounters, KeplerSolverCounters::solves)
+            .description("Solutions of Kepler's equation for the Sun's eccentric anomaly")
+            .register(registry);
+        FunctionCounter.builder("ephemeris.kepler.iterations", keplerSolverCounters, KeplerSolverCounters::iterations)
+            .description("Newton iterations of the Kepler solver")
+            .register(registry);
+    }
+}
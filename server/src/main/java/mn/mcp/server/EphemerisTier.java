@@ -0,0 +1,35 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package mn.mcp.server;
+
+/**
+ * The available implementations of the {@link Ephemeris}, selected with {@code moon-phases.ephemeris.tier}.
+ */
+public enum EphemerisTier {
+    /**
+     * The reference algorithm, with its trigonometry and Kepler solver.
+     */
+    PRECISE,
+    /**
+     * Chebyshev polynomials fitted to the reference algorithm at build time, see {@link ChebyshevEphemeris}.
+     */
+    CHEBYSHEV,
+    /**
+     * A closed-form approximation of the reference algorithm, within a second of the phase changes, see {@link FastEphemeris}.
+     */
+    FAST
+}
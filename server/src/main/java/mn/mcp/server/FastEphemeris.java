@@ -0,0 +1,130 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package mn.mcp.server;
+
+import static mn.mcp.server.MoonPhaseConstants.ANNUAL_EQUATION;
+import static mn.mcp.server.MoonPhaseConstants.ANOMALY_CORRECTION;
+import static mn.mcp.server.MoonPhaseConstants.ECCENTRICITY_EARTH_ORBIT;
+import static mn.mcp.server.MoonPhaseConstants.EPOCH_1980_JULIAN_DAY;
+import static mn.mcp.server.MoonPhaseConstants.EQUATION_OF_CENTER;
+import static mn.mcp.server.MoonPhaseConstants.EVECTION;
+import static mn.mcp.server.MoonPhaseConstants.MOON_MEAN_ANOMALY_DAILY_MOTION;
+import static mn.mcp.server.MoonPhaseConstants.MOON_MEAN_LONGITUDE_DAILY_MOTION;
+import static mn.mcp.server.MoonPhaseConstants.MOON_MEAN_LONGITUDE_EPOCH;
+import static mn.mcp.server.MoonPhaseConstants.MOON_PERIGEE_LONGITUDE_EPOCH;
+import static mn.mcp.server.MoonPhaseConstants.SECOND_EQUATION_OF_CENTER;
+import static mn.mcp.server.MoonPhaseConstants.SECONDS_PER_DAY;
+import static mn.mcp.server.MoonPhaseConstants.SUN_ECLIPTIC_LONGITUDE_PERIGEE;
+import static mn.mcp.server.MoonPhaseConstants.SUN_MEAN_ANOMALY_DAILY_MOTION;
+import static mn.mcp.server.MoonPhaseConstants.TO_DEGREES;
+import static mn.mcp.server.MoonPhaseConstants.TO_RADIANS;
+import static mn.mcp.server.MoonPhaseConstants.UNIX_EPOCH_JULIAN_DAY;
+import static mn.mcp.server.MoonPhaseConstants.VARIATION;
+
+/**
+ * Fast approximation of the reference algorithm, {@link MoonPhasesService#calculateMoonPhaseRadians(long)},
+ * for callers that only need the {@link MoonPhase}, with neither loop nor call to {@link Math}:
+ * <ul>
+ *     <li>the mean elements are linear functions of the Unix timestamp, with their constants folded at class init,</li>
+ *     <li>the Sun's true anomaly is the closed-form equation of the center, to the third order of the eccentricity,
+ *     instead of Kepler's equation solved by iteration, then the tangent and arctangent of the half angles,</li>
+ *     <li>sine and cosine are odd polynomials of degree 9, after reduction of their argument to [-PI/2, PI/2].</li>
+ * </ul>
+ * The phase angle is within {@value #MAX_ERROR_DEGREES} degrees of the reference algorithm, so the phase is the same
+ * except within that margin of the boundaries between phases, i.e. within a second of a phase change.
+ */
+final class FastEphemeris {
+
+    /**
+     * Bound of the difference with the reference algorithm, in degrees, checked over 1800-2200 by the tests.
+     */
+    static final double MAX_ERROR_DEGREES = 1E-4;
+
+    private static final double ECCENTRICITY = ECCENTRICITY_EARTH_ORBIT;
+    // Coefficients of the equation of the center, in powers of the eccentricity
+    private static final double CENTER_1 = 2.0 * ECCENTRICITY - ECCENTRICITY * ECCENTRICITY * ECCENTRICITY / 4.0;
+    private static final double CENTER_2 = 5.0 / 4.0 * ECCENTRICITY * ECCENTRICITY;
+    private static final double CENTER_3 = 13.0 / 12.0 * ECCENTRICITY * ECCENTRICITY * ECCENTRICITY;
+
+    // Mean elements, in degrees, as a rate per second and a value at the Unix epoch, 3651 days before epoch 1980.0
+    private static final double EPOCH_1980_DAYS = EPOCH_1980_JULIAN_DAY - UNIX_EPOCH_JULIAN_DAY;
+    private static final double SUN_MEAN_ANOMALY_RATE = SUN_MEAN_ANOMALY_DAILY_MOTION / SECONDS_PER_DAY;
+    private static final double SUN_MEAN_ANOMALY_AT_EPOCH =
+        MoonPhaseBatch.SUN_MEAN_ANOMALY_OFFSET - SUN_MEAN_ANOMALY_DAILY_MOTION * EPOCH_1980_DAYS;
+    private static final double MOON_MEAN_LONGITUDE_RATE = MOON_MEAN_LONGITUDE_DAILY_MOTION / SECONDS_PER_DAY;
+    private static final double MOON_MEAN_LONGITUDE_AT_EPOCH =
+        MOON_MEAN_LONGITUDE_EPOCH - MOON_MEAN_LONGITUDE_DAILY_MOTION * EPOCH_1980_DAYS;
+    private static final double MOON_MEAN_ANOMALY_RATE = MOON_MEAN_ANOMALY_DAILY_MOTION / SECONDS_PER_DAY;
+    private static final double MOON_MEAN_ANOMALY_AT_EPOCH =
+        MOON_MEAN_LONGITUDE_EPOCH - MOON_PERIGEE_LONGITUDE_EPOCH - MOON_MEAN_ANOMALY_DAILY_MOTION * EPOCH_1980_DAYS;
+
+    private static final double HALF_PI = MoonPhaseBatch.HALF_PI;
+
+    private FastEphemeris() {
+    }
+
+    /**
+     * @param unixTimestamp The time as a Unix timestamp (seconds since 1970-01-01T00:00:00Z).
+     * @return The moon's phase angle in degrees, in the range [0, 360).
+     */
+    static double phaseDegrees(long unixTimestamp) {
+        double seconds = unixTimestamp;
+
+        // Sun's mean anomaly, then longitude from the equation of the center
+        double sunMeanAnomalyRad = MoonPhaseBatch.fixAngle(SUN_MEAN_ANOMALY_RATE * seconds + SUN_MEAN_ANOMALY_AT_EPOCH) * TO_RADIANS;
+        double sinMeanAnomaly = sin(sunMeanAnomalyRad);
+        double cosMeanAnomaly = sin(sunMeanAnomalyRad + HALF_PI);
+        double sin2MeanAnomaly = 2.0 * sinMeanAnomaly * cosMeanAnomaly;
+        double sin3MeanAnomaly = sinMeanAnomaly * (3.0 - 4.0 * sinMeanAnomaly * sinMeanAnomaly);
+        double sunTrueAnomalyRad = sunMeanAnomalyRad
+            + CENTER_1 * sinMeanAnomaly + CENTER_2 * sin2MeanAnomaly + CENTER_3 * sin3MeanAnomaly;
+        double sunLongitudeDeg = sunTrueAnomalyRad * TO_DEGREES + SUN_ECLIPTIC_LONGITUDE_PERIGEE;
+
+        // Moon's mean longitude and anomaly
+        double moonMeanLongitudeDeg = MoonPhaseBatch.fixAngle(MOON_MEAN_LONGITUDE_RATE * seconds + MOON_MEAN_LONGITUDE_AT_EPOCH);
+        double moonMeanAnomalyDeg = MoonPhaseBatch.fixAngle(MOON_MEAN_ANOMALY_RATE * seconds + MOON_MEAN_ANOMALY_AT_EPOCH);
+
+        // Evection, annual equation, equation of center and variation
+        double evectionDeg = EVECTION * sin(TO_RADIANS * (2.0 * (moonMeanLongitudeDeg - sunLongitudeDeg) - moonMeanAnomalyDeg));
+        double annualEquationDeg = ANNUAL_EQUATION * sinMeanAnomaly;
+        double correctedMoonAnomalyRad = TO_RADIANS * (moonMeanAnomalyDeg + evectionDeg - annualEquationDeg - ANOMALY_CORRECTION * sinMeanAnomaly);
+        double sinCorrectedMoonAnomaly = sin(correctedMoonAnomalyRad);
+        double cosCorrectedMoonAnomaly = sin(correctedMoonAnomalyRad + HALF_PI);
+        double correctedMoonLongitudeDeg = moonMeanLongitudeDeg + evectionDeg + EQUATION_OF_CENTER * sinCorrectedMoonAnomaly
+            - annualEquationDeg + SECOND_EQUATION_OF_CENTER * (2.0 * sinCorrectedMoonAnomaly * cosCorrectedMoonAnomaly);
+        double moonTrueLongitudeDeg = correctedMoonLongitudeDeg + VARIATION * sin(TO_RADIANS * (2.0 * (correctedMoonLongitudeDeg - sunLongitudeDeg)));
+
+        return MoonPhaseBatch.fixAngle(moonTrueLongitudeDeg - sunLongitudeDeg);
+    }
+
+    /**
+     * Sine with the first five terms of its Taylor series, within 4E-6 of {@link Math#sin(double)}.
+     */
+    static double sin(double x) {
+        // Reduce to [-PI, PI], then to [-PI/2, PI/2] with sin(PI - x) = sin(x)
+        double turns = (x * MoonPhaseBatch.INVERSE_TWO_PI + MoonPhaseBatch.ROUNDING_MAGIC) - MoonPhaseBatch.ROUNDING_MAGIC;
+        double r = x - turns * MoonPhaseBatch.TWO_PI;
+        if (r > HALF_PI) {
+            r = Math.PI - r;
+        }
+        if (r < -HALF_PI) {
+            r = -Math.PI - r;
+        }
+        double r2 = r * r;
+        return r + r * (r2 * (MoonPhaseBatch.S1 + r2 * (MoonPhaseBatch.S2 + r2 * (MoonPhaseBatch.S3 + r2 * MoonPhaseBatch.S4))));
+    }
+}
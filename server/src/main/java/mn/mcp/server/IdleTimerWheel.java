@@ -0,0 +1,136 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package mn.mcp.server;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Hashed timer wheel of idle timeouts: a ring of slots, each holding the timers that may expire at a tick,
+ * so that there is no scheduled task per timer, and touching a timer is a write of its last access, without moving it.
+ * <p>
+ * Each timer is in a single slot at a time. When the wheel reaches a slot, each timer in it has either been cancelled
+ * and is dropped, expired, or been accessed since it was scheduled and is moved to the slot of its new expiry,
+ * so an active timer is visited about once per timeout. The timeout must be shorter than a turn of the wheel.
+ * Timers are scheduled and cancelled from any thread, and the wheel is {@link #advance(long) advanced}
+ * by a single thread at a time.
+ */
+final class IdleTimerWheel {
+
+    private final Queue<Timer>[] slots;
+    private final long timeoutTicks;
+    private long lastTick;
+
+    @SuppressWarnings("unchecked")
+    IdleTimerWheel(int slotCount, long timeoutTicks, long startTick) {
+        if (timeoutTicks < 1 || timeoutTicks >= slotCount) {
+            throw new IllegalArgumentException("The timeout of " + timeoutTicks + " ticks must be between 1 and "
+                + (slotCount - 1) + ", the length of a turn of the wheel");
+        }
+        this.slots = new Queue[slotCount];
+        for (int i = 0; i < slotCount; i++) {
+            slots[i] = new ConcurrentLinkedQueue<>();
+        }
+        this.timeoutTicks = timeoutTicks;
+        this.lastTick = startTick;
+    }
+
+    /**
+     * Schedules the expiry of a new timer. A timer is scheduled once, then moved by the wheel as it is touched.
+     */
+    void schedule(Timer timer) {
+        slots[slot(timer.lastAccessTick + timeoutTicks)].add(timer);
+    }
+
+    /**
+     * Advances the wheel up to a tick.
+     *
+     * @param nowTick The current tick.
+     * @return The timers that have expired, and are not in the wheel anymore.
+     */
+    List<Timer> advance(long nowTick) {
+        List<Timer> expired = new ArrayList<>();
+        // After a pause longer than a turn, each slot is visited once
+        long from = Math.max(lastTick + 1, nowTick - slots.length + 1);
+        for (long tick = from; tick <= nowTick; tick++) {
+            Queue<Timer> slot = slots[slot(tick)];
+            // Only the timers already there, as some are moved to this very slot
+            for (int remaining = slot.size(); remaining > 0; remaining--) {
+                Timer timer = slot.poll();
+                if (timer == null) {
+                    break;
+                }
+                if (timer.cancelled) {
+                    continue;
+                }
+                long accessTick = timer.lastAccessTick;
+                if (accessTick + timeoutTicks <= nowTick) {
+                    expired.add(timer);
+                } else {
+                    slots[slot(accessTick + timeoutTicks)].add(timer);
+                }
+            }
+        }
+        lastTick = Math.max(lastTick, nowTick);
+        return expired;
+    }
+
+    /**
+     * @return The number of timers in the wheel, including the cancelled ones not reached yet.
+     */
+    int size() {
+        int size = 0;
+        for (Queue<Timer> slot : slots) {
+            size += slot.size();
+        }
+        return size;
+    }
+
+    private int slot(long tick) {
+        return (int) Math.floorMod(tick, (long) slots.length);
+    }
+
+    /**
+     * Idle timeout of a key, e.g. a session id.
+     */
+    static final class Timer {
+        final String key;
+        volatile long lastAccessTick;
+        private volatile boolean cancelled;
+
+        Timer(String key, long accessTick) {
+            this.key = key;
+            this.lastAccessTick = accessTick;
+        }
+
+        /**
+         * Records an access, which postpones the expiry.
+         */
+        void touch(long accessTick) {
+            lastAccessTick = accessTick;
+        }
+
+        /**
+         * Cancels the timer, which is dropped when the wheel reaches its slot.
+         */
+        void cancel() {
+            cancelled = true;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package mn.mcp.server;
+
+import io.micronaut.context.annotation.Secondary;
+import jakarta.inject.Singleton;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The default {@link McpSessionStore}, in the memory of the instance.
+ */
+@Singleton
+@Secondary
+public class InMemoryMcpSessionStore implements McpSessionStore {
+
+    private final Map<String, McpSession> sessions = new ConcurrentHashMap<>();
+
+    @Override
+    public void save(McpSession session) {
+        sessions.put(session.id(), session);
+    }
+
+    @Override
+    public Optional<McpSession> find(String id) {
+        return Optional.ofNullable(sessions.get(id));
+    }
+
+    @Override
+    public void remove(String id) {
+        sessions.remove(id);
+    }
+
+    @Override
+    public boolean isShared() {
+        return false;
+    }
+}
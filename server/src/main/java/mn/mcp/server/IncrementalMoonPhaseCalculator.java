@@ -0,0 +1,88 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package mn.mcp.server;
+
+import static mn.mcp.server.MoonPhaseConstants.MOON_MEAN_ANOMALY_DAILY_MOTION;
+import static mn.mcp.server.MoonPhaseConstants.MOON_MEAN_LONGITUDE_DAILY_MOTION;
+import static mn.mcp.server.MoonPhaseConstants.SECONDS_PER_DAY;
+import static mn.mcp.server.MoonPhaseConstants.SUN_MEAN_ANOMALY_DAILY_MOTION;
+import static mn.mcp.server.MoonPhaseConstants.TO_DEGREES;
+import static mn.mcp.server.MoonPhaseConstants.TO_RADIANS;
+
+/**
+ * Calculates the moon phase at evenly spaced instants, e.g. every day at midnight.
+ * <p>
+ * The mean anomalies and the Moon's mean longitude grow linearly with time, so instead of
+ * being recomputed from the epoch for every instant, they are advanced by a fixed increment
+ * at each step. Kepler's equation is seeded with the previous eccentric anomaly, shifted by
+ * the same increment as the mean anomaly, which is usually within the solver's tolerance already.
+ * <p>
+ * Instances are stateful and not thread-safe.
+ */
+final class IncrementalMoonPhaseCalculator {
+
+    private final double sunMeanAnomalyStepDeg;
+    private final double moonMeanLongitudeStepDeg;
+    private final double moonMeanAnomalyStepDeg;
+
+    private double sunMeanAnomalyDeg;
+    private double moonMeanLongitudeDeg;
+    private double moonMeanAnomalyDeg;
+    private double eccentricAnomalyRad;
+    private final KeplerSolverCounters keplerSolverCounters;
+
+    /**
+     * @param startUnixTimestamp The first instant, as a Unix timestamp.
+     * @param stepSeconds The number of seconds between two consecutive instants.
+     * @param keplerSolverCounters Counts the work of the Kepler solver, or null.
+     */
+    IncrementalMoonPhaseCalculator(long startUnixTimestamp, long stepSeconds, KeplerSolverCounters keplerSolverCounters) {
+        this.keplerSolverCounters = keplerSolverCounters;
+        double stepDays = stepSeconds / SECONDS_PER_DAY;
+        this.sunMeanAnomalyStepDeg = SUN_MEAN_ANOMALY_DAILY_MOTION * stepDays;
+        this.moonMeanLongitudeStepDeg = MOON_MEAN_LONGITUDE_DAILY_MOTION * stepDays;
+        this.moonMeanAnomalyStepDeg = MOON_MEAN_ANOMALY_DAILY_MOTION * stepDays;
+
+        double daysSinceEpoch1980 = MoonPhasesService.daysSinceEpoch1980(startUnixTimestamp);
+        this.sunMeanAnomalyDeg = MoonPhasesService.sunMeanAnomalyDegrees(daysSinceEpoch1980);
+        this.moonMeanLongitudeDeg = MoonPhasesService.moonMeanLongitudeDegrees(daysSinceEpoch1980);
+        this.moonMeanAnomalyDeg = MoonPhasesService.moonMeanAnomalyDegrees(daysSinceEpoch1980, moonMeanLongitudeDeg);
+        double sunMeanAnomalyRad = TO_RADIANS * sunMeanAnomalyDeg;
+        this.eccentricAnomalyRad = MoonPhasesService.solveKepler(sunMeanAnomalyRad, sunMeanAnomalyRad, keplerSolverCounters);
+    }
+
+    /**
+     * Returns the phase angle at the current instant, then advances to the next one.
+     *
+     * @return The moon's phase angle, in degrees in the range [0, 360).
+     */
+    double next() {
+        double phaseRadians = MoonPhasesService.moonPhaseRadians(
+            TO_RADIANS * sunMeanAnomalyDeg, eccentricAnomalyRad, moonMeanLongitudeDeg, moonMeanAnomalyDeg);
+
+        double previousSunMeanAnomalyDeg = sunMeanAnomalyDeg;
+        sunMeanAnomalyDeg = (sunMeanAnomalyDeg + sunMeanAnomalyStepDeg) % 360.0;
+        moonMeanLongitudeDeg = (moonMeanLongitudeDeg + moonMeanLongitudeStepDeg) % 360.0;
+        moonMeanAnomalyDeg = (moonMeanAnomalyDeg + moonMeanAnomalyStepDeg) % 360.0;
+
+        // The eccentric anomaly advances almost exactly as much as the mean anomaly
+        double seedRad = eccentricAnomalyRad + TO_RADIANS * (sunMeanAnomalyDeg - previousSunMeanAnomalyDeg);
+        eccentricAnomalyRad = MoonPhasesService.solveKepler(TO_RADIANS * sunMeanAnomalyDeg, seedRad, keplerSolverCounters);
+
+        return MoonPhasesService.fixAngle(phaseRadians * TO_DEGREES);
+    }
+}
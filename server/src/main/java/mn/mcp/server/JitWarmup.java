@@ -0,0 +1,239 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package mn.mcp.server;
+
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.context.annotation.Value;
+import io.micronaut.core.util.StringUtils;
+import io.micronaut.health.HealthStatus;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.MediaType;
+import io.micronaut.http.MutableHttpRequest;
+import io.micronaut.http.client.HttpClient;
+import io.micronaut.http.client.annotation.Client;
+import io.micronaut.json.JsonMapper;
+import io.micronaut.management.health.indicator.HealthIndicator;
+import io.micronaut.management.health.indicator.HealthResult;
+import io.micronaut.management.health.indicator.annotation.Readiness;
+import io.micronaut.runtime.event.annotation.EventListener;
+import io.micronaut.runtime.server.event.ServerStartupEvent;
+import jakarta.inject.Singleton;
+import jakarta.validation.Validator;
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static mn.mcp.server.McpTransportMetricsFilter.SESSION_HEADER;
+
+/**
+ * Warms up the JIT compiler once the server has started, so that the first tool calls after a scale-up
+ * do not run in the interpreter: the instance only reports itself ready, on {@code /health/readiness},
+ * once the warm-up is over.
+ * <p>
+ * The warm-up runs in rounds of {@code moonPhaseAtUnixTimestamp} calculations, inside and outside of the index,
+ * JSON mapping of {@link MoonPhaseEmoji} and {@link MoonPhaseRequest}, validation of the requests, and a few
+ * {@code moon-phase-at-date} calls through a loopback MCP session. It ends when the JIT has settled, i.e. when
+ * the compilation time reported by the {@link CompilationMXBean} has stayed flat for {@value #QUIET_ROUNDS} rounds,
+ * or when {@code moon-phases.warmup.budget} is spent. Native images have nothing to warm up.
+ */
+@Singleton
+@Readiness
+@Requires(property = "moon-phases.warmup.enabled", value = StringUtils.TRUE)
+public class JitWarmup implements HealthIndicator {
+
+    /**
+     * Progress of the warm-up.
+     */
+    enum State {
+        PENDING,
+        WARMING,
+        SETTLED,
+        BUDGET_SPENT,
+        SKIPPED,
+        FAILED
+    }
+
+    static final String NAME = "jitWarmup";
+    private static final Logger LOG = LoggerFactory.getLogger(JitWarmup.class);
+    private static final long ROUND_NANOS = TimeUnit.MILLISECONDS.toNanos(250);
+    // Rounds in a row with at most QUIET_COMPILATION_MILLIS of compilation, after which the JIT has settled
+    private static final int QUIET_ROUNDS = 3;
+    private static final long QUIET_COMPILATION_MILLIS = 5;
+    // Loopback tool calls per round, within the rate of a session allowed by the admission control
+    private static final int LOOPBACK_CALLS_PER_ROUND = 10;
+    // The dates calculated, over 1800-2200, inside and outside of the span of the index
+    private static final long FIRST_DAY = LocalDate.of(1800, 1, 1).toEpochDay();
+    private static final long DAYS = LocalDate.of(2200, 1, 1).toEpochDay() - FIRST_DAY;
+
+    private final MoonPhasesService moonPhasesService;
+    private final JsonMapper jsonMapper;
+    private final Validator validator;
+    private final HttpClient httpClient;
+    private final Duration budget;
+    private volatile State state = State.PENDING;
+    private volatile int rounds;
+    private volatile long elapsedMillis;
+    private volatile long compilationMillis;
+    // Keeps the results of the calculations alive
+    private volatile int sink;
+
+    JitWarmup(MoonPhasesService moonPhasesService,
+              JsonMapper jsonMapper,
+              Validator validator,
+              @Client("/") HttpClient httpClient,
+              @Value("${moon-phases.warmup.budget:15s}") Duration budget) {
+        this.moonPhasesService = moonPhasesService;
+        this.jsonMapper = jsonMapper;
+        this.validator = validator;
+        this.httpClient = httpClient;
+        this.budget = budget;
+    }
+
+    @EventListener
+    void onStartup(ServerStartupEvent event) {
+        Thread.ofPlatform().name("jit-warmup").daemon().start(this::warmUp);
+    }
+
+    void warmUp() {
+        if (System.getProperty("org.graalvm.nativeimage.imagecode") != null) {
+            state = State.SKIPPED;
+            return;
+        }
+        state = State.WARMING;
+        CompilationMXBean compilation = ManagementFactory.getCompilationMXBean();
+        boolean measurable = compilation != null && compilation.isCompilationTimeMonitoringSupported();
+        long start = System.nanoTime();
+        long deadline = start + budget.toNanos();
+        String sessionId = null;
+        try {
+            sessionId = initialize();
+            long compiled = measurable ? compilation.getTotalCompilationTime() : 0;
+            int quietRounds = 0;
+            int iteration = 0;
+            while (System.nanoTime() < deadline && quietRounds < QUIET_ROUNDS) {
+                long roundEnd = Math.min(deadline, System.nanoTime() + ROUND_NANOS);
+                for (int i = 0; i < LOOPBACK_CALLS_PER_ROUND; i++) {
+                    callTool(sessionId, iteration++);
+                }
+                while (System.nanoTime() < roundEnd) {
+                    exercise(iteration++);
+                }
+                rounds++;
+                if (measurable) {
+                    long total = compilation.getTotalCompilationTime();
+                    quietRounds = total - compiled <= QUIET_COMPILATION_MILLIS ? quietRounds + 1 : 0;
+                    compilationMillis = total;
+                    compiled = total;
+                }
+            }
+            state = quietRounds >= QUIET_ROUNDS ? State.SETTLED : State.BUDGET_SPENT;
+        } catch (RuntimeException e) {
+            // Better to serve cold than not at all
+            LOG.warn("JIT warm-up failed", e);
+            state = State.FAILED;
+        } finally {
+            elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            if (sessionId != null) {
+                end(sessionId);
+            }
+        }
+        LOG.info("JIT warm-up {} after {} rounds in {} ms", state.name().toLowerCase(Locale.ROOT), rounds, elapsedMillis);
+    }
+
+    private void exercise(int iteration) {
+        long day = FIRST_DAY + Math.floorMod(iteration * 7_919L, DAYS);
+        MoonPhaseEmoji moonPhaseEmoji = moonPhasesService.moonPhaseAtUnixTimestamp(day * 86_400 + Math.floorMod(iteration * 4_099L, 86_400));
+        try {
+            String json = jsonMapper.writeValueAsString(moonPhaseEmoji);
+            MoonPhaseRequest request = jsonMapper.readValue("{\"date\":\"" + LocalDate.ofEpochDay(day) + "\"}", MoonPhaseRequest.class);
+            sink += json.length() + validator.validate(request).size() + request.date().getDayOfMonth();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String initialize() {
+        HttpResponse<String> response = httpClient.toBlocking().exchange(loopback(HttpRequest.POST("/mcp",
+            "{\"jsonrpc\":\"2.0\",\"id\":0,\"method\":\"initialize\",\"params\":{\"protocolVersion\":\"2025-06-18\"," +
+                "\"capabilities\":{},\"clientInfo\":{\"name\":\"jit-warmup\",\"version\":\"1.0.0\"}}}"), null), String.class);
+        String sessionId = response.header(SESSION_HEADER);
+        if (sessionId == null) {
+            throw new IllegalStateException("The MCP transport did not hand out a session id");
+        }
+        httpClient.toBlocking().exchange(loopback(HttpRequest.POST("/mcp",
+            "{\"jsonrpc\":\"2.0\",\"method\":\"notifications/initialized\"}"), sessionId), String.class);
+        return sessionId;
+    }
+
+    private void callTool(String sessionId, int iteration) {
+        LocalDate date = LocalDate.ofEpochDay(FIRST_DAY + Math.floorMod(iteration * 7_919L, DAYS));
+        httpClient.toBlocking().exchange(loopback(HttpRequest.POST("/mcp",
+            "{\"jsonrpc\":\"2.0\",\"id\":" + iteration + ",\"method\":\"tools/call\",\"params\":{\"name\":\"moon-phase-at-date\"," +
+                "\"arguments\":{\"date\":\"" + date + "\"}}}"), sessionId), String.class);
+    }
+
+    private void end(String sessionId) {
+        try {
+            httpClient.toBlocking().exchange(loopback(HttpRequest.DELETE("/mcp"), sessionId));
+        } catch (RuntimeException e) {
+            // Ended by the idle timeout of the session registry otherwise
+            LOG.debug("Unable to end the session of the JIT warm-up", e);
+        }
+    }
+
+    private static <B> MutableHttpRequest<B> loopback(MutableHttpRequest<B> request, String sessionId) {
+        request.contentType(MediaType.APPLICATION_JSON_TYPE)
+            .accept(MediaType.APPLICATION_JSON_TYPE, MediaType.TEXT_EVENT_STREAM_TYPE);
+        if (sessionId != null) {
+            request.header(SESSION_HEADER, sessionId);
+        }
+        return request;
+    }
+
+    State state() {
+        return state;
+    }
+
+    int rounds() {
+        return rounds;
+    }
+
+    @Override
+    public Publisher<HealthResult> getResult() {
+        State current = state;
+        HealthStatus status = current == State.PENDING || current == State.WARMING ? HealthStatus.DOWN : HealthStatus.UP;
+        return Mono.just(HealthResult.builder(NAME, status)
+            .details(Map.of(
+                "state", current.name().toLowerCase(Locale.ROOT).replace('_', '-'),
+                "rounds", rounds,
+                "elapsedMillis", elapsedMillis,
+                "compilationMillis", compilationMillis))
+            .build());
+    }
+}
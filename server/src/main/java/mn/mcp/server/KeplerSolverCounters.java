@@ -0,0 +1,47 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package mn.mcp.server;
+
+import jakarta.inject.Singleton;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Work done by the Kepler solver for the calculations of an application: the solutions of Kepler's equation,
+ * and the Newton iterations they took. Handed down to the solver by {@link MoonPhasesService} and {@link LunarStateCache},
+ * read by {@link EphemerisMetrics}. The static calculations, such as the ones building the {@link MoonPhaseIndex}, are not counted.
+ */
+@Singleton
+public class KeplerSolverCounters {
+
+    private final LongAdder solves = new LongAdder();
+    private final LongAdder iterations = new LongAdder();
+
+    void record(int newtonIterations) {
+        solves.increment();
+        iterations.add(newtonIterations);
+    }
+
+    long solves() {
+        return solves.sum();
+    }
+
+    long iterations() {
+        return iterations.sum();
+    }
+}
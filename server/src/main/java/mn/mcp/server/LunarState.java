@@ -0,0 +1,47 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package mn.mcp.server;
+
+/**
+ * State of the Sun and the Moon at an instant, calculated by {@link MoonPhasesService#lunarStateAt(long)},
+ * from which the phase, the illumination, the age and the position in the sky of the Moon are derived.
+ *
+ * @param unixTimestamp The time of the state, as a Unix timestamp (seconds since 1970-01-01T00:00:00Z).
+ * @param phaseDegrees The moon's phase angle, in degrees in the range [0, 360).
+ * @param sunRightAscensionDeg The Sun's geocentric right ascension, in degrees in the range [0, 360).
+ * @param sunDeclinationDeg The Sun's geocentric declination, in degrees.
+ * @param moonRightAscensionDeg The Moon's geocentric right ascension, in degrees in the range [0, 360).
+ * @param moonDeclinationDeg The Moon's geocentric declination, in degrees.
+ */
+record LunarState(long unixTimestamp, double phaseDegrees,
+                  double sunRightAscensionDeg, double sunDeclinationDeg,
+                  double moonRightAscensionDeg, double moonDeclinationDeg) {
+
+    /**
+     * @return The illuminated fraction of the Moon's disk, from 0 at the new moon to 1 at the full moon.
+     */
+    double illuminatedFraction() {
+        return (1.0 - Math.cos(Math.toRadians(phaseDegrees))) / 2.0;
+    }
+
+    /**
+     * @return The age of the Moon, in days since the last new moon, at the mean synodic motion.
+     */
+    double ageDays() {
+        return phaseDegrees / MoonPhaseEventFinder.MEAN_SYNODIC_MOTION;
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package mn.mcp.server;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micronaut.context.annotation.Value;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache of the {@link LunarState}, shared by the tools that need more than the phase, so that the illumination,
+ * the age and the rise and set times around the same instants are derived from the same calculations.
+ * <p>
+ * The states are kept by minute: an instant gets the state at the start of its minute, off by less than 0.01 degree
+ * for the Moon. The cache is direct-mapped, each minute hashing to a single slot that it takes over from the previous
+ * one, so that a lookup is an array read without any lock, and the memory stays bounded by {@code moon-phases.lunar-state.cache-size}.
+ */
+@Singleton
+public class LunarStateCache implements MeterBinder {
+
+    private static final long SECONDS_IN_A_MINUTE = 60;
+    // Fibonacci hashing spreads the minutes of regular grids, such as the hours of a day, over all the slots
+    private static final long GOLDEN_RATIO_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+    private final LunarState[] slots;
+    private final int shift;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final KeplerSolverCounters keplerSolverCounters;
+
+    /**
+     * @param size The number of states kept, rounded up to a power of two.
+     */
+    LunarStateCache(int size) {
+        this(size, new KeplerSolverCounters());
+    }
+
+    /**
+     * @param size The number of states kept, rounded up to a power of two.
+     * @param keplerSolverCounters Counts the work of the Kepler solver for the states calculated on a miss.
+     */
+    @Inject
+    LunarStateCache(@Value("${moon-phases.lunar-state.cache-size:4096}") int size, KeplerSolverCounters keplerSolverCounters) {
+        if (size < 1) {
+            throw new IllegalArgumentException("The cache must hold at least one state, not " + size);
+        }
+        int bits = Math.max(1, 32 - Integer.numberOfLeadingZeros(size - 1));
+        this.slots = new LunarState[1 << bits];
+        this.shift = 64 - bits;
+        this.keplerSolverCounters = keplerSolverCounters;
+    }
+
+    /**
+     * @param unixTimestamp The time as a Unix timestamp (seconds since 1970-01-01T00:00:00Z).
+     * @return The state at the start of the minute of that time.
+     */
+    LunarState stateAt(long unixTimestamp) {
+        long minuteStart = Math.floorDiv(unixTimestamp, SECONDS_IN_A_MINUTE) * SECONDS_IN_A_MINUTE;
+        int slot = (int) ((minuteStart * GOLDEN_RATIO_MULTIPLIER) >>> shift);
+        LunarState state = slots[slot];
+        if (state != null && state.unixTimestamp() == minuteStart) {
+            hits.increment();
+            return state;
+        }
+        misses.increment();
+        state = MoonPhasesService.lunarStateAt(minuteStart, keplerSolverCounters);
+        // A racy write is safe, the states being immutable: at worst, concurrent misses calculate the same state twice
+        slots[slot] = state;
+        return state;
+    }
+
+    long hits() {
+        return hits.sum();
+    }
+
+    long misses() {
+        return misses.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("lunar.state.cache.hits", hits, LongAdder::sum)
+            .description("Lookups of the state of the Sun and the Moon answered by the cache")
+            .register(registry);
+        FunctionCounter.builder("lunar.state.cache.misses", misses, LongAdder::sum)
+            .description("Lookups of the state of the Sun and the Moon that calculated it")
+            .register(registry);
+    }
+}
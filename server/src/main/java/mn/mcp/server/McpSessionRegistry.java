@@ -0,0 +1,236 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package mn.mcp.server;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micronaut.context.annotation.Value;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.client.HttpClient;
+import io.micronaut.http.client.annotation.Client;
+import io.micronaut.scheduling.TaskExecutors;
+import io.micronaut.scheduling.TaskScheduler;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import static mn.mcp.server.McpTransportMetricsFilter.SESSION_HEADER;
+
+/**
+ * Bounds the MCP sessions held by this instance, tracked by {@link McpSessionRegistryFilter}:
+ * <ul>
+ *     <li>at most {@code moon-phases.sessions.max} sessions at once, the new ones above are rejected,</li>
+ *     <li>the sessions without a request for {@code moon-phases.sessions.idle-timeout} on this instance are ended on it,
+ *     with a loopback {@code DELETE} request marked as an eviction, so that all their state here is released.
+ *     A session kept in a shared {@link McpSessionStore} stays there, as it may be active on other instances,
+ *     and is rehydrated on its next request here. The clients of the other sessions get a 404, and start a new one.</li>
+ * </ul>
+ * A session costs its id and the tick of its last request, held by its node in an {@link IdleTimerWheel},
+ * without a scheduled task per session. The node of an ended session is cancelled, so a session that is registered
+ * again, e.g. after an eviction, has a single node in the wheel. An open stream of notifications does not count as activity.
+ * <p>
+ * Metrics: {@code mcp.sessions.active}, the open sessions, {@code mcp.sessions.evictions}, the idle sessions ended,
+ * and {@code mcp.sessions.rejections}, the sessions rejected as the instance was full.
+ */
+@Singleton
+public class McpSessionRegistry implements MeterBinder {
+
+    // Slots of the timer wheel; the timeout spans about half a turn, so the evictions are up to 1/32 of it late
+    static final int WHEEL_SLOTS = 64;
+    private static final long MIN_TICK_MILLIS = 10;
+
+    private final int maxSessions;
+    private final long tickMillis;
+    private final Clock clock;
+    private final Consumer<String> evictor;
+    private final IdleTimerWheel wheel;
+    // Timer of each session, with its last request
+    private final Map<String, IdleTimerWheel.Timer> sessions = new ConcurrentHashMap<>();
+    // Sessions plus reservations of the sessions being initialized
+    private final AtomicInteger count = new AtomicInteger();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+    private ScheduledFuture<?> ticks;
+
+    McpSessionRegistry(int maxSessions, Duration idleTimeout, Clock clock, Consumer<String> evictor) {
+        this.maxSessions = maxSessions;
+        this.tickMillis = Math.max(MIN_TICK_MILLIS, idleTimeout.toMillis() / (WHEEL_SLOTS / 2));
+        this.clock = clock;
+        this.evictor = evictor;
+        this.wheel = new IdleTimerWheel(WHEEL_SLOTS, Math.max(1, idleTimeout.toMillis() / tickMillis), tick());
+    }
+
+    @Inject
+    McpSessionRegistry(@Value("${moon-phases.sessions.max:10000}") int maxSessions,
+                       @Value("${moon-phases.sessions.idle-timeout:30m}") Duration idleTimeout,
+                       Clock clock,
+                       @Named(TaskExecutors.SCHEDULED) TaskScheduler taskScheduler,
+                       @Client("/") HttpClient httpClient) {
+        this(maxSessions, idleTimeout, clock, sessionId ->
+            Mono.from(httpClient.exchange(HttpRequest.DELETE("/mcp")
+                    .header(SESSION_HEADER, sessionId)
+                    .header(McpSessionRehydrationFilter.EVICTION_HEADER, McpSessionRehydrationFilter.LOOPBACK_TOKEN)))
+                .subscribe(response -> { }, error -> { }));
+        Duration tick = Duration.ofMillis(tickMillis);
+        this.ticks = taskScheduler.scheduleAtFixedRate(tick, tick, this::expire);
+    }
+
+    /**
+     * Reserves room for a new session, which must then be either {@link #register(String) registered} or
+     * {@link #release() released}.
+     *
+     * @return false when the instance holds as many sessions as allowed.
+     */
+    boolean reserve() {
+        if (count.incrementAndGet() > maxSessions) {
+            count.decrementAndGet();
+            rejections.increment();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Releases a reservation that did not lead to a session.
+     */
+    void release() {
+        count.decrementAndGet();
+    }
+
+    /**
+     * Registers the session of a reservation.
+     */
+    void register(String sessionId) {
+        long now = tick();
+        IdleTimerWheel.Timer timer = new IdleTimerWheel.Timer(sessionId, now);
+        IdleTimerWheel.Timer registered = sessions.putIfAbsent(sessionId, timer);
+        if (registered == null) {
+            wheel.schedule(timer);
+        } else {
+            // Already registered: its timer is kept, rather than adding another one to the wheel
+            registered.touch(now);
+            release();
+        }
+    }
+
+    /**
+     * Records a request of a session.
+     *
+     * @return false when the session is not registered.
+     */
+    boolean touch(String sessionId) {
+        IdleTimerWheel.Timer timer = sessions.get(sessionId);
+        if (timer == null) {
+            return false;
+        }
+        timer.touch(tick());
+        return true;
+    }
+
+    /**
+     * Forgets a session that has ended.
+     */
+    void remove(String sessionId) {
+        IdleTimerWheel.Timer timer = sessions.remove(sessionId);
+        if (timer != null) {
+            timer.cancel();
+            count.decrementAndGet();
+        }
+    }
+
+    /**
+     * Ends the sessions that have been idle for longer than the timeout.
+     */
+    void expire() {
+        List<IdleTimerWheel.Timer> expired;
+        synchronized (wheel) {
+            expired = wheel.advance(tick());
+        }
+        for (IdleTimerWheel.Timer timer : expired) {
+            // Not a session registered again under the same id since
+            if (sessions.remove(timer.key, timer)) {
+                count.decrementAndGet();
+                evictions.increment();
+                evictor.accept(timer.key);
+            }
+        }
+    }
+
+    int size() {
+        return sessions.size();
+    }
+
+    /**
+     * @return The number of timers in the wheel, including the cancelled ones not reached yet.
+     */
+    int timers() {
+        return wheel.size();
+    }
+
+    long evictions() {
+        return evictions.sum();
+    }
+
+    long rejections() {
+        return rejections.sum();
+    }
+
+    /**
+     * @return The delay after which to retry a session rejected as the instance was full.
+     */
+    Duration retryAfter() {
+        return Duration.ofMillis(tickMillis);
+    }
+
+    private long tick() {
+        return clock.millis() / tickMillis;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("mcp.sessions.active", sessions, Map::size)
+            .description("Open MCP sessions")
+            .register(registry);
+        FunctionCounter.builder("mcp.sessions.evictions", evictions, LongAdder::sum)
+            .description("MCP sessions ended after being idle")
+            .register(registry);
+        FunctionCounter.builder("mcp.sessions.rejections", rejections, LongAdder::sum)
+            .description("MCP sessions rejected as the instance held as many as allowed")
+            .register(registry);
+    }
+
+    @PreDestroy
+    void close() {
+        if (ticks != null) {
+            ticks.cancel(false);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package mn.mcp.server;
+
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.core.order.Ordered;
+import io.micronaut.http.HttpHeaders;
+import io.micronaut.http.HttpMethod;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.MediaType;
+import io.micronaut.http.MutableHttpResponse;
+import io.micronaut.http.annotation.RequestFilter;
+import io.micronaut.http.annotation.ResponseFilter;
+import io.micronaut.http.annotation.ServerFilter;
+
+import java.util.Optional;
+
+import static mn.mcp.server.McpTransportMetricsFilter.SESSION_HEADER;
+
+/**
+ * Tracks the MCP sessions in the {@link McpSessionRegistry}, under the session ids of the clients:
+ * reserves room for the new sessions, initialized or rehydrated, and rejects them with a
+ * {@code 503 Service Unavailable} status when the instance is full, then records the requests of the sessions,
+ * and forgets the sessions that have ended.
+ */
+@ServerFilter("/mcp")
+public class McpSessionRegistryFilter implements Ordered {
+
+    private static final String RESERVED_ATTRIBUTE = McpSessionRegistryFilter.class.getName() + ".reserved";
+    private static final String SESSION_ATTRIBUTE = McpSessionRegistryFilter.class.getName() + ".sessionId";
+
+    private final McpSessionRegistry registry;
+
+    McpSessionRegistryFilter(McpSessionRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public int getOrder() {
+        // Before McpSessionRehydrationFilter, which replaces the session ids of the clients with local ones
+        return -100;
+    }
+
+    @RequestFilter
+    @Nullable
+    public HttpResponse<?> track(HttpRequest<?> request) {
+        if (McpSessionRehydrationFilter.isLoopback(request, McpSessionRehydrationFilter.REHYDRATION_HEADER)) {
+            return null;
+        }
+        String sessionId = request.getHeaders().get(SESSION_HEADER);
+        if (sessionId != null) {
+            request.setAttribute(SESSION_ATTRIBUTE, sessionId);
+            if (registry.touch(sessionId) || request.getMethod() == HttpMethod.DELETE) {
+                return null;
+            }
+        } else if (request.getMethod() != HttpMethod.POST) {
+            return null;
+        }
+
+        // An initialize request, or the first request on this instance of a session initialized on another one
+        if (registry.reserve()) {
+            request.setAttribute(RESERVED_ATTRIBUTE, Boolean.TRUE);
+            return null;
+        }
+        long retryAfterMillis = registry.retryAfter().toMillis();
+        return HttpResponse.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf((retryAfterMillis + 999) / 1000))
+            .contentType(MediaType.APPLICATION_JSON_TYPE)
+            .body("{\"jsonrpc\":\"2.0\",\"id\":null,\"error\":{\"code\":" + AdmissionControlInterceptor.OVERLOADED +
+                ",\"message\":\"Too many sessions on this instance\",\"data\":{\"retryAfterMillis\":" + retryAfterMillis + "}}}");
+    }
+
+    @ResponseFilter
+    public void tracked(HttpRequest<?> request, MutableHttpResponse<?> response) {
+        Optional<String> sessionId = request.getAttribute(SESSION_ATTRIBUTE, String.class);
+        boolean successful = response.status().getCode() < 300;
+        if (request.getAttribute(RESERVED_ATTRIBUTE).isPresent()) {
+            // The response of an initialize request hands out the session id, set back to the one of the client on rehydration
+            String registered = sessionId.orElseGet(() -> response.getHeaders().get(SESSION_HEADER));
+            if (successful && registered != null) {
+                registry.register(registered);
+            } else {
+                registry.release();
+            }
+        } else if (sessionId.isPresent()
+            && ((request.getMethod() == HttpMethod.DELETE && successful) || response.status() == HttpStatus.NOT_FOUND)) {
+            registry.remove(sessionId.get());
+        }
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package mn.mcp.server;
+
+import io.micronaut.context.annotation.Value;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.http.HttpMethod;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.MediaType;
+import io.micronaut.http.MutableHttpRequest;
+import io.micronaut.http.MutableHttpResponse;
+import io.micronaut.http.annotation.RequestFilter;
+import io.micronaut.http.annotation.ResponseFilter;
+import io.micronaut.http.annotation.ServerFilter;
+import io.micronaut.http.client.HttpClient;
+import io.micronaut.http.client.annotation.Client;
+import io.micronaut.scheduling.TaskExecutors;
+import io.micronaut.scheduling.annotation.ExecuteOn;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+import static mn.mcp.server.McpTransportMetricsFilter.SESSION_HEADER;
+
+/**
+ * Lets any instance serve the requests of an MCP session initialized on another one, so that the instances
+ * can sit behind a load balancer without session affinity.
+ * <p>
+ * The Streamable HTTP transport of the MCP SDK only knows the sessions initialized on its own instance,
+ * and answers 404 to the others. When a request comes with a session id this instance does not know,
+ * this filter initializes a local session to stand in for it, with a loopback {@code initialize} request,
+ * and forwards the request to that local session, under the session id of the client:
+ * <ul>
+ *     <li>in stateless mode, {@code moon-phases.transport.stateless=true}, for any session id, as the tools are
+ *     pure functions of their arguments,</li>
+ *     <li>otherwise, for the session ids found in the {@link McpSessionStore}, to which the sessions initialized
+ *     on this instance are saved. The other ones still get a 404, and the client initializes a new session.</li>
+ * </ul>
+ * Sessions evicted from this instance by {@link McpSessionRegistry} for being idle only lose their local state,
+ * and stay in a shared store.
+ * <p>
+ * The loopback requests are marked with headers whose value is a secret of the process, so a client cannot pass
+ * its requests off as loopback ones, to skip the rehydration or to end a session on this instance only.
+ * The marks without the secret are removed from the requests.
+ * <p>
+ * Notifications sent outside of a request, such as {@code resources/updated}, only reach the clients
+ * listening on the instance that sends them.
+ */
+@ServerFilter("/mcp")
+public class McpSessionRehydrationFilter {
+
+    static final String PROTOCOL_VERSION_HEADER = "MCP-Protocol-Version";
+    // Marks the loopback requests, which must not be rehydrated nor saved themselves
+    static final String REHYDRATION_HEADER = "X-Mcp-Rehydration";
+    // Marks the loopback DELETE requests of McpSessionRegistry, which end a session on this instance only
+    static final String EVICTION_HEADER = "X-Mcp-Eviction";
+    // Value of the headers above on the loopback requests, drawn for each process
+    static final String LOOPBACK_TOKEN = loopbackToken();
+    private static final String DEFAULT_PROTOCOL_VERSION = "2025-06-18";
+    private static final Pattern PROTOCOL_VERSION = Pattern.compile("\\d{4}-\\d{2}-\\d{2}");
+    private static final String CLIENT_SESSION_ATTRIBUTE = McpSessionRehydrationFilter.class.getName() + ".clientSessionId";
+    private static final String INITIALIZED = "{\"jsonrpc\":\"2.0\",\"method\":\"notifications/initialized\"}";
+
+    private final boolean stateless;
+    private final McpSessionStore sessionStore;
+    private final HttpClient httpClient;
+    private final Clock clock;
+    // Session ids of the clients, to the ids of the local sessions serving them
+    private final Map<String, String> localSessionIds = new ConcurrentHashMap<>();
+
+    McpSessionRehydrationFilter(@Value("${moon-phases.transport.stateless:false}") boolean stateless,
+                                McpSessionStore sessionStore,
+                                @Client("/") HttpClient httpClient,
+                                Clock clock) {
+        this.stateless = stateless;
+        this.sessionStore = sessionStore;
+        this.httpClient = httpClient;
+        this.clock = clock;
+    }
+
+    @RequestFilter
+    @ExecuteOn(TaskExecutors.BLOCKING)
+    @Nullable
+    public HttpResponse<?> rehydrate(MutableHttpRequest<?> request) {
+        boolean rehydration = unmarkUnlessLoopback(request, REHYDRATION_HEADER);
+        boolean eviction = unmarkUnlessLoopback(request, EVICTION_HEADER);
+        String sessionId = request.getHeaders().get(SESSION_HEADER);
+        if (sessionId == null || rehydration) {
+            return null;
+        }
+
+        String localSessionId = localSessionIds.get(sessionId);
+        if (localSessionId == null) {
+            if (eviction) {
+                // Nothing held on this instance for the session
+                return HttpResponse.noContent();
+            }
+            if (!stateless && sessionStore.find(sessionId).isEmpty()) {
+                return null;
+            }
+            if (request.getMethod() == HttpMethod.DELETE) {
+                sessionStore.remove(sessionId);
+                return HttpResponse.noContent();
+            }
+            String initialized = initialize(request.getHeaders().get(PROTOCOL_VERSION_HEADER));
+            String concurrent = localSessionIds.putIfAbsent(sessionId, initialized);
+            if (concurrent != null) {
+                // Another request of the session got there first
+                httpClient.toBlocking().exchange(loopback(HttpRequest.DELETE("/mcp"), initialized));
+                localSessionId = concurrent;
+            } else {
+                localSessionId = initialized;
+            }
+        }
+
+        if (!localSessionId.equals(sessionId)) {
+            request.getHeaders().set(SESSION_HEADER, localSessionId);
+            request.setAttribute(CLIENT_SESSION_ATTRIBUTE, sessionId);
+        }
+        return null;
+    }
+
+    /**
+     * @return The session id the client sent, which the request no longer carries once forwarded to a local session,
+     * or {@code null} before the session is initialized
+     */
+    @Nullable
+    static String clientSessionId(HttpRequest<?> request) {
+        return request.getAttribute(CLIENT_SESSION_ATTRIBUTE, String.class)
+            .orElseGet(() -> request.getHeaders().get(SESSION_HEADER));
+    }
+
+    /**
+     * @return Whether a request is a loopback one of this process, marked with a header
+     */
+    static boolean isLoopback(HttpRequest<?> request, String header) {
+        String token = request.getHeaders().get(header);
+        return token != null && MessageDigest.isEqual(
+            token.getBytes(StandardCharsets.UTF_8), LOOPBACK_TOKEN.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static boolean unmarkUnlessLoopback(MutableHttpRequest<?> request, String header) {
+        if (isLoopback(request, header)) {
+            return true;
+        }
+        request.getHeaders().remove(header);
+        return false;
+    }
+
+    @ResponseFilter
+    public void track(HttpRequest<?> request, MutableHttpResponse<?> response) {
+        if (isLoopback(request, REHYDRATION_HEADER)) {
+            return;
+        }
+        Optional<String> clientSessionId = request.getAttribute(CLIENT_SESSION_ATTRIBUTE, String.class);
+        clientSessionId.ifPresent(id -> {
+            if (response.getHeaders().contains(SESSION_HEADER)) {
+                response.getHeaders().set(SESSION_HEADER, id);
+            }
+        });
+
+        String sessionId = clientSessionId.orElseGet(() -> request.getHeaders().get(SESSION_HEADER));
+        boolean successful = response.status().getCode() < 300;
+        if (sessionId == null) {
+            String newSessionId = response.getHeaders().get(SESSION_HEADER);
+            if (newSessionId != null && request.getMethod() == HttpMethod.POST && successful) {
+                localSessionIds.put(newSessionId, newSessionId);
+                sessionStore.save(new McpSession(newSessionId, clock.instant()));
+            }
+        } else if (request.getMethod() == HttpMethod.DELETE && successful) {
+            localSessionIds.remove(sessionId);
+            // An idle session evicted from this instance may still be in use on the others
+            if (!isLoopback(request, EVICTION_HEADER) || !sessionStore.isShared()) {
+                sessionStore.remove(sessionId);
+            }
+        } else if (response.status() == HttpStatus.NOT_FOUND) {
+            // The local session is gone, the next request of the session gets a new one
+            localSessionIds.remove(sessionId);
+        }
+    }
+
+    /**
+     * Initializes a local session, with the loopback requests a client would send.
+     *
+     * @return The id of the local session.
+     */
+    private String initialize(@Nullable String protocolVersion) {
+        String version = protocolVersion != null && PROTOCOL_VERSION.matcher(protocolVersion).matches()
+            ? protocolVersion
+            : DEFAULT_PROTOCOL_VERSION;
+        String initialize = "{\"jsonrpc\":\"2.0\",\"id\":0,\"method\":\"initialize\",\"params\":{\"protocolVersion\":\"" + version +
+            "\",\"capabilities\":{},\"clientInfo\":{\"name\":\"rehydration\",\"version\":\"1.0.0\"}}}";
+        HttpResponse<String> response = httpClient.toBlocking().exchange(loopback(HttpRequest.POST("/mcp", initialize), null), String.class);
+        String localSessionId = response.header(SESSION_HEADER);
+        if (localSessionId == null) {
+            throw new IllegalStateException("The MCP transport did not hand out a session id");
+        }
+        httpClient.toBlocking().exchange(loopback(HttpRequest.POST("/mcp", INITIALIZED), localSessionId), String.class);
+        return localSessionId;
+    }
+
+    private static <B> MutableHttpRequest<B> loopback(MutableHttpRequest<B> request, @Nullable String sessionId) {
+        request.contentType(MediaType.APPLICATION_JSON_TYPE)
+            .accept(MediaType.APPLICATION_JSON_TYPE, MediaType.TEXT_EVENT_STREAM_TYPE)
+            .header(REHYDRATION_HEADER, LOOPBACK_TOKEN);
+        if (sessionId != null) {
+            request.header(SESSION_HEADER, sessionId);
+        }
+        return request;
+    }
+
+    private static String loopbackToken() {
+        byte[] token = new byte[32];
+        new SecureRandom().nextBytes(token);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(token);
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package mn.mcp.server;
+
+import java.util.Optional;
+
+/**
+ * Keeps the MCP sessions known to the deployment, so that any instance can serve the requests of a session
+ * initialized on another one, see {@link McpSessionRehydrationFilter}.
+ * <p>
+ * The default implementation, {@link InMemoryMcpSessionStore}, only knows the sessions of its own instance:
+ * replace it with a bean backed by a store shared between the instances.
+ */
+public interface McpSessionStore {
+
+    /**
+     * @param session A session that has just been initialized
+     */
+    void save(McpSession session);
+
+    /**
+     * @param id The session id
+     * @return The session, unless it is unknown or has ended
+     */
+    Optional<McpSession> find(String id);
+
+    /**
+     * @param id The id of a session that has ended
+     */
+    void remove(String id);
+
+    /**
+     * @return Whether the other instances read the store too. A session idle on this instance may then be active
+     * on another one, so ending it here for being idle leaves it in the store.
+     */
+    default boolean isShared() {
+        return true;
+    }
+}
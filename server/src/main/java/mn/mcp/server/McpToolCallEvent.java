@@ -0,0 +1,55 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package mn.mcp.server;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JDK Flight Recorder event of a call to a {@link ToolCall} method, committed by {@link ToolCallEventInterceptor}.
+ * Its duration is the one of the call, validation of the arguments included.
+ */
+@Name(McpToolCallEvent.NAME)
+@Label("MCP Tool Call")
+@Description("Call to a tool of the MCP server")
+@Category({"MCP", "Moon Phases"})
+@StackTrace(false)
+class McpToolCallEvent extends Event {
+
+    static final String NAME = "mn.mcp.server.McpToolCall";
+
+    @Label("Tool")
+    String tool;
+
+    @Label("Session")
+    @Description("MCP session of the call, if any")
+    String session;
+
+    @Label("Argument Size")
+    @Description("Size of the body of the JSON-RPC request, or -1 when unknown")
+    @DataAmount
+    long argumentSize;
+
+    @Label("Outcome")
+    @Description("success or error")
+    String outcome;
+}
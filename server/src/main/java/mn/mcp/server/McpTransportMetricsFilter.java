@@ -0,0 +1,62 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package mn.mcp.server;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.MutableHttpResponse;
+import io.micronaut.http.annotation.RequestFilter;
+import io.micronaut.http.annotation.ResponseFilter;
+import io.micronaut.http.annotation.ServerFilter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Gauge of the Streamable HTTP transport of the MCP server: {@code mcp.requests.active}, the requests being processed,
+ * up to the start of their response. The sessions, handed out in an {@value #SESSION_HEADER} header, are gauged by
+ * the {@link McpSessionRegistry}.
+ */
+@ServerFilter("/mcp")
+@Requires(beans = MeterRegistry.class)
+public class McpTransportMetricsFilter {
+
+    static final String SESSION_HEADER = "Mcp-Session-Id";
+    private static final String IN_FLIGHT_ATTRIBUTE = McpTransportMetricsFilter.class.getName() + ".inFlight";
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    McpTransportMetricsFilter(MeterRegistry meterRegistry) {
+        Gauge.builder("mcp.requests.active", inFlight, AtomicInteger::get)
+            .description("MCP requests being processed")
+            .register(meterRegistry);
+    }
+
+    @RequestFilter
+    public void requestStarted(HttpRequest<?> request) {
+        inFlight.incrementAndGet();
+        request.setAttribute(IN_FLIGHT_ATTRIBUTE, Boolean.TRUE);
+    }
+
+    @ResponseFilter
+    public void responseStarted(HttpRequest<?> request, MutableHttpResponse<?> response) {
+        if (request.getAttribute(IN_FLIGHT_ATTRIBUTE).isPresent()) {
+            inFlight.decrementAndGet();
+        }
+    }
+}
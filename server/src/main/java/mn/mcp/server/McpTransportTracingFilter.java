@@ -0,0 +1,81 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package mn.mcp.server;
+
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.order.Ordered;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.MutableHttpResponse;
+import io.micronaut.http.annotation.RequestFilter;
+import io.micronaut.http.annotation.ResponseFilter;
+import io.micronaut.http.annotation.ServerFilter;
+import io.micronaut.http.filter.ServerFilterPhase;
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.Span;
+
+/**
+ * Adds the MCP details to the span of the HTTP requests of the Streamable HTTP transport, which is started,
+ * or continued from the W3C {@code traceparent} header, by the Micronaut tracing filter:
+ * the session as {@value #SESSION_ID}, and the size of the request and response bodies, when known.
+ * The session is the one of the client, also for the requests {@link McpSessionRehydrationFilter} forwards to a local session.
+ */
+@ServerFilter("/mcp")
+@Requires(beans = OpenTelemetry.class)
+public class McpTransportTracingFilter implements Ordered {
+
+    static final String SESSION_ID = "mcp.session.id";
+    private static final AttributeKey<String> SESSION_ID_KEY = AttributeKey.stringKey(SESSION_ID);
+    private static final AttributeKey<Long> REQUEST_SIZE_KEY = AttributeKey.longKey("http.request.body.size");
+    private static final AttributeKey<Long> RESPONSE_SIZE_KEY = AttributeKey.longKey("http.response.body.size");
+
+    @Override
+    public int getOrder() {
+        // Within the span of the request
+        return ServerFilterPhase.TRACING.after();
+    }
+
+    @RequestFilter
+    public void requestStarted(HttpRequest<?> request) {
+        Span span = Span.current();
+        String sessionId = McpSessionRehydrationFilter.clientSessionId(request);
+        if (sessionId != null) {
+            span.setAttribute(SESSION_ID_KEY, sessionId);
+        }
+        long size = request.getContentLength();
+        if (size >= 0) {
+            span.setAttribute(REQUEST_SIZE_KEY, size);
+        }
+    }
+
+    @ResponseFilter
+    public void responseStarted(HttpRequest<?> request, MutableHttpResponse<?> response) {
+        Span span = Span.current();
+        // Handed out in the response to the initialize request
+        if (request.getHeaders().get(McpTransportMetricsFilter.SESSION_HEADER) == null) {
+            String sessionId = response.getHeaders().get(McpTransportMetricsFilter.SESSION_HEADER);
+            if (sessionId != null) {
+                span.setAttribute(SESSION_ID_KEY, sessionId);
+            }
+        }
+        // Unknown for the streamed responses
+        long size = response.getContentLength();
+        if (size >= 0) {
+            span.setAttribute(RESPONSE_SIZE_KEY, size);
+        }
+    }
+}
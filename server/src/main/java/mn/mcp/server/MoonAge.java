@@ -0,0 +1,42 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package mn.mcp.server;
+
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.jsonschema.JsonSchema;
+import io.micronaut.serde.annotation.Serdeable;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.Instant;
+
+/**
+ *
+ * @param instant The instant of the age, to the minute, in ISO-8601 format (UTC)
+ * @param ageDays The number of days since the last new moon, from 0 to about 29.5
+ * @param illuminatedFraction The illuminated fraction of the Moon's disk, from 0 (new moon) to 1 (full moon)
+ */
+@JsonSchema(
+    title = "Moon age",
+    description = "The number of days since the last new moon, at an instant",
+    uri = "/moonAge"
+)
+@Serdeable
+public record MoonAge(
+    @NonNull @NotNull Instant instant,
+    double ageDays,
+    double illuminatedFraction
+) { }
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package mn.mcp.server;
+
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.jsonschema.JsonSchema;
+import io.micronaut.serde.annotation.Serdeable;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.Instant;
+
+/**
+ *
+ * @param instant The instant of the illumination, to the minute, in ISO-8601 format (UTC)
+ * @param illuminatedFraction The illuminated fraction of the Moon's disk, from 0 (new moon) to 1 (full moon)
+ * @param phaseAngle The elongation of the Moon from the Sun, in degrees: 0 for a new moon, 180 for a full moon
+ * @param phase The Moon Phase
+ * @param emoji An emoji to illustrate the Moon Phase
+ */
+@JsonSchema(
+    title = "Moon illumination",
+    description = "The illuminated fraction of the Moon's disk at an instant",
+    uri = "/moonIllumination"
+)
+@Serdeable
+public record MoonIllumination(
+    @NonNull @NotNull Instant instant,
+    double illuminatedFraction,
+    double phaseAngle,
+    MoonPhase phase,
+    @NotBlank String emoji
+) { }
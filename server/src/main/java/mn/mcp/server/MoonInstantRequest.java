@@ -0,0 +1,47 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package mn.mcp.server;
+
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.jsonschema.JsonSchema;
+import io.micronaut.serde.annotation.Serdeable;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
+/**
+ * @param date the date in format yyyy-MM-dd, for the start of the day (00:00 UTC)
+ * @param instant the instant in ISO-8601 format (e.g. 2025-10-01T12:00:00Z), instead of a date; now if both are absent
+ */
+@JsonSchema
+@Serdeable
+public record MoonInstantRequest(@Nullable LocalDate date, @Nullable Instant instant) {
+
+    /**
+     * @return The instant of the request.
+     */
+    Instant resolve() {
+        if (date != null && instant != null) {
+            throw new IllegalArgumentException("Either a date or an instant can be given, not both");
+        }
+        if (date != null) {
+            return date.atStartOfDay(ZoneOffset.UTC).toInstant();
+        }
+        return instant != null ? instant : Instant.now();
+    }
+}
@@ -18,27 +18,30 @@ package mn.mcp.server;
 
 /**
  * Enumeration representing the eight phases of the Moon during its lunar cycle.
- * Each phase includes a description.
+ * Each phase includes a description and an emoji illustrating it.
  */
 public enum MoonPhase {
-    NEW_MOON("New Moon"),
-    WAXING_CRESCENT("Waxing Crescent"),
-    FIRST_QUARTER("First Quarter"),
-    WAXING_GIBBOUS("Waxing Gibbous"),
-    FULL_MOON("Full Moon"),
-    WANING_GIBBOUS("Waning Gibbous"),
-    LAST_QUARTER("Last Quarter"),
-    WANING_CRESCENT("Waning Crescent");
+    NEW_MOON("New Moon", "🌑"),
+    WAXING_CRESCENT("Waxing Crescent", "🌒"),
+    FIRST_QUARTER("First Quarter", "🌓"),
+    WAXING_GIBBOUS("Waxing Gibbous", "🌔"),
+    FULL_MOON("Full Moon", "🌕"),
+    WANING_GIBBOUS("Waning Gibbous", "🌖"),
+    LAST_QUARTER("Last Quarter", "🌗"),
+    WANING_CRESCENT("Waning Crescent", "🌘");
 
     private final String displayName;
+    private final String emoji;
 
     /**
      * Constructor for MoonPhase enum.
      *
      * @param displayName The human-readable name of the phase
+     * @param emoji The emoji illustrating the phase
      */
-    MoonPhase(String displayName) {
+    MoonPhase(String displayName, String emoji) {
         this.displayName = displayName;
+        this.emoji = emoji;
     }
 
     /**
@@ -50,6 +53,15 @@ public enum MoonPhase {
         return displayName;
     }
 
+    /**
+     * Gets the emoji illustrating the moon phase.
+     *
+     * @return The emoji
+     */
+    public String getEmoji() {
+        return emoji;
+    }
+
     @Override
     public String toString() {
         return displayName;
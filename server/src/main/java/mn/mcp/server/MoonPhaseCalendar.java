@@ -0,0 +1,43 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package mn.mcp.server;
+
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.jsonschema.JsonSchema;
+import io.micronaut.serde.annotation.Serdeable;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+/**
+ *
+ * @param month The month, in format yyyy-MM
+ * @param days The phase of the moon at midnight (UTC) for every day of the month, in chronological order
+ * @param transitions The instants at which each phase begins within the month, in chronological order, to the second
+ */
+@JsonSchema(
+    title = "Lunar calendar of a month",
+    description = "The phase of the moon for every day of a month, and the exact instants at which the phase changes",
+    uri = "/moonPhaseCalendar"
+)
+@Serdeable
+public record MoonPhaseCalendar(
+    @NotBlank String month,
+    @NonNull @NotNull List<MoonPhaseDay> days,
+    @NonNull @NotNull List<MoonPhaseEvent> transitions
+) { }
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package mn.mcp.server;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timestamp;
+
+/**
+ * JDK Flight Recorder event of a calculation of the phase angle with the reference algorithm,
+ * see {@link MoonPhasesService#calculateMoonPhaseRadians(long)}. The instants answered by the index,
+ * or by the Chebyshev ephemeris, do not get one.
+ */
+@Name(MoonPhaseComputationEvent.NAME)
+@Label("Moon Phase Computation")
+@Description("Calculation of the moon's phase angle at an instant")
+@Category({"MCP", "Moon Phases"})
+@StackTrace(false)
+class MoonPhaseComputationEvent extends Event {
+
+    static final String NAME = "mn.mcp.server.MoonPhaseComputation";
+
+    @Label("Instant")
+    @Timestamp(Timestamp.MILLISECONDS_SINCE_EPOCH)
+    long instant;
+
+    @Label("Kepler Iterations")
+    @Description("Iterations of the solver of Kepler's equation")
+    int keplerIterations;
+}
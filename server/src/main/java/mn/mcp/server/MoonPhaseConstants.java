@@ -0,0 +1,63 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package mn.mcp.server;
+
+/**
+ * Constants of the moon phase algorithm, shared by all of its implementations: the reference one of {@link MoonPhasesService},
+ * which the Chebyshev ephemeris is fitted to, the incremental one, the scalar and vectorized batches, and the fast ephemeris.
+ * Angles are in degrees, and daily motions in degrees per day.
+ */
+final class MoonPhaseConstants {
+
+    static final double TO_RADIANS = Math.PI / 180.0;
+    static final double TO_DEGREES = 180.0 / Math.PI;
+
+    // Julian Days of 1970-01-01T00:00:00Z, the Unix epoch, and of 1980-01-01T00:00:00Z, epoch 1980.0
+    static final double SECONDS_PER_DAY = 86400.0;
+    static final double UNIX_EPOCH_JULIAN_DAY = 2440587.5;
+    static final double EPOCH_1980_JULIAN_DAY = 2444238.5;
+
+    // Eccentricity of Earth's orbit
+    static final double ECCENTRICITY_EARTH_ORBIT = 0.016718;
+    // Ecliptic longitude of the Sun at epoch 1980.0, and at perigee
+    static final double SUN_ECLIPTIC_LONGITUDE_EPOCH = 278.833540;
+    static final double SUN_ECLIPTIC_LONGITUDE_PERIGEE = 282.596403;
+    static final double SUN_MEAN_ANOMALY_DAILY_MOTION = 360.0 / 365.2422;
+
+    // Moon's mean longitude, and longitude of its perigee, at epoch 1980.0, with their daily motions
+    static final double MOON_MEAN_LONGITUDE_EPOCH = 64.975464;
+    static final double MOON_MEAN_LONGITUDE_DAILY_MOTION = 13.1763966;
+    static final double MOON_PERIGEE_LONGITUDE_EPOCH = 349.383063;
+    static final double MOON_PERIGEE_DAILY_MOTION = 0.1114041;
+    static final double MOON_MEAN_ANOMALY_DAILY_MOTION = MOON_MEAN_LONGITUDE_DAILY_MOTION - MOON_PERIGEE_DAILY_MOTION;
+
+    // Amplitudes of the corrections of the Moon's longitude and anomaly
+    static final double EVECTION = 1.2739;
+    static final double ANNUAL_EQUATION = 0.1858;
+    static final double ANOMALY_CORRECTION = 0.37;
+    static final double EQUATION_OF_CENTER = 6.2886;
+    static final double SECOND_EQUATION_OF_CENTER = 0.214;
+    static final double VARIATION = 0.6583;
+
+    // The eight phases are 45 degrees wide, each centered on a multiple of 45 degrees, from the new moon at 0
+    static final double PHASE_WIDTH_DEGREES = 45.0;
+    static final double FIRST_PHASE_END_DEGREES = PHASE_WIDTH_DEGREES / 2.0;
+
+    private MoonPhaseConstants() {
+    }
+}
@@ -16,22 +16,28 @@
 
 package mn.mcp.server;
 
+import io.micronaut.core.annotation.NonNull;
 import io.micronaut.jsonschema.JsonSchema;
 import io.micronaut.serde.annotation.Serdeable;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDate;
 
 /**
  *
- * @param phase The Moon Phase
+ * @param date The day, in format yyyy-MM-dd
+ * @param phase The Moon Phase on that day
  * @param emoji An emoji to illustrate the Moon Phase
  */
 @JsonSchema(
-    title = "Phase of the moon",
-    description = "The phase of the moon is composed of the name of the phase and an emoji representing it",
-    uri = "/moonPhase"
+    title = "Phase of the moon on a day",
+    description = "The phase of the moon on a given day, with the name of the phase and an emoji representing it",
+    uri = "/moonPhaseDay"
 )
 @Serdeable
-public record MoonPhaseEmoji(
+public record MoonPhaseDay(
+    @NonNull @NotNull LocalDate date,
     MoonPhase phase,
     @NotBlank String emoji
 ) { }
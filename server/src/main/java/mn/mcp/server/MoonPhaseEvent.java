@@ -0,0 +1,43 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package mn.mcp.server;
+
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.jsonschema.JsonSchema;
+import io.micronaut.serde.annotation.Serdeable;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.Instant;
+
+/**
+ *
+ * @param phase The Moon Phase reached: new moon, first quarter, full moon or last quarter
+ * @param emoji An emoji to illustrate the Moon Phase
+ * @param instant The instant the Moon Phase is reached, in ISO-8601 format (UTC)
+ */
+@JsonSchema(
+    title = "Moon phase event",
+    description = "The instant at which the moon reaches one of its principal phases",
+    uri = "/moonPhaseEvent"
+)
+@Serdeable
+public record MoonPhaseEvent(
+    MoonPhase phase,
+    @NotBlank String emoji,
+    @NonNull @NotNull Instant instant
+) { }
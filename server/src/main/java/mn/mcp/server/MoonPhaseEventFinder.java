@@ -0,0 +1,170 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package mn.mcp.server;
+
+/**
+ * Finds the instants at which the moon's phase angle (its elongation from the Sun) reaches a given value,
+ * e.g. 180° for a full moon, by root-finding on {@link MoonPhasesService#calculateMoonPhaseRadians(long)}.
+ * <p>
+ * The root is first bracketed around an estimate based on the mean synodic motion of the Moon,
+ * then refined with Brent's method, which usually takes fewer than ten evaluations of the phase angle.
+ */
+final class MoonPhaseEventFinder {
+
+    // Mean motion of the Moon relative to the Sun, in degrees per day (360 / 29.530589)
+    static final double MEAN_SYNODIC_MOTION = 360.0 / 29.530589;
+    private static final long SECONDS_IN_A_DAY = 86400;
+    // Half-width of the initial bracket around the estimate: the true motion departs
+    // from the mean one by less than a day over a lunation
+    private static final long BRACKET_HALF_WIDTH_SECONDS = 2 * SECONDS_IN_A_DAY;
+    private static final int MAX_ITERATIONS = 100;
+
+    private MoonPhaseEventFinder() {
+    }
+
+    /**
+     * Finds the first second, strictly after a given instant, at which the phase angle reaches a target angle.
+     *
+     * @param afterUnixTimestamp The instant to search from, as a Unix timestamp (excluded).
+     * @param targetDegrees The phase angle to reach, in degrees in the range [0, 360).
+     * @param keplerSolverCounters Counts the work of the Kepler solver for the evaluations of the phase angle, or null.
+     * @return The first Unix timestamp at which the phase angle is at or past the target angle.
+     */
+    static long nextCrossing(long afterUnixTimestamp, double targetDegrees, KeplerSolverCounters keplerSolverCounters) {
+        double degreesToGo = MoonPhasesService.fixAngle(targetDegrees - phaseDegrees(afterUnixTimestamp, keplerSolverCounters));
+        long estimate = afterUnixTimestamp + Math.round(degreesToGo / MEAN_SYNODIC_MOTION * SECONDS_IN_A_DAY);
+
+        // Bracket the crossing: negative offset from the target before it, positive after it
+        long lo = Math.max(afterUnixTimestamp + 1, estimate - BRACKET_HALF_WIDTH_SECONDS);
+        long hi = Math.max(lo + 1, estimate + BRACKET_HALF_WIDTH_SECONDS);
+        double fLo = offset(lo, targetDegrees, keplerSolverCounters);
+        while (fLo >= 0 && lo > afterUnixTimestamp + 1) {
+            lo = Math.max(afterUnixTimestamp + 1, lo - SECONDS_IN_A_DAY);
+            fLo = offset(lo, targetDegrees, keplerSolverCounters);
+        }
+        if (fLo >= 0) {
+            // Already at the target one second after the instant
+            return lo;
+        }
+        double fHi = offset(hi, targetDegrees, keplerSolverCounters);
+        while (fHi < 0) {
+            hi += SECONDS_IN_A_DAY;
+            fHi = offset(hi, targetDegrees, keplerSolverCounters);
+        }
+
+        long root = brent(lo, fLo, hi, fHi, targetDegrees, keplerSolverCounters);
+
+        // Settle on the first second at or past the target
+        while (root > lo && offset(root - 1, targetDegrees, keplerSolverCounters) >= 0) {
+            root--;
+        }
+        while (offset(root, targetDegrees, keplerSolverCounters) < 0) {
+            root++;
+        }
+        return root;
+    }
+
+    /**
+     * Brent's method, combining bisection, secant and inverse quadratic interpolation steps,
+     * stopped once the bracket is narrower than a second.
+     */
+    private static long brent(long lo, double fLo, long hi, double fHi, double targetDegrees,
+                              KeplerSolverCounters keplerSolverCounters) {
+        double a = lo;
+        double fa = fLo;
+        double b = hi;
+        double fb = fHi;
+        double c = a;
+        double fc = fa;
+        double d = b - a;
+        double e = d;
+
+        for (int i = 0; i < MAX_ITERATIONS; i++) {
+            if (Math.signum(fb) == Math.signum(fc)) {
+                c = a;
+                fc = fa;
+                d = b - a;
+                e = d;
+            }
+            if (Math.abs(fc) < Math.abs(fb)) {
+                a = b;
+                b = c;
+                c = a;
+                fa = fb;
+                fb = fc;
+                fc = fa;
+            }
+
+            double tolerance = 0.5;
+            double middle = 0.5 * (c - b);
+            if (Math.abs(middle) <= tolerance || fb == 0.0) {
+                break;
+            }
+
+            if (Math.abs(e) >= tolerance && Math.abs(fa) > Math.abs(fb)) {
+                double s = fb / fa;
+                double p;
+                double q;
+                if (a == c) {
+                    // Secant step
+                    p = 2.0 * middle * s;
+                    q = 1.0 - s;
+                } else {
+                    // Inverse quadratic interpolation
+                    double r = fb / fc;
+                    double t = fa / fc;
+                    p = s * (2.0 * middle * t * (t - r) - (b - a) * (r - 1.0));
+                    q = (t - 1.0) * (r - 1.0) * (s - 1.0);
+                }
+                if (p > 0) {
+                    q = -q;
+                } else {
+                    p = -p;
+                }
+                if (2.0 * p < Math.min(3.0 * middle * q - Math.abs(tolerance * q), Math.abs(e * q))) {
+                    e = d;
+                    d = p / q;
+                } else {
+                    d = middle;
+                    e = d;
+                }
+            } else {
+                // Bisection step
+                d = middle;
+                e = d;
+            }
+
+            a = b;
+            fa = fb;
+            b += Math.abs(d) > tolerance ? d : Math.copySign(tolerance, middle);
+            fb = offset(Math.round(b), targetDegrees, keplerSolverCounters);
+        }
+        return Math.round(b);
+    }
+
+    /**
+     * @return The signed angle from the target to the phase angle at a given instant, in the range [-180, 180).
+     */
+    private static double offset(long unixTimestamp, double targetDegrees, KeplerSolverCounters keplerSolverCounters) {
+        double offset = phaseDegrees(unixTimestamp, keplerSolverCounters) - targetDegrees;
+        return MoonPhasesService.fixAngle(offset + 180.0) - 180.0;
+    }
+
+    private static double phaseDegrees(long unixTimestamp, KeplerSolverCounters keplerSolverCounters) {
+        return MoonPhasesService.normalizedPhaseDegrees(unixTimestamp, keplerSolverCounters);
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package mn.mcp.server;
+
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.jsonschema.JsonSchema;
+import io.micronaut.serde.annotation.Serdeable;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+/**
+ *
+ * @param events The upcoming moon phase events, in chronological order
+ */
+@JsonSchema(
+    title = "Moon phase events",
+    description = "The upcoming instants at which the moon reaches its principal phases",
+    uri = "/moonPhaseEvents"
+)
+@Serdeable
+public record MoonPhaseEvents(
+    @NonNull @NotNull List<MoonPhaseEvent> events
+) { }
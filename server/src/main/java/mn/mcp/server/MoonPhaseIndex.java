@@ -0,0 +1,166 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package mn.mcp.server;
+
+import io.micronaut.context.annotation.Value;
+import jakarta.inject.Singleton;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * In-memory index of the instants at which the Moon moves from one {@link MoonPhase} to the next,
+ * i.e. the instants at which its elongation crosses 22.5°, 67.5°, 112.5°, and so on.
+ * <p>
+ * The index covers a configurable span of years and is built lazily, on first use, by scanning
+ * the span with {@link MoonPhasesService#calculateMoonPhaseRadians(long)} and bisecting each
+ * phase change down to the second. Lookups are then a binary search over a {@code long[]},
+ * without any trigonometry. Instants outside the indexed span are not answered by the index.
+ */
+@Singleton
+public class MoonPhaseIndex {
+
+    // A phase lasts at least three days, so a half-day step never skips over a transition
+    private static final long SCAN_STEP_SECONDS = 12 * 60 * 60;
+    private static final int SECONDS_IN_A_DAY = 86400;
+
+    private final boolean enabled;
+    private final long spanStart;
+    private final long spanEnd;
+
+    private volatile Transitions transitions;
+
+    MoonPhaseIndex(@Value("${moon-phases.index.enabled:true}") boolean enabled,
+                   @Value("${moon-phases.index.start-year:1900}") int startYear,
+                   @Value("${moon-phases.index.end-year:2100}") int endYear) {
+        if (endYear < startYear) {
+            throw new IllegalArgumentException(
+                "moon-phases.index.end-year (" + endYear + ") is before start-year (" + startYear + ")");
+        }
+        this.enabled = enabled;
+        this.spanStart = LocalDate.of(startYear, 1, 1).toEpochDay() * SECONDS_IN_A_DAY;
+        this.spanEnd = LocalDate.of(endYear + 1, 1, 1).toEpochDay() * SECONDS_IN_A_DAY;
+    }
+
+    /**
+     * Looks up the phase of the moon at a given instant.
+     *
+     * @param unixTimestamp The instant as a Unix timestamp (seconds since 1970-01-01T00:00:00Z).
+     * @return The {@link MoonPhase} ordinal at that instant, or -1 if the instant is not covered by the index.
+     */
+    int phaseOrdinalAt(long unixTimestamp) {
+        if (!covers(unixTimestamp)) {
+            return -1;
+        }
+        Transitions index = transitions();
+        int position = Arrays.binarySearch(index.instants, unixTimestamp);
+        // Index of the last transition at or before the timestamp
+        int last = position >= 0 ? position : -position - 2;
+        return last < 0 ? index.startPhase : index.phases[last];
+    }
+
+    /**
+     * Looks up the instant at which the phase following the one at a given instant begins.
+     *
+     * @param unixTimestamp The instant as a Unix timestamp (seconds since 1970-01-01T00:00:00Z).
+     * @return The Unix timestamp of the next transition, or -1 if it is not covered by the index.
+     */
+    long nextTransitionAfter(long unixTimestamp) {
+        if (!covers(unixTimestamp)) {
+            return -1;
+        }
+        Transitions index = transitions();
+        int position = Arrays.binarySearch(index.instants, unixTimestamp);
+        int next = position >= 0 ? position + 1 : -position - 1;
+        return next < index.instants.length ? index.instants[next] : -1;
+    }
+
+    /**
+     * @param unixTimestamp The instant as a Unix timestamp.
+     * @return Whether lookups for this instant are answered by the index.
+     */
+    boolean covers(long unixTimestamp) {
+        return enabled && unixTimestamp >= spanStart && unixTimestamp < spanEnd;
+    }
+
+    private Transitions transitions() {
+        Transitions index = transitions;
+        if (index == null) {
+            synchronized (this) {
+                index = transitions;
+                if (index == null) {
+                    index = build(spanStart, spanEnd);
+                    transitions = index;
+                }
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Scans the span and records every phase transition.
+     *
+     * @param start The first second covered (inclusive).
+     * @param end The last second covered (exclusive).
+     * @return The transitions found in {@code [start, end)}.
+     */
+    static Transitions build(long start, long end) {
+        // Roughly 8 transitions per 29.5 days, plus some slack
+        int capacity = (int) ((end - start) / SECONDS_IN_A_DAY / 3) + 8;
+        long[] instants = new long[capacity];
+        byte[] phases = new byte[capacity];
+        int count = 0;
+
+        int startPhase = phaseOrdinal(start);
+        long previous = start;
+        int previousPhase = startPhase;
+        while (previous < end - 1) {
+            long next = Math.min(previous + SCAN_STEP_SECONDS, end - 1);
+            int nextPhase = phaseOrdinal(next);
+            if (nextPhase != previousPhase) {
+                // Bisect down to the first second of the new phase
+                long lo = previous;
+                long hi = next;
+                while (hi - lo > 1) {
+                    long mid = lo + (hi - lo) / 2;
+                    if (phaseOrdinal(mid) == previousPhase) {
+                        lo = mid;
+                    } else {
+                        hi = mid;
+                    }
+                }
+                instants[count] = hi;
+                phases[count] = (byte) nextPhase;
+                count++;
+            }
+            previous = next;
+            previousPhase = nextPhase;
+        }
+        return new Transitions(startPhase, Arrays.copyOf(instants, count), Arrays.copyOf(phases, count));
+    }
+
+    private static int phaseOrdinal(long unixTimestamp) {
+        return MoonPhasesService.phaseOrdinal(MoonPhasesService.normalizedPhaseDegrees(unixTimestamp));
+    }
+
+    /**
+     * @param startPhase The phase ordinal at the start of the span
+     * @param instants The instants (Unix timestamps) at which a new phase begins, in increasing order
+     * @param phases The phase ordinal beginning at the instant of the same index
+     */
+    record Transitions(int startPhase, long[] instants, byte[] phases) { }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package mn.mcp.server;
+
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.jsonschema.JsonSchema;
+import io.micronaut.serde.annotation.Serdeable;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ *
+ * @param start The first day of the range, in format yyyy-MM-dd
+ * @param end The last day of the range, in format yyyy-MM-dd
+ * @param days The phase of the moon for every day of the range, in chronological order, or none when they were streamed as progress notifications
+ */
+@JsonSchema(
+    title = "Phases of the moon over a range of days",
+    description = "The phase of the moon for every day between a start and an end date, both included. " +
+        "The days are empty when they were streamed as progress notifications",
+    uri = "/moonPhaseRange"
+)
+@Serdeable
+public record MoonPhaseRange(
+    @NonNull @NotNull LocalDate start,
+    @NonNull @NotNull LocalDate end,
+    @NonNull @NotNull List<MoonPhaseDay> days
+) { }
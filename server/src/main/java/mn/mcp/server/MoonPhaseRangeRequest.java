@@ -24,9 +24,10 @@ import jakarta.validation.constraints.NotNull;
 import java.time.LocalDate;
 
 /**
- * @param date the date in format yyyy-MM-dd
+ * @param start the first date of the range, in format yyyy-MM-dd
+ * @param end the last date of the range (included), in format yyyy-MM-dd
  */
 @JsonSchema
 @Serdeable
-public record MoonPhaseRequest(@NonNull @NotNull LocalDate date) {
+public record MoonPhaseRangeRequest(@NonNull @NotNull LocalDate start, @NonNull @NotNull LocalDate end) {
 }
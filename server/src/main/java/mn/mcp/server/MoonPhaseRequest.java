@@ -0,0 +1,40 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package mn.mcp.server;
+
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.jsonschema.JsonSchema;
+import io.micronaut.serde.annotation.Serdeable;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDate;
+
+/**
+ * @param date the date in format yyyy-MM-dd
+ * @param precision the ephemeris to calculate the phase with, instead of the index of the phase changes over 1900-2100:
+ *                  FAST for a phase that may be off within a second of a phase change, PRECISE otherwise,
+ *                  CHEBYSHEV only when it is the tier of the server; by default, the index and then the ephemeris of the server
+ */
+@JsonSchema
+@Serdeable
+public record MoonPhaseRequest(@NonNull @NotNull LocalDate date, @Nullable EphemerisTier precision) {
+
+    public MoonPhaseRequest(LocalDate date) {
+        this(date, null);
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package mn.mcp.server;
+
+import io.micronaut.context.BeanProvider;
+import io.micronaut.runtime.event.annotation.EventListener;
+import io.modelcontextprotocol.server.McpSyncServer;
+import io.modelcontextprotocol.spec.McpSchema;
+import jakarta.inject.Singleton;
+
+/**
+ * Notifies the clients subscribed to {@value MoonPhaseResources#CURRENT_URI} when the phase of the moon changes,
+ * which only happens every few days. The calendars of the months never change, so they are never notified.
+ */
+@Singleton
+public class MoonPhaseResourceNotifier {
+
+    // Looked up lazily, as the cache may publish its first change while the server is being created
+    private final BeanProvider<McpSyncServer> mcpSyncServer;
+
+    MoonPhaseResourceNotifier(BeanProvider<McpSyncServer> mcpSyncServer) {
+        this.mcpSyncServer = mcpSyncServer;
+    }
+
+    @EventListener
+    void onMoonPhaseChanged(MoonPhaseChangedEvent event) {
+        mcpSyncServer.ifPresent(server ->
+            server.notifyResourcesUpdated(new McpSchema.ResourcesUpdatedNotification(MoonPhaseResources.CURRENT_URI)));
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package mn.mcp.server;
+
+import io.micronaut.context.annotation.Factory;
+import io.micronaut.json.JsonMapper;
+import io.modelcontextprotocol.server.McpServerFeatures;
+import io.modelcontextprotocol.spec.McpSchema;
+import jakarta.inject.Singleton;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+/**
+ * The MCP resources of the server, for clients to cache instead of calling the tools on every turn:
+ * <ul>
+ *     <li>{@value #CURRENT_URI}, the current phase of the moon, with a {@code resources/updated} notification
+ *     whenever it changes, see {@link MoonPhaseResourceNotifier},</li>
+ *     <li>{@value #CALENDAR_URI_TEMPLATE}, the {@link MoonPhaseCalendar} of a month, which never changes.</li>
+ * </ul>
+ */
+@Factory
+public class MoonPhaseResources {
+
+    static final String CURRENT_URI = "moon://current";
+    static final String CALENDAR_URI_PREFIX = "moon://calendar/";
+    static final String CALENDAR_URI_TEMPLATE = CALENDAR_URI_PREFIX + "{month}";
+    private static final String JSON = "application/json";
+
+    private final MoonPhasesService moonPhasesService;
+    private final CurrentMoonPhaseCache currentMoonPhaseCache;
+    private final JsonMapper jsonMapper;
+    // The JSON form of the current phase, one of eight values, encoded once
+    private final String[] currentJson = new String[MoonPhase.values().length];
+
+    MoonPhaseResources(MoonPhasesService moonPhasesService,
+                       CurrentMoonPhaseCache currentMoonPhaseCache,
+                       JsonMapper jsonMapper) {
+        this.moonPhasesService = moonPhasesService;
+        this.currentMoonPhaseCache = currentMoonPhaseCache;
+        this.jsonMapper = jsonMapper;
+        for (MoonPhase phase : MoonPhase.values()) {
+            try {
+                currentJson[phase.ordinal()] = jsonMapper.writeValueAsString(MoonPhaseEmoji.of(phase));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to encode the moon phase " + phase.name(), e);
+            }
+        }
+    }
+
+    @Singleton
+    McpServerFeatures.SyncResourceSpecification currentMoonPhase() {
+        McpSchema.Resource resource = McpSchema.Resource.builder()
+            .uri(CURRENT_URI)
+            .name("current-moon-phase")
+            .title("Current moon phase")
+            .description("The current moon phase. Subscribe to it to be notified when the phase changes, every few days")
+            .mimeType(JSON)
+            .build();
+        return new McpServerFeatures.SyncResourceSpecification(resource, (exchange, request) ->
+            result(CURRENT_URI, currentJson[currentMoonPhaseCache.currentMoonPhase().phase().ordinal()]));
+    }
+
+    @Singleton
+    McpServerFeatures.SyncResourceTemplateSpecification moonPhaseCalendar() {
+        McpSchema.ResourceTemplate template = McpSchema.ResourceTemplate.builder()
+            .uriTemplate(CALENDAR_URI_TEMPLATE)
+            .name("moon-phase-calendar")
+            .title("Lunar calendar of a month")
+            .description("The moon phase for every day of a month (yyyy-MM), and the exact instants (UTC) at which the phase changes. " +
+                "The calendar of a month never changes, so it can be cached indefinitely")
+            .mimeType(JSON)
+            .build();
+        return new McpServerFeatures.SyncResourceTemplateSpecification(template, (exchange, request) -> {
+            MoonPhaseCalendar calendar = moonPhasesService.moonPhaseCalendar(month(request.uri()));
+            try {
+                return result(request.uri(), jsonMapper.writeValueAsString(calendar));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to encode the calendar of " + calendar.month(), e);
+            }
+        });
+    }
+
+    static YearMonth month(String uri) {
+        if (!uri.startsWith(CALENDAR_URI_PREFIX)) {
+            throw new IllegalArgumentException("Not a calendar resource: " + uri);
+        }
+        try {
+            return YearMonth.parse(uri.substring(CALENDAR_URI_PREFIX.length()));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("The month of a calendar must be in format yyyy-MM: " + uri, e);
+        }
+    }
+
+    private static McpSchema.ReadResourceResult result(String uri, String json) {
+        return new McpSchema.ReadResourceResult(List.of(new McpSchema.TextResourceContents(uri, JSON, json)));
+    }
+}
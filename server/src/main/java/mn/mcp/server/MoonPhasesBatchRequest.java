@@ -0,0 +1,39 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package mn.mcp.server;
+
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.jsonschema.JsonSchema;
+import io.micronaut.serde.annotation.Serdeable;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * @param dates the dates, in format yyyy-MM-dd, in any order and possibly repeated
+ * @param instants the instants, in ISO-8601 format (e.g. 2025-10-01T12:00:00Z), in any order and possibly repeated
+ */
+@JsonSchema
+@Serdeable
+public record MoonPhasesBatchRequest(
+    @Nullable @Size(max = MoonPhasesService.MAX_BATCH_SIZE) List<@NotNull LocalDate> dates,
+    @Nullable @Size(max = MoonPhasesService.MAX_BATCH_SIZE) List<@NotNull Instant> instants
+) {
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package mn.mcp.server;
+
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.jsonschema.JsonSchema;
+import io.micronaut.serde.annotation.Serdeable;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+/**
+ *
+ * @param dates The phase of the moon on each of the dates of the request, in the same order
+ * @param instants The phase of the moon at each of the instants of the request, in the same order
+ */
+@JsonSchema(
+    title = "Phases of the moon for a list of dates and instants",
+    description = "The phase of the moon for each of the dates and instants of the request, in the order they were given",
+    uri = "/moonPhasesBatch"
+)
+@Serdeable
+public record MoonPhasesBatchResult(
+    @NonNull @NotNull List<MoonPhaseEmoji> dates,
+    @NonNull @NotNull List<MoonPhaseEmoji> instants
+) { }
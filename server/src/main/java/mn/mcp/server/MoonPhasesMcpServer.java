@@ -0,0 +1,146 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package mn.mcp.server;
+
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.json.JsonMapper;
+import io.modelcontextprotocol.server.McpSyncServerExchange;
+import io.modelcontextprotocol.spec.McpSchema;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import io.micronaut.mcp.annotations.Tool;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Singleton
+@ToolCall
+public class MoonPhasesMcpServer {
+    @Inject
+    MoonPhasesService moonPhasesService;
+
+    @Inject
+    CurrentMoonPhaseCache currentMoonPhaseCache;
+
+    @Inject
+    MoonSkyService moonSkyService;
+
+    @Inject
+    JsonMapper jsonMapper;
+
+    @Tool(name = "current-moon-phase",
+        description = "Provides the current moon phase")
+    public MoonPhaseEmoji currentMoonPhase() {
+        return currentMoonPhaseCache.currentMoonPhase();
+    }
+
+    @Tool(name = "moon-phase-at-date",
+        description = "Provides the moon phase at a certain date (yyyy-MM-dd). An optional precision (PRECISE, FAST, " +
+            "or CHEBYSHEV when the server is configured with it) calculates the phase with that ephemeris, " +
+            "instead of looking it up in the index of the phase changes over 1900-2100")
+    @NotNull
+    public MoonPhaseEmoji moonPhaseAtDate(@Valid MoonPhaseRequest moonPhaseRequest) {
+        return moonPhasesService.moonPhaseAtDate(moonPhaseRequest.date(), moonPhaseRequest.precision());
+    }
+
+    @Tool(name = "moon-phase-range",
+        description = "Provides the moon phase for every day between a start and an end date (yyyy-MM-dd), both included. " +
+            "When a progress token is given, the days are streamed instead, one chunk at a time, each progress notification " +
+            "carrying the JSON array of the days of its chunk as its message, and the result only holds the start and end dates")
+    @NotNull
+    public MoonPhaseRange moonPhaseRange(@Valid MoonPhaseRangeRequest moonPhaseRangeRequest,
+                                         @Nullable McpSyncServerExchange exchange,
+                                         @Nullable McpSchema.CallToolRequest callToolRequest) {
+        Object progressToken = callToolRequest == null || callToolRequest.meta() == null
+            ? null
+            : callToolRequest.meta().get("progressToken");
+        if (exchange == null || progressToken == null) {
+            return moonPhasesService.moonPhaseRange(moonPhaseRangeRequest.start(), moonPhaseRangeRequest.end(), chunk -> { });
+        }
+
+        double total = ChronoUnit.DAYS.between(moonPhaseRangeRequest.start(), moonPhaseRangeRequest.end()) + 1;
+        AtomicInteger done = new AtomicInteger();
+        MoonPhaseRange range = moonPhasesService.moonPhaseRange(moonPhaseRangeRequest.start(), moonPhaseRangeRequest.end(), chunk ->
+            exchange.progressNotification(new McpSchema.ProgressNotification(
+                progressToken, done.addAndGet(chunk.size()), total, encode(chunk))));
+        // The days were all sent with the notifications
+        return new MoonPhaseRange(range.start(), range.end(), List.of());
+    }
+
+    @Tool(name = "next-phase-event",
+        description = "Provides the next instants (UTC, to the minute or better) at which the moon reaches a principal phase " +
+            "(new moon, first quarter, full moon, last quarter), after a given instant or now")
+    @NotNull
+    public MoonPhaseEvents nextPhaseEvent(@Valid NextPhaseEventRequest nextPhaseEventRequest) {
+        Instant after = nextPhaseEventRequest.after() != null ? nextPhaseEventRequest.after() : Instant.now();
+        int count = nextPhaseEventRequest.count() != null ? nextPhaseEventRequest.count() : 1;
+        return new MoonPhaseEvents(moonPhasesService.nextPhaseEvents(after, nextPhaseEventRequest.phase(), count));
+    }
+
+    @Tool(name = "moon-phases-batch",
+        description = "Provides the moon phase for each of a list of dates (yyyy-MM-dd) and of a list of instants " +
+            "(ISO-8601, UTC), in the order they are given, up to " + MoonPhasesService.MAX_BATCH_SIZE + " of each. " +
+            "Use it to annotate many records at once, instead of one call per record")
+    @NotNull
+    public MoonPhasesBatchResult moonPhasesBatch(@Valid MoonPhasesBatchRequest moonPhasesBatchRequest) {
+        List<LocalDate> dates = moonPhasesBatchRequest.dates() != null ? moonPhasesBatchRequest.dates() : List.of();
+        List<Instant> instants = moonPhasesBatchRequest.instants() != null ? moonPhasesBatchRequest.instants() : List.of();
+        return new MoonPhasesBatchResult(moonPhasesService.moonPhasesAtDates(dates), moonPhasesService.moonPhasesAtInstants(instants));
+    }
+
+    @Tool(name = "moon-illumination",
+        description = "Provides the illuminated fraction of the moon's disk, from 0 (new moon) to 1 (full moon), " +
+            "at the start of a date (yyyy-MM-dd), at an instant (ISO-8601, UTC) or now")
+    @NotNull
+    public MoonIllumination moonIllumination(@Valid MoonInstantRequest moonInstantRequest) {
+        return moonSkyService.moonIllumination(moonInstantRequest.resolve());
+    }
+
+    @Tool(name = "moon-age",
+        description = "Provides the age of the moon, in days since the last new moon, " +
+            "at the start of a date (yyyy-MM-dd), at an instant (ISO-8601, UTC) or now")
+    @NotNull
+    public MoonAge moonAge(@Valid MoonInstantRequest moonInstantRequest) {
+        return moonSkyService.moonAge(moonInstantRequest.resolve());
+    }
+
+    @Tool(name = "rise-set-times",
+        description = "Provides the instants (UTC, to a few minutes) at which the sun and the moon rise and set " +
+            "on a date (yyyy-MM-dd), at a latitude and a longitude in degrees. The day runs from local midnight to local midnight")
+    @NotNull
+    public RiseSetTimes riseSetTimes(@Valid RiseSetRequest riseSetRequest) {
+        return moonSkyService.riseSetTimes(riseSetRequest.date(), riseSetRequest.latitude(), riseSetRequest.longitude());
+    }
+
+    /**
+     * Encodes a chunk of days as the JSON array of its {@link MoonPhaseDay}s, for clients to read it back.
+     */
+    private String encode(List<MoonPhaseDay> chunk) {
+        try {
+            return jsonMapper.writeValueAsString(chunk);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to encode the days from " + chunk.getFirst().date(), e);
+        }
+    }
+}
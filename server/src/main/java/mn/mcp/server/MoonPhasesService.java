@@ -0,0 +1,721 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package mn.mcp.server;
+
+import io.micronaut.tracing.annotation.NewSpan;
+import io.micronaut.tracing.annotation.SpanTag;
+
+import java.lang.Math;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import jdk.jfr.EventType;
+
+import static mn.mcp.server.MoonPhaseConstants.ANNUAL_EQUATION;
+import static mn.mcp.server.MoonPhaseConstants.ANOMALY_CORRECTION;
+import static mn.mcp.server.MoonPhaseConstants.ECCENTRICITY_EARTH_ORBIT;
+import static mn.mcp.server.MoonPhaseConstants.EPOCH_1980_JULIAN_DAY;
+import static mn.mcp.server.MoonPhaseConstants.EQUATION_OF_CENTER;
+import static mn.mcp.server.MoonPhaseConstants.EVECTION;
+import static mn.mcp.server.MoonPhaseConstants.FIRST_PHASE_END_DEGREES;
+import static mn.mcp.server.MoonPhaseConstants.MOON_MEAN_LONGITUDE_DAILY_MOTION;
+import static mn.mcp.server.MoonPhaseConstants.MOON_MEAN_LONGITUDE_EPOCH;
+import static mn.mcp.server.MoonPhaseConstants.MOON_PERIGEE_DAILY_MOTION;
+import static mn.mcp.server.MoonPhaseConstants.MOON_PERIGEE_LONGITUDE_EPOCH;
+import static mn.mcp.server.MoonPhaseConstants.PHASE_WIDTH_DEGREES;
+import static mn.mcp.server.MoonPhaseConstants.SECOND_EQUATION_OF_CENTER;
+import static mn.mcp.server.MoonPhaseConstants.SECONDS_PER_DAY;
+import static mn.mcp.server.MoonPhaseConstants.SUN_ECLIPTIC_LONGITUDE_EPOCH;
+import static mn.mcp.server.MoonPhaseConstants.SUN_ECLIPTIC_LONGITUDE_PERIGEE;
+import static mn.mcp.server.MoonPhaseConstants.SUN_MEAN_ANOMALY_DAILY_MOTION;
+import static mn.mcp.server.MoonPhaseConstants.TO_DEGREES;
+import static mn.mcp.server.MoonPhaseConstants.TO_RADIANS;
+import static mn.mcp.server.MoonPhaseConstants.UNIX_EPOCH_JULIAN_DAY;
+import static mn.mcp.server.MoonPhaseConstants.VARIATION;
+
+@Singleton
+public class MoonPhasesService {
+
+    // Factor relating the tangents of the half true and eccentric anomalies of the Sun
+    private static final double TRUE_ANOMALY_FACTOR =
+        Math.sqrt((1.0 + ECCENTRICITY_EARTH_ORBIT) / (1.0 - ECCENTRICITY_EARTH_ORBIT));
+    // Longitude of the Moon's ascending node at epoch 1980.0, and its daily regression, in degrees
+    private static final double MOON_NODE_LONGITUDE_EPOCH = 151.950429;
+    private static final double MOON_NODE_DAILY_MOTION = 0.0529539;
+    // Inclination of the Moon's orbit on the ecliptic (5.145396 degrees)
+    private static final double SIN_MOON_ORBIT_INCLINATION = Math.sin(5.145396 * TO_RADIANS);
+    private static final double COS_MOON_ORBIT_INCLINATION = Math.cos(5.145396 * TO_RADIANS);
+    // Obliquity of the ecliptic at J2000.0 (23.4393 degrees)
+    private static final double SIN_OBLIQUITY = Math.sin(23.4393 * TO_RADIANS);
+    private static final double COS_OBLIQUITY = Math.cos(23.4393 * TO_RADIANS);
+    private static final int SECONDS_IN_A_DAY = 86400;
+    private static final MoonPhase[] PHASES = MoonPhase.values();
+    // Checked before creating an event, so that the calculations allocate nothing when no recording has it enabled
+    private static final EventType COMPUTATION_EVENT_TYPE = EventType.getEventType(MoonPhaseComputationEvent.class);
+    // Longest range of days answered in a single call, and size of the chunks it is delivered in
+    static final int MAX_RANGE_DAYS = 3660;
+    static final int RANGE_CHUNK_DAYS = 31;
+    // Most phase events listed in a single call
+    static final int MAX_PHASE_EVENTS = 100;
+    // Most dates, or instants, answered in a single batch, and number of distinct ones from which it is split across cores
+    static final int MAX_BATCH_SIZE = 50_000;
+    static final int PARALLEL_BATCH_THRESHOLD = 2_048;
+
+    private final MoonPhaseIndex moonPhaseIndex;
+    private final Ephemeris ephemeris;
+    private final KeplerSolverCounters keplerSolverCounters;
+
+    public MoonPhasesService(MoonPhaseIndex moonPhaseIndex) {
+        this(moonPhaseIndex, Ephemeris.PRECISE);
+    }
+
+    public MoonPhasesService(MoonPhaseIndex moonPhaseIndex, Ephemeris ephemeris) {
+        this(moonPhaseIndex, ephemeris, new KeplerSolverCounters());
+    }
+
+    /**
+     * @param moonPhaseIndex The index of the phase transitions, which answers first when it covers an instant.
+     * @param ephemeris The source of the phase angle, for the instants outside of the index.
+     * @param keplerSolverCounters Counts the work of the Kepler solver for the calculations of the service.
+     */
+    @Inject
+    public MoonPhasesService(MoonPhaseIndex moonPhaseIndex, Ephemeris ephemeris, KeplerSolverCounters keplerSolverCounters) {
+        this.moonPhaseIndex = moonPhaseIndex;
+        this.ephemeris = ephemeris;
+        this.keplerSolverCounters = keplerSolverCounters;
+    }
+
+    public MoonPhaseEmoji currentMoonPhase() {
+        return moonPhaseAtUnixTimestamp(System.currentTimeMillis() / 1000L);
+    }
+
+    @NewSpan("moonPhaseAtDate")
+    public MoonPhaseEmoji moonPhaseAtDate(@SpanTag("moon.date") LocalDate localDate) {
+        return moonPhaseAtUnixTimestamp(localDate.toEpochDay() * SECONDS_IN_A_DAY);
+    }
+
+    /**
+     * @param localDate The date.
+     * @param tier The ephemeris to calculate the phase with, bypassing the index, or null for the index and then the ephemeris of the service.
+     *             The Chebyshev tier is only available when the service is configured with it.
+     * @return The moon phase at the start of the date.
+     * @throws IllegalArgumentException If the Chebyshev tier is requested from a service configured with another tier.
+     */
+    @NewSpan("moonPhaseAtDate")
+    public MoonPhaseEmoji moonPhaseAtDate(@SpanTag("moon.date") LocalDate localDate, @SpanTag("moon.precision") EphemerisTier tier) {
+        long unixTimestamp = localDate.toEpochDay() * SECONDS_IN_A_DAY;
+        if (tier == null) {
+            return getMoonPhaseEmoji(PHASES[phaseOrdinalAt(unixTimestamp)]);
+        }
+        return getMoonPhaseEmoji(PHASES[phaseOrdinal(phaseDegrees(unixTimestamp, ephemeris(tier)))]);
+    }
+
+    private Ephemeris ephemeris(EphemerisTier tier) {
+        return switch (tier) {
+            case PRECISE -> Ephemeris.PRECISE;
+            case CHEBYSHEV -> {
+                if (!(ephemeris instanceof ChebyshevEphemeris)) {
+                    throw new IllegalArgumentException("The CHEBYSHEV precision is only available when the server is configured " +
+                        "with moon-phases.ephemeris.tier=chebyshev, use PRECISE or FAST instead");
+                }
+                yield ephemeris;
+            }
+            case FAST -> Ephemeris.FAST;
+        };
+    }
+
+    /**
+     * Calculates the moon phase for every day between two dates, both included.
+     * The days are computed incrementally, one after the other, and handed over
+     * in chunks of {@value #RANGE_CHUNK_DAYS} days as they are ready.
+     *
+     * @param start The first day of the range.
+     * @param end The last day of the range.
+     * @param chunkConsumer Receives the consecutive chunks of days, in chronological order.
+     * @return The phases for the whole range.
+     */
+    @NewSpan("moonPhaseRange")
+    public MoonPhaseRange moonPhaseRange(@SpanTag("moon.start") LocalDate start, @SpanTag("moon.end") LocalDate end,
+                                         Consumer<List<MoonPhaseDay>> chunkConsumer) {
+        long dayCount = ChronoUnit.DAYS.between(start, end) + 1;
+        if (dayCount < 1) {
+            throw new IllegalArgumentException("The end date " + end + " is before the start date " + start);
+        }
+        if (dayCount > MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException("A range can span at most " + MAX_RANGE_DAYS + " days, not " + dayCount);
+        }
+
+        IncrementalMoonPhaseCalculator calculator =
+            new IncrementalMoonPhaseCalculator(start.toEpochDay() * SECONDS_IN_A_DAY, SECONDS_IN_A_DAY, keplerSolverCounters);
+        List<MoonPhaseDay> days = new ArrayList<>((int) dayCount);
+        int chunkStart = 0;
+        LocalDate date = start;
+        for (int i = 0; i < dayCount; i++, date = date.plusDays(1)) {
+            MoonPhaseEmoji moonPhaseEmoji = getMoonPhaseEmoji(PHASES[phaseOrdinal(calculator.next())]);
+            days.add(new MoonPhaseDay(date, moonPhaseEmoji.phase(), moonPhaseEmoji.emoji()));
+            if (days.size() - chunkStart == RANGE_CHUNK_DAYS || i == dayCount - 1) {
+                chunkConsumer.accept(Collections.unmodifiableList(days.subList(chunkStart, days.size())));
+                chunkStart = days.size();
+            }
+        }
+        return new MoonPhaseRange(start, end, Collections.unmodifiableList(days));
+    }
+
+    /**
+     * Calculates the lunar calendar of a month: the phase of every day, and the instants at which the phase changes.
+     *
+     * @param month The month.
+     * @return The calendar of the month.
+     */
+    @NewSpan("moonPhaseCalendar")
+    public MoonPhaseCalendar moonPhaseCalendar(@SpanTag("moon.month") YearMonth month) {
+        LocalDate first = month.atDay(1);
+        List<MoonPhaseDay> days = moonPhaseRange(first, month.atEndOfMonth(), chunk -> { }).days();
+
+        long end = month.plusMonths(1).atDay(1).toEpochDay() * SECONDS_IN_A_DAY;
+        List<MoonPhaseEvent> transitions = new ArrayList<>();
+        // From a second before midnight, so that a phase beginning exactly at midnight is listed
+        for (long change = nextPhaseChangeAt(first.toEpochDay() * SECONDS_IN_A_DAY - 1); change < end; change = nextPhaseChangeAt(change)) {
+            MoonPhaseEmoji moonPhaseEmoji = getMoonPhaseEmoji(PHASES[phaseOrdinalAt(change)]);
+            transitions.add(new MoonPhaseEvent(moonPhaseEmoji.phase(), moonPhaseEmoji.emoji(), Instant.ofEpochSecond(change)));
+        }
+        return new MoonPhaseCalendar(month.toString(), days, Collections.unmodifiableList(transitions));
+    }
+
+    /**
+     * Lists the next instants at which the moon reaches a principal phase.
+     *
+     * @param after The instant to search from (excluded).
+     * @param phase The principal phase to look for: {@link MoonPhase#NEW_MOON}, {@link MoonPhase#FIRST_QUARTER},
+     *              {@link MoonPhase#FULL_MOON} or {@link MoonPhase#LAST_QUARTER}; or null for any of them.
+     * @param count The number of events to list.
+     * @return The events, in chronological order, to the second.
+     */
+    @NewSpan("nextPhaseEvents")
+    public List<MoonPhaseEvent> nextPhaseEvents(@SpanTag("moon.after") Instant after, @SpanTag("moon.phase") MoonPhase phase,
+                                                @SpanTag("moon.count") int count) {
+        if (phase != null && phase.ordinal() % 2 != 0) {
+            throw new IllegalArgumentException(phase.name() + " is not a principal phase, " +
+                "only NEW_MOON, FIRST_QUARTER, FULL_MOON and LAST_QUARTER are reached at a given instant");
+        }
+        if (count < 1 || count > MAX_PHASE_EVENTS) {
+            throw new IllegalArgumentException("The number of events must be between 1 and " + MAX_PHASE_EVENTS);
+        }
+
+        long instant = after.getEpochSecond();
+        // Principal phases are 90 degrees apart, at even ordinals
+        double targetDegrees = phase != null
+            ? phase.ordinal() * PHASE_WIDTH_DEGREES
+            : (Math.floor(normalizedPhaseDegrees(instant, keplerSolverCounters) / 90.0) + 1) * 90.0 % 360.0;
+        List<MoonPhaseEvent> events = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            instant = MoonPhaseEventFinder.nextCrossing(instant, targetDegrees, keplerSolverCounters);
+            MoonPhaseEmoji moonPhaseEmoji = getMoonPhaseEmoji(PHASES[(int) (targetDegrees / PHASE_WIDTH_DEGREES)]);
+            events.add(new MoonPhaseEvent(moonPhaseEmoji.phase(), moonPhaseEmoji.emoji(), Instant.ofEpochSecond(instant)));
+            if (phase == null) {
+                targetDegrees = (targetDegrees + 90.0) % 360.0;
+            }
+        }
+        return events;
+    }
+
+    /**
+     * Calculates the moon phase on each of a list of dates, such as the days of the rows of an event log.
+     *
+     * @param dates The dates, in any order and possibly repeated.
+     * @return The phase on each date, in the same order.
+     * @see #moonPhasesAtUnixTimestamps(long[])
+     */
+    @NewSpan("moonPhasesAtDates")
+    public List<MoonPhaseEmoji> moonPhasesAtDates(List<LocalDate> dates) {
+        long[] unixTimestamps = new long[dates.size()];
+        for (int i = 0; i < unixTimestamps.length; i++) {
+            unixTimestamps[i] = dates.get(i).toEpochDay() * SECONDS_IN_A_DAY;
+        }
+        return moonPhasesAtUnixTimestamps(unixTimestamps);
+    }
+
+    /**
+     * Calculates the moon phase at each of a list of instants, to the second.
+     *
+     * @param instants The instants, in any order and possibly repeated.
+     * @return The phase at each instant, in the same order.
+     * @see #moonPhasesAtUnixTimestamps(long[])
+     */
+    @NewSpan("moonPhasesAtInstants")
+    public List<MoonPhaseEmoji> moonPhasesAtInstants(List<Instant> instants) {
+        long[] unixTimestamps = new long[instants.size()];
+        for (int i = 0; i < unixTimestamps.length; i++) {
+            unixTimestamps[i] = instants.get(i).getEpochSecond();
+        }
+        return moonPhasesAtUnixTimestamps(unixTimestamps);
+    }
+
+    /**
+     * Calculates the moon phase at each of a list of times, like {@link #moonPhaseAtUnixTimestamp(long)}.
+     * The times are deduplicated first, so that each distinct one is only calculated once, and from
+     * {@value #PARALLEL_BATCH_THRESHOLD} distinct times on, they are split across the cores of the common fork-join pool.
+     *
+     * @param unixTimestamps The times as Unix timestamps, in any order and possibly repeated.
+     * @return The phase at each time, in the same order.
+     */
+    List<MoonPhaseEmoji> moonPhasesAtUnixTimestamps(long[] unixTimestamps) {
+        if (unixTimestamps.length > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("A batch can hold at most " + MAX_BATCH_SIZE + " times, not " + unixTimestamps.length);
+        }
+
+        long[] distinct = unixTimestamps.clone();
+        Arrays.sort(distinct);
+        int distinctCount = 0;
+        for (int i = 0; i < distinct.length; i++) {
+            if (i == 0 || distinct[i] != distinct[i - 1]) {
+                distinct[distinctCount++] = distinct[i];
+            }
+        }
+
+        byte[] phaseOrdinals = new byte[distinctCount];
+        IntStream indices = IntStream.range(0, distinctCount);
+        (distinctCount >= PARALLEL_BATCH_THRESHOLD ? indices.parallel() : indices)
+            .forEach(i -> phaseOrdinals[i] = (byte) phaseOrdinalAt(distinct[i]));
+
+        MoonPhaseEmoji[] phases = new MoonPhaseEmoji[unixTimestamps.length];
+        for (int i = 0; i < phases.length; i++) {
+            int position = Arrays.binarySearch(distinct, 0, distinctCount, unixTimestamps[i]);
+            phases[i] = getMoonPhaseEmoji(PHASES[phaseOrdinals[position]]);
+        }
+        return List.of(phases);
+    }
+
+    MoonPhaseEmoji moonPhaseAtUnixTimestamp(long timeSeconds) {
+        return getMoonPhaseEmoji(PHASES[phaseOrdinalAt(timeSeconds)]);
+    }
+
+    /**
+     * Primitive counterpart of {@link #moonPhaseAtDate(LocalDate)}, which creates no object.
+     *
+     * @param unixTimestamp The time as a Unix timestamp (seconds since 1970-01-01T00:00:00Z).
+     * @return The ordinal of the {@link MoonPhase} at that time.
+     */
+    public int phaseOrdinalAt(long unixTimestamp) {
+        return phaseOrdinalAt(unixTimestamp, ephemeris);
+    }
+
+    /**
+     * Counterpart of {@link #phaseOrdinalAt(long)} at the instant of a state already calculated,
+     * which is used outside of the index instead of the ephemeris.
+     *
+     * @param state The state of the Sun and the Moon.
+     * @return The ordinal of the {@link MoonPhase} at the instant of the state.
+     */
+    int phaseOrdinalAt(LunarState state) {
+        return phaseOrdinalAt(state.unixTimestamp(), unixTimestamp -> state.phaseDegrees());
+    }
+
+    private int phaseOrdinalAt(long unixTimestamp, Ephemeris ephemeris) {
+        // Within the indexed span, the phase is a binary search away
+        int indexedPhase = moonPhaseIndex.phaseOrdinalAt(unixTimestamp);
+        if (indexedPhase >= 0) {
+            return indexedPhase;
+        }
+
+        // Approximate interpretation of the phase
+        return phaseOrdinal(phaseDegrees(unixTimestamp, ephemeris));
+    }
+
+    // The reference algorithm counts its Kepler solves for this service
+    private double phaseDegrees(long unixTimestamp, Ephemeris ephemeris) {
+        return ephemeris == Ephemeris.PRECISE
+            ? normalizedPhaseDegrees(unixTimestamp, keplerSolverCounters)
+            : ephemeris.phaseDegrees(unixTimestamp);
+    }
+
+    /**
+     * Finds when the phase at a given instant ends.
+     *
+     * @param unixTimestamp The time as a Unix timestamp (seconds since 1970-01-01T00:00:00Z).
+     * @return The Unix timestamp of the first second of the next phase.
+     */
+    public long nextPhaseChangeAt(long unixTimestamp) {
+        long indexed = moonPhaseIndex.nextTransitionAfter(unixTimestamp);
+        if (indexed >= 0) {
+            return indexed;
+        }
+        // A phase ends when the phase angle reaches the middle between it and the next principal phase
+        double phaseEndDegrees = (phaseOrdinalAt(unixTimestamp) * PHASE_WIDTH_DEGREES + FIRST_PHASE_END_DEGREES) % 360.0;
+        return MoonPhaseEventFinder.nextCrossing(unixTimestamp, phaseEndDegrees, keplerSolverCounters);
+    }
+
+    /**
+     * Primitive API giving the phase angle itself, which creates no object.
+     *
+     * @param unixTimestamp The time as a Unix timestamp (seconds since 1970-01-01T00:00:00Z).
+     * @return The moon's phase angle in degrees, in the range [0, 360): 0 for a new moon, 180 for a full moon.
+     */
+    public double phaseAngleDegreesAt(long unixTimestamp) {
+        return phaseDegrees(unixTimestamp, ephemeris);
+    }
+
+    /**
+     * Batch counterpart of {@link #phaseOrdinalAt(long)}, for bulk workloads such as calendar exports.
+     * The phases are calculated with the Vector API when the {@code jdk.incubator.vector} module is present,
+     * and with an equivalent scalar loop otherwise. Both skip the index, so within a few seconds of a phase
+     * change the result may differ from {@link #phaseOrdinalAt(long)}.
+     *
+     * @param unixTimestamps The times as Unix timestamps (seconds since 1970-01-01T00:00:00Z).
+     * @param phaseOrdinals Receives the ordinal of the {@link MoonPhase} at each time, at the same position.
+     * @param phaseAnglesDegrees Receives the phase angle in degrees, in the range [0, 360), at each time; may be null.
+     */
+    public void moonPhasesAt(long[] unixTimestamps, byte[] phaseOrdinals, double[] phaseAnglesDegrees) {
+        if (phaseOrdinals.length < unixTimestamps.length
+            || (phaseAnglesDegrees != null && phaseAnglesDegrees.length < unixTimestamps.length)) {
+            throw new IllegalArgumentException("The output arrays must be at least as long as the timestamps ("
+                + unixTimestamps.length + ")");
+        }
+        MoonPhaseBatch.evaluate(unixTimestamps, phaseOrdinals, phaseAnglesDegrees);
+    }
+
+    /**
+     * Calculates the moon's phase angle, normalized to the range [0, 360) degrees.
+     *
+     * @param unixTimestamp The time as a Unix timestamp (seconds since 1970-01-01T00:00:00Z).
+     * @return The moon's phase angle in degrees.
+     */
+    static double normalizedPhaseDegrees(long unixTimestamp) {
+        return normalizedPhaseDegrees(unixTimestamp, null);
+    }
+
+    /**
+     * @param keplerSolverCounters Counts the work of the Kepler solver, or null.
+     */
+    static double normalizedPhaseDegrees(long unixTimestamp, KeplerSolverCounters keplerSolverCounters) {
+        return fixAngle(calculateMoonPhaseRadians(unixTimestamp, keplerSolverCounters) * TO_DEGREES);
+    }
+
+    /**
+     * Maps a phase angle to the ordinal of the corresponding {@link MoonPhase}.
+     *
+     * @param normalizedMoonPhaseDegrees The phase angle in degrees, in the range [0, 360).
+     * @return The {@link MoonPhase} ordinal.
+     */
+    static int phaseOrdinal(double normalizedMoonPhaseDegrees) {
+        if (normalizedMoonPhaseDegrees < FIRST_PHASE_END_DEGREES) { // Includes cases where normalized is close to 360
+            return 0;
+        } else if (normalizedMoonPhaseDegrees < FIRST_PHASE_END_DEGREES + PHASE_WIDTH_DEGREES) {
+            return 1;
+        } else if (normalizedMoonPhaseDegrees < FIRST_PHASE_END_DEGREES + 2 * PHASE_WIDTH_DEGREES) {
+            return 2;
+        } else if (normalizedMoonPhaseDegrees < FIRST_PHASE_END_DEGREES + 3 * PHASE_WIDTH_DEGREES) {
+            return 3;
+        } else if (normalizedMoonPhaseDegrees < FIRST_PHASE_END_DEGREES + 4 * PHASE_WIDTH_DEGREES) {
+            return 4;
+        } else if (normalizedMoonPhaseDegrees < FIRST_PHASE_END_DEGREES + 5 * PHASE_WIDTH_DEGREES) {
+            return 5;
+        } else if (normalizedMoonPhaseDegrees < FIRST_PHASE_END_DEGREES + 6 * PHASE_WIDTH_DEGREES) {
+            return 6;
+        } else if (normalizedMoonPhaseDegrees < FIRST_PHASE_END_DEGREES + 7 * PHASE_WIDTH_DEGREES) {
+            return 7;
+        } else { // Between 337.5 and 360
+            return 0;
+        }
+    }
+
+    /**
+     * Normalizes an angle to the range [0, 360) degrees.
+     *
+     * @param angleDegrees The angle in degrees.
+     * @return The normalized angle in degrees.
+     */
+    static double fixAngle(double angleDegrees) {
+        return ((angleDegrees % 360.0) + 360.0) % 360.0;
+    }
+
+    /**
+     * Calculates the moon's phase angle in radians.
+     * The phase angle is the elongation of the Moon from the Sun in the ecliptic.
+     * 0 radians: New Moon
+     * PI/2 radians (90 degrees): First Quarter
+     * PI radians (180 degrees): Full Moon
+     * 3*PI/2 radians (270 degrees): Last Quarter
+     * <p>
+     * Algorithm translated from: <a href="https://github.com/oliverkwebb/moonphase">oliverkwebb/moonphase</a>
+     *
+     * @param unixTimestamp The current time as a Unix timestamp (seconds since 1970-01-01T00:00:00Z).
+     * @return The moon's phase angle in radians. Can be outside the [0, 2*PI) range if not subsequently normalized.
+     */
+    static double calculateMoonPhaseRadians(long unixTimestamp) {
+        return calculateMoonPhaseRadians(unixTimestamp, null);
+    }
+
+    /**
+     * @param keplerSolverCounters Counts the work of the Kepler solver, or null.
+     */
+    static double calculateMoonPhaseRadians(long unixTimestamp, KeplerSolverCounters keplerSolverCounters) {
+        // Not even timed when no recording has the event enabled
+        if (!COMPUTATION_EVENT_TYPE.isEnabled()) {
+            return calculateMoonPhaseRadiansAtDays(daysSinceEpoch1980(unixTimestamp), null, keplerSolverCounters);
+        }
+        MoonPhaseComputationEvent event = new MoonPhaseComputationEvent();
+        event.begin();
+        double phaseRadians = calculateMoonPhaseRadiansAtDays(daysSinceEpoch1980(unixTimestamp), event, keplerSolverCounters);
+        event.end();
+        if (event.shouldCommit()) {
+            event.instant = unixTimestamp * 1000L;
+            event.commit();
+        }
+        return phaseRadians;
+    }
+
+    /**
+     * Continuous counterpart of {@link #calculateMoonPhaseRadians(long)}, at any fraction of a second.
+     *
+     * @param daysSinceEpoch1980 The number of days since epoch 1980.0.
+     * @return The moon's phase angle in radians. Can be outside the [0, 2*PI) range if not subsequently normalized.
+     */
+    static double calculateMoonPhaseRadiansAtDays(double daysSinceEpoch1980) {
+        return calculateMoonPhaseRadiansAtDays(daysSinceEpoch1980, null, null);
+    }
+
+    private static double calculateMoonPhaseRadiansAtDays(double daysSinceEpoch1980, MoonPhaseComputationEvent event,
+                                                          KeplerSolverCounters keplerSolverCounters) {
+        // Sun's position calculations
+        // Sun's mean anomaly (M)
+        double sunMeanAnomalyRad = TO_RADIANS * sunMeanAnomalyDegrees(daysSinceEpoch1980);
+
+        // Solve Kepler's equation for eccentric anomaly (e)
+        double eccentricAnomalyRad = solveKepler(sunMeanAnomalyRad, sunMeanAnomalyRad, event, keplerSolverCounters);
+
+        // Moon's position calculations
+        // Moon's mean longitude (ml)
+        double moonMeanLongitudeDeg = moonMeanLongitudeDegrees(daysSinceEpoch1980);
+        // Moon's mean anomaly (MM)
+        double moonMeanAnomalyDeg = moonMeanAnomalyDegrees(daysSinceEpoch1980, moonMeanLongitudeDeg);
+
+        return moonPhaseRadians(sunMeanAnomalyRad, eccentricAnomalyRad, moonMeanLongitudeDeg, moonMeanAnomalyDeg);
+    }
+
+    /**
+     * Converts a Unix timestamp to days since epoch 1980.0.
+     *
+     * @param unixTimestamp The time as a Unix timestamp (seconds since 1970-01-01T00:00:00Z).
+     * @return The number of days (with fraction) since 1980-01-01T00:00:00Z.
+     */
+    static double daysSinceEpoch1980(long unixTimestamp) {
+        // Convert Unix timestamp to Julian Day, then to days since epoch 1980.0
+        return (unixTimestamp / SECONDS_PER_DAY + UNIX_EPOCH_JULIAN_DAY) - EPOCH_1980_JULIAN_DAY;
+    }
+
+    /**
+     * @param daysSinceEpoch1980 The number of days since epoch 1980.0.
+     * @return The Sun's mean anomaly, in degrees in the range [0, 360).
+     */
+    static double sunMeanAnomalyDegrees(double daysSinceEpoch1980) {
+        return fixAngle((SUN_MEAN_ANOMALY_DAILY_MOTION * daysSinceEpoch1980) + SUN_ECLIPTIC_LONGITUDE_EPOCH - SUN_ECLIPTIC_LONGITUDE_PERIGEE);
+    }
+
+    /**
+     * @param daysSinceEpoch1980 The number of days since epoch 1980.0.
+     * @return The Moon's mean longitude, in degrees in the range [0, 360).
+     */
+    static double moonMeanLongitudeDegrees(double daysSinceEpoch1980) {
+        return fixAngle(MOON_MEAN_LONGITUDE_DAILY_MOTION * daysSinceEpoch1980 + MOON_MEAN_LONGITUDE_EPOCH);
+    }
+
+    /**
+     * @param daysSinceEpoch1980 The number of days since epoch 1980.0.
+     * @param moonMeanLongitudeDeg The Moon's mean longitude at that time, in degrees.
+     * @return The Moon's mean anomaly, in degrees in the range [0, 360).
+     */
+    static double moonMeanAnomalyDegrees(double daysSinceEpoch1980, double moonMeanLongitudeDeg) {
+        return fixAngle(moonMeanLongitudeDeg - MOON_PERIGEE_DAILY_MOTION * daysSinceEpoch1980 - MOON_PERIGEE_LONGITUDE_EPOCH);
+    }
+
+    /**
+     * Solves Kepler's equation for the eccentric anomaly of the Sun, with Newton's method.
+     *
+     * @param sunMeanAnomalyRad The Sun's mean anomaly, in radians.
+     * @param initialGuessRad The starting point of the iteration, e.g. the mean anomaly itself.
+     * @param keplerSolverCounters Counts the solve and its iterations, or null.
+     * @return The eccentric anomaly, in radians.
+     */
+    static double solveKepler(double sunMeanAnomalyRad, double initialGuessRad, KeplerSolverCounters keplerSolverCounters) {
+        return solveKepler(sunMeanAnomalyRad, initialGuessRad, null, keplerSolverCounters);
+    }
+
+    // Also hands the number of iterations over to the event and the counters, when there are some
+    private static double solveKepler(double sunMeanAnomalyRad, double initialGuessRad, MoonPhaseComputationEvent event,
+                                      KeplerSolverCounters keplerSolverCounters) {
+        // E - ecc*sin(E) = M  => delta = E - ecc*sin(E) - M  E_new = E - delta / (1 - ecc*cos(E))
+        double eccentricAnomalyRad = initialGuessRad;
+        double deltaRad;
+        int iterations = 0;
+        do {
+            deltaRad = eccentricAnomalyRad - ECCENTRICITY_EARTH_ORBIT * Math.sin(eccentricAnomalyRad) - sunMeanAnomalyRad;
+            eccentricAnomalyRad = eccentricAnomalyRad - deltaRad / (1.0 - ECCENTRICITY_EARTH_ORBIT * Math.cos(eccentricAnomalyRad));
+            iterations++;
+        } while (Math.abs(deltaRad) > 1E-6);
+        if (keplerSolverCounters != null) {
+            keplerSolverCounters.record(iterations);
+        }
+        if (event != null) {
+            event.keplerIterations = iterations;
+        }
+        return eccentricAnomalyRad;
+    }
+
+    /**
+     * Calculates the moon's phase angle from the mean elements of the Sun and the Moon.
+     *
+     * @param sunMeanAnomalyRad The Sun's mean anomaly, in radians.
+     * @param eccentricAnomalyRad The Sun's eccentric anomaly, in radians.
+     * @param moonMeanLongitudeDeg The Moon's mean longitude, in degrees.
+     * @param moonMeanAnomalyDeg The Moon's mean anomaly, in degrees.
+     * @return The moon's phase angle in radians. Can be outside the [0, 2*PI) range if not subsequently normalized.
+     */
+    static double moonPhaseRadians(double sunMeanAnomalyRad, double eccentricAnomalyRad,
+                                   double moonMeanLongitudeDeg, double moonMeanAnomalyDeg) {
+        double sunLongitudeDeg = sunLongitudeDegrees(eccentricAnomalyRad);
+
+        // Age of the Moon in degrees (phase angle)
+        // This is (Moon's True Longitude - Sun's True Longitude)
+        double moonAgeDegrees = moonTrueLongitudeDegrees(sunMeanAnomalyRad, sunLongitudeDeg, moonMeanLongitudeDeg, moonMeanAnomalyDeg) - sunLongitudeDeg;
+
+        return moonAgeDegrees * TO_RADIANS; // Return phase angle in radians
+    }
+
+    /**
+     * @param eccentricAnomalyRad The Sun's eccentric anomaly, in radians.
+     * @return The Sun's geocentric ecliptic longitude, in degrees in the range [0, 360).
+     */
+    static double sunLongitudeDegrees(double eccentricAnomalyRad) {
+        // Sun's true anomaly
+        double sunTrueAnomalyRad = 2.0 * Math.atan(TRUE_ANOMALY_FACTOR * Math.tan(eccentricAnomalyRad / 2.0));
+
+        // Sun's geocentric ecliptic longitude (Lambdasun)
+        return fixAngle((sunTrueAnomalyRad * TO_DEGREES) + SUN_ECLIPTIC_LONGITUDE_PERIGEE);
+    }
+
+    /**
+     * @param sunMeanAnomalyRad The Sun's mean anomaly, in radians.
+     * @param sunLongitudeDeg The Sun's geocentric ecliptic longitude, in degrees.
+     * @param moonMeanLongitudeDeg The Moon's mean longitude, in degrees.
+     * @param moonMeanAnomalyDeg The Moon's mean anomaly, in degrees.
+     * @return The Moon's true longitude in its orbit, in degrees. Can be outside the [0, 360) range.
+     */
+    static double moonTrueLongitudeDegrees(double sunMeanAnomalyRad, double sunLongitudeDeg,
+                                           double moonMeanLongitudeDeg, double moonMeanAnomalyDeg) {
+        // Evection
+        double evectionDeg = EVECTION * Math.sin(TO_RADIANS * (2.0 * (moonMeanLongitudeDeg - sunLongitudeDeg) - moonMeanAnomalyDeg));
+        // Annual equation - perturbation due to Sun's varying apparent speed
+        double annualEquationDeg = ANNUAL_EQUATION * Math.sin(sunMeanAnomalyRad);
+        // Corrected moon's anomaly
+        double correctedMoonAnomalyRad = TO_RADIANS * (moonMeanAnomalyDeg + evectionDeg - annualEquationDeg - (ANOMALY_CORRECTION * Math.sin(sunMeanAnomalyRad)));
+
+        // Corrected moon's longitude including equation of center for Moon
+        double correctedMoonLongitudeDeg = moonMeanLongitudeDeg + evectionDeg + (EQUATION_OF_CENTER * Math.sin(correctedMoonAnomalyRad)) - annualEquationDeg + (SECOND_EQUATION_OF_CENTER * Math.sin(2.0 * correctedMoonAnomalyRad));
+        // Further correction to moon's true longitude
+        return correctedMoonLongitudeDeg + (VARIATION * Math.sin(TO_RADIANS * (2.0 * (correctedMoonLongitudeDeg - sunLongitudeDeg))));
+    }
+
+    /**
+     * Calculates the state of the Sun and the Moon that the phase angle is derived from, for the tools that need more
+     * than the phase, such as the illumination or the rise and set times. {@link LunarStateCache} shares it between them.
+     *
+     * @param unixTimestamp The time as a Unix timestamp (seconds since 1970-01-01T00:00:00Z).
+     * @return The state, whose phase angle is the one of {@link #normalizedPhaseDegrees(long)}.
+     */
+    static LunarState lunarStateAt(long unixTimestamp) {
+        return lunarStateAt(unixTimestamp, (KeplerSolverCounters) null);
+    }
+
+    /**
+     * @param keplerSolverCounters Counts the work of the Kepler solver, or null.
+     */
+    static LunarState lunarStateAt(long unixTimestamp, KeplerSolverCounters keplerSolverCounters) {
+        if (!COMPUTATION_EVENT_TYPE.isEnabled()) {
+            return lunarStateAt(unixTimestamp, null, keplerSolverCounters);
+        }
+        MoonPhaseComputationEvent event = new MoonPhaseComputationEvent();
+        event.begin();
+        LunarState state = lunarStateAt(unixTimestamp, event, keplerSolverCounters);
+        event.end();
+        if (event.shouldCommit()) {
+            event.instant = unixTimestamp * 1000L;
+            event.commit();
+        }
+        return state;
+    }
+
+    private static LunarState lunarStateAt(long unixTimestamp, MoonPhaseComputationEvent event,
+                                           KeplerSolverCounters keplerSolverCounters) {
+        double daysSinceEpoch1980 = daysSinceEpoch1980(unixTimestamp);
+        double sunMeanAnomalyRad = TO_RADIANS * sunMeanAnomalyDegrees(daysSinceEpoch1980);
+        double eccentricAnomalyRad = solveKepler(sunMeanAnomalyRad, sunMeanAnomalyRad, event, keplerSolverCounters);
+        double sunLongitudeDeg = sunLongitudeDegrees(eccentricAnomalyRad);
+        double moonMeanLongitudeDeg = moonMeanLongitudeDegrees(daysSinceEpoch1980);
+        double moonTrueLongitudeDeg = moonTrueLongitudeDegrees(sunMeanAnomalyRad, sunLongitudeDeg,
+            moonMeanLongitudeDeg, moonMeanAnomalyDegrees(daysSinceEpoch1980, moonMeanLongitudeDeg));
+
+        // Longitude of the Moon's ascending node, corrected for the Sun's mean anomaly
+        double nodeLongitudeDeg = fixAngle(MOON_NODE_LONGITUDE_EPOCH - MOON_NODE_DAILY_MOTION * daysSinceEpoch1980)
+            - 0.16 * Math.sin(sunMeanAnomalyRad);
+        // Projection of the Moon's orbit, inclined from the node, onto the ecliptic
+        double argumentOfLatitudeRad = TO_RADIANS * (moonTrueLongitudeDeg - nodeLongitudeDeg);
+        double moonLongitudeRad = Math.atan2(Math.sin(argumentOfLatitudeRad) * COS_MOON_ORBIT_INCLINATION,
+            Math.cos(argumentOfLatitudeRad)) + TO_RADIANS * nodeLongitudeDeg;
+        double moonLatitudeRad = Math.asin(Math.sin(argumentOfLatitudeRad) * SIN_MOON_ORBIT_INCLINATION);
+
+        // Same operations as normalizedPhaseDegrees, for the very same phase angle
+        double phaseDegrees = fixAngle((moonTrueLongitudeDeg - sunLongitudeDeg) * TO_RADIANS * TO_DEGREES);
+        double sunLongitudeRad = TO_RADIANS * sunLongitudeDeg;
+        return new LunarState(unixTimestamp, phaseDegrees,
+            rightAscensionDegrees(sunLongitudeRad, 0.0), declinationDegrees(sunLongitudeRad, 0.0),
+            rightAscensionDegrees(moonLongitudeRad, moonLatitudeRad), declinationDegrees(moonLongitudeRad, moonLatitudeRad));
+    }
+
+    /**
+     * @param eclipticLongitudeRad The ecliptic longitude, in radians.
+     * @param eclipticLatitudeRad The ecliptic latitude, in radians.
+     * @return The right ascension, in degrees in the range [0, 360).
+     */
+    private static double rightAscensionDegrees(double eclipticLongitudeRad, double eclipticLatitudeRad) {
+        return fixAngle(TO_DEGREES * Math.atan2(Math.sin(eclipticLongitudeRad) * COS_OBLIQUITY
+            - Math.tan(eclipticLatitudeRad) * SIN_OBLIQUITY, Math.cos(eclipticLongitudeRad)));
+    }
+
+    /**
+     * @param eclipticLongitudeRad The ecliptic longitude, in radians.
+     * @param eclipticLatitudeRad The ecliptic latitude, in radians.
+     * @return The declination, in degrees.
+     */
+    private static double declinationDegrees(double eclipticLongitudeRad, double eclipticLatitudeRad) {
+        return TO_DEGREES * Math.asin(Math.sin(eclipticLatitudeRad) * COS_OBLIQUITY
+            + Math.cos(eclipticLatitudeRad) * SIN_OBLIQUITY * Math.sin(eclipticLongitudeRad));
+    }
+
+    static MoonPhaseEmoji getMoonPhaseEmoji(MoonPhase moonPhase) {
+        return MoonPhaseEmoji.of(moonPhase);
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package mn.mcp.server;
+
+import io.micronaut.tracing.annotation.NewSpan;
+import io.micronaut.tracing.annotation.SpanTag;
+import jakarta.inject.Singleton;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Derives the illumination, the age and the rise and set times of the Moon, and of the Sun, from the
+ * {@link LunarState} of {@link LunarStateCache}: an agent asking for several of them around the same day
+ * pays for the calculation of each state once.
+ * <p>
+ * The rise and set times are found from the altitudes on the hours of UTC, fitted by a parabola through each three
+ * consecutive ones. As these hours are the same for every location, nearby dates and other tools, most states come
+ * from the cache. The sines of the altitudes stand for the altitudes themselves, which cross the horizon at the same
+ * instants, and spare an arcsine that would cost more than all the rest. The times are within a few minutes of the
+ * almanacs, the positions being geocentric but for the mean parallax of the Moon.
+ */
+@Singleton
+public class MoonSkyService {
+
+    private static final long SECONDS_IN_A_DAY = 86400;
+    private static final long SECONDS_IN_AN_HOUR = 3600;
+    // Seconds of local mean time per degree of longitude
+    private static final double SECONDS_PER_DEGREE_OF_LONGITUDE = 240.0;
+    // Days from the Unix epoch to J2000.0 (2000-01-01T12:00:00Z)
+    private static final double J2000_EPOCH_DAY = 10957.5;
+    // Altitudes of the center of the bodies as their upper limb touches the horizon, refraction included:
+    // the semi-diameter of the Sun, and the mean horizontal parallax of the Moon less its semi-diameter
+    private static final double SIN_SUN_HORIZON_ALTITUDE = Math.sin(Math.toRadians(-0.8333));
+    private static final double SIN_MOON_HORIZON_ALTITUDE = Math.sin(Math.toRadians(0.125));
+
+    private final LunarStateCache lunarStateCache;
+    private final MoonPhasesService moonPhasesService;
+
+    public MoonSkyService(LunarStateCache lunarStateCache, MoonPhasesService moonPhasesService) {
+        this.lunarStateCache = lunarStateCache;
+        this.moonPhasesService = moonPhasesService;
+    }
+
+    /**
+     * @param instant The instant, to the minute.
+     * @return The illuminated fraction of the Moon's disk and its phase at that instant.
+     */
+    @NewSpan("moonIllumination")
+    public MoonIllumination moonIllumination(@SpanTag("moon.instant") Instant instant) {
+        LunarState state = lunarStateCache.stateAt(instant.getEpochSecond());
+        MoonPhaseEmoji moonPhaseEmoji = MoonPhaseEmoji.of(MoonPhase.values()[moonPhasesService.phaseOrdinalAt(state)]);
+        return new MoonIllumination(Instant.ofEpochSecond(state.unixTimestamp()), state.illuminatedFraction(),
+            state.phaseDegrees(), moonPhaseEmoji.phase(), moonPhaseEmoji.emoji());
+    }
+
+    /**
+     * @param instant The instant, to the minute.
+     * @return The age of the Moon at that instant.
+     */
+    @NewSpan("moonAge")
+    public MoonAge moonAge(@SpanTag("moon.instant") Instant instant) {
+        LunarState state = lunarStateCache.stateAt(instant.getEpochSecond());
+        return new MoonAge(Instant.ofEpochSecond(state.unixTimestamp()), state.ageDays(), state.illuminatedFraction());
+    }
+
+    /**
+     * Finds when the Sun and the Moon rise and set on a day, from local midnight to local midnight,
+     * in the local mean time of the longitude (UTC offset by 4 minutes per degree).
+     *
+     * @param date The day.
+     * @param latitude The latitude of the location, in degrees, positive to the north.
+     * @param longitude The longitude of the location, in degrees, positive to the east.
+     * @return The rise and set times; those that do not happen on that day, such as during polar days and nights, are null.
+     */
+    @NewSpan("riseSetTimes")
+    public RiseSetTimes riseSetTimes(@SpanTag("moon.date") LocalDate date, @SpanTag("sky.latitude") double latitude,
+                                     @SpanTag("sky.longitude") double longitude) {
+        if (!(latitude >= -90.0 && latitude <= 90.0) || !(longitude >= -180.0 && longitude <= 180.0)) {
+            throw new IllegalArgumentException("The location " + latitude + ", " + longitude + " is not on Earth");
+        }
+        long start = date.toEpochDay() * SECONDS_IN_A_DAY - Math.round(longitude * SECONDS_PER_DEGREE_OF_LONGITUDE);
+        long end = start + SECONDS_IN_A_DAY;
+
+        // The hours of UTC around the day, an even number of them so that they split into parabolas of three altitudes
+        long firstHour = Math.floorDiv(start, SECONDS_IN_AN_HOUR) * SECONDS_IN_AN_HOUR;
+        int hours = (int) ((Math.ceilDiv(end, SECONDS_IN_AN_HOUR) * SECONDS_IN_AN_HOUR - firstHour) / SECONDS_IN_AN_HOUR);
+        hours += hours % 2;
+        double sinLatitude = Math.sin(Math.toRadians(latitude));
+        double cosLatitude = Math.cos(Math.toRadians(latitude));
+        double[] sunAltitudes = new double[hours + 1];
+        double[] moonAltitudes = new double[hours + 1];
+        for (int i = 0; i <= hours; i++) {
+            long hour = firstHour + i * SECONDS_IN_AN_HOUR;
+            LunarState state = lunarStateCache.stateAt(hour);
+            double localSiderealTimeDeg = greenwichSiderealTimeDegrees(hour) + longitude;
+            sunAltitudes[i] = sinAltitude(state.sunRightAscensionDeg(), state.sunDeclinationDeg(),
+                localSiderealTimeDeg, sinLatitude, cosLatitude) - SIN_SUN_HORIZON_ALTITUDE;
+            moonAltitudes[i] = sinAltitude(state.moonRightAscensionDeg(), state.moonDeclinationDeg(),
+                localSiderealTimeDeg, sinLatitude, cosLatitude) - SIN_MOON_HORIZON_ALTITUDE;
+        }
+
+        Instant[] sun = horizonCrossings(sunAltitudes, firstHour, start, end);
+        Instant[] moon = horizonCrossings(moonAltitudes, firstHour, start, end);
+        return new RiseSetTimes(date, latitude, longitude, sun[0], sun[1], moon[0], moon[1]);
+    }
+
+    /**
+     * Finds the first crossings of the horizon upwards and downwards within a span of time.
+     *
+     * @param altitudes The heights above the horizon on consecutive hours, positive above it, an odd number of them.
+     * @param firstHour The Unix timestamp of the first altitude.
+     * @param start The start of the span, included.
+     * @param end The end of the span, excluded.
+     * @return The first rise and the first set within the span, each null if there is none.
+     */
+    static Instant[] horizonCrossings(double[] altitudes, long firstHour, long start, long end) {
+        Instant[] crossings = new Instant[2];
+        for (int i = 1; i < altitudes.length - 1; i += 2) {
+            // y = a x^2 + b x + c, through the altitudes at x = -1, 0 and 1 hour from the middle one
+            double a = (altitudes[i + 1] + altitudes[i - 1]) / 2.0 - altitudes[i];
+            double b = (altitudes[i + 1] - altitudes[i - 1]) / 2.0;
+            double c = altitudes[i];
+            double first;
+            double second;
+            if (Math.abs(a) < 1E-12) {
+                first = b == 0.0 ? Double.NaN : -c / b;
+                second = Double.NaN;
+            } else {
+                double discriminant = b * b - 4.0 * a * c;
+                if (discriminant < 0.0) {
+                    continue;
+                }
+                double root = Math.sqrt(discriminant);
+                first = (-b - Math.copySign(root, a)) / (2.0 * a);
+                second = (-b + Math.copySign(root, a)) / (2.0 * a);
+            }
+            for (double x : new double[]{first, second}) {
+                // Each crossing belongs to a single parabola, the one of the hour it is at
+                if (x >= -1.0 && x < 1.0) {
+                    long instant = firstHour + i * SECONDS_IN_AN_HOUR + Math.round(x * SECONDS_IN_AN_HOUR);
+                    int kind = 2.0 * a * x + b > 0.0 ? 0 : 1;
+                    if (instant >= start && instant < end && crossings[kind] == null) {
+                        crossings[kind] = Instant.ofEpochSecond(instant);
+                    }
+                }
+            }
+        }
+        return crossings;
+    }
+
+    /**
+     * @param unixTimestamp The time as a Unix timestamp (seconds since 1970-01-01T00:00:00Z).
+     * @return The Greenwich mean sidereal time, in degrees.
+     */
+    static double greenwichSiderealTimeDegrees(long unixTimestamp) {
+        return 280.46061837 + 360.98564736629 * (unixTimestamp / (double) SECONDS_IN_A_DAY - J2000_EPOCH_DAY);
+    }
+
+    /**
+     * @param rightAscensionDeg The right ascension of the body, in degrees.
+     * @param declinationDeg The declination of the body, in degrees.
+     * @param localSiderealTimeDeg The local sidereal time, in degrees.
+     * @param sinLatitude The sine of the latitude of the location.
+     * @param cosLatitude The cosine of the latitude of the location.
+     * @return The sine of the altitude of the body above the horizon.
+     */
+    static double sinAltitude(double rightAscensionDeg, double declinationDeg, double localSiderealTimeDeg,
+                                  double sinLatitude, double cosLatitude) {
+        double declinationRad = Math.toRadians(declinationDeg);
+        double hourAngleRad = Math.toRadians(localSiderealTimeDeg - rightAscensionDeg);
+        return sinLatitude * Math.sin(declinationRad) + cosLatitude * Math.cos(declinationRad) * Math.cos(hourAngleRad);
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package mn.mcp.server;
+
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.jsonschema.JsonSchema;
+import io.micronaut.serde.annotation.Serdeable;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+
+import java.time.Instant;
+
+/**
+ * @param after the instant to search from, in ISO-8601 format (e.g. 2025-10-01T12:00:00Z), now if absent
+ * @param phase the principal phase to look for (NEW_MOON, FIRST_QUARTER, FULL_MOON or LAST_QUARTER), any of them if absent
+ * @param count the number of events to list, 1 if absent
+ */
+@JsonSchema
+@Serdeable
+public record NextPhaseEventRequest(
+    @Nullable Instant after,
+    @Nullable MoonPhase phase,
+    @Nullable @Min(1) @Max(MoonPhasesService.MAX_PHASE_EVENTS) Integer count
+) {
+}
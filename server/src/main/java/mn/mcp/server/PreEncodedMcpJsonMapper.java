@@ -0,0 +1,280 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package mn.mcp.server;
+
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.context.event.BeanCreatedEvent;
+import io.micronaut.context.event.BeanCreatedEventListener;
+import io.micronaut.core.util.StringUtils;
+import io.modelcontextprotocol.json.McpJsonMapper;
+import io.modelcontextprotocol.json.TypeRef;
+import io.modelcontextprotocol.spec.McpSchema;
+import jakarta.inject.Singleton;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pre-encodes the responses of the phase tools, which can only ever answer with one of the eight {@link MoonPhaseEmoji} values,
+ * by decorating the {@link McpJsonMapper} the server is created with.
+ * <p>
+ * The tools keep returning a {@link MoonPhaseEmoji}, so their output schema and the {@code tools/call} responses
+ * stay the ones of the MCP SDK:
+ * <ul>
+ *     <li>each value is encoded once, at startup, by the decorated mapper itself, and its JSON text and map form,
+ *     from which the SDK builds the {@link McpSchema.CallToolResult}, are then served as they are,</li>
+ *     <li>the first {@link McpSchema.CallToolResult} of each phase is encoded by the decorated mapper, and the later
+ *     responses carrying an equal result are written from that encoding, only the JSON-RPC id being encoded per call,
+ *     within an envelope also laid out once by the decorated mapper.</li>
+ * </ul>
+ * Any other value, or a result of a phase that differs from the encoded one, e.g. by its metadata, is left to the decorated mapper.
+ * Disabled with {@code moon-phases.tools.pre-encoded=false}.
+ */
+@Singleton
+@Requires(property = "moon-phases.tools.pre-encoded", notEquals = StringUtils.FALSE)
+public class PreEncodedMcpJsonMapper implements BeanCreatedEventListener<McpJsonMapper> {
+
+    private static final String ID_MARKER = "pre-encoded-id";
+    private static final Map<String, String> RESULT_MARKER = Map.of("pre-encoded", "result");
+
+    private final LongAdder hits = new LongAdder();
+
+    @Override
+    public McpJsonMapper onCreated(BeanCreatedEvent<McpJsonMapper> event) {
+        McpJsonMapper delegate = event.getBean();
+        int phases = MoonPhase.values().length;
+        String[] strings = new String[phases];
+        Map<?, ?>[] maps = new Map<?, ?>[phases];
+        ResponseTemplate template;
+        try {
+            for (MoonPhase phase : MoonPhase.values()) {
+                MoonPhaseEmoji moonPhaseEmoji = MoonPhaseEmoji.of(phase);
+                strings[phase.ordinal()] = delegate.writeValueAsString(moonPhaseEmoji);
+                // Shared by all the results of the phase, so read-only
+                maps[phase.ordinal()] = Collections.unmodifiableMap(delegate.convertValue(moonPhaseEmoji, Map.class));
+            }
+            template = ResponseTemplate.of(delegate);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to pre-encode the tool results", e);
+        }
+        // Racy writes are safe, the encoded results being immutable: at worst, concurrent first calls encode the same result twice
+        EncodedResult[] results = new EncodedResult[phases];
+
+        return new McpJsonMapper() {
+            @Override
+            public <T> T readValue(String content, Class<T> type) throws IOException {
+                return delegate.readValue(content, type);
+            }
+
+            @Override
+            public <T> T readValue(byte[] content, Class<T> type) throws IOException {
+                return delegate.readValue(content, type);
+            }
+
+            @Override
+            public <T> T readValue(String content, TypeRef<T> type) throws IOException {
+                return delegate.readValue(content, type);
+            }
+
+            @Override
+            public <T> T readValue(byte[] content, TypeRef<T> type) throws IOException {
+                return delegate.readValue(content, type);
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public <T> T convertValue(Object fromValue, Class<T> type) {
+                int ordinal = ordinal(fromValue);
+                if (ordinal >= 0 && (type == Map.class || type == Object.class)) {
+                    return (T) maps[ordinal];
+                }
+                return delegate.convertValue(fromValue, type);
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public <T> T convertValue(Object fromValue, TypeRef<T> type) {
+                int ordinal = ordinal(fromValue);
+                if (ordinal >= 0 && isMap(type.getType())) {
+                    return (T) maps[ordinal];
+                }
+                return delegate.convertValue(fromValue, type);
+            }
+
+            @Override
+            public String writeValueAsString(Object value) throws IOException {
+                int ordinal = ordinal(value);
+                if (ordinal >= 0) {
+                    return strings[ordinal];
+                }
+                EncodedResult result = encodedResult(value);
+                if (result != null) {
+                    hits.increment();
+                    return template.string(encodedId(((McpSchema.JSONRPCResponse) value).id()), result.json());
+                }
+                return delegate.writeValueAsString(value);
+            }
+
+            @Override
+            public byte[] writeValueAsBytes(Object value) throws IOException {
+                EncodedResult result = encodedResult(value);
+                if (result != null) {
+                    hits.increment();
+                    return template.bytes(encodedId(((McpSchema.JSONRPCResponse) value).id()), result.utf8());
+                }
+                return delegate.writeValueAsBytes(value);
+            }
+
+            /**
+             * @return The encoded result of a response to a call of a phase tool, or null if the response is any other message
+             */
+            private EncodedResult encodedResult(Object value) throws IOException {
+                if (template == null
+                    || !(value instanceof McpSchema.JSONRPCResponse response)
+                    || response.error() != null
+                    || !McpSchema.JSONRPC_VERSION.equals(response.jsonrpc())
+                    || !(response.result() instanceof McpSchema.CallToolResult callToolResult)) {
+                    return null;
+                }
+                int ordinal = ordinal(callToolResult, strings);
+                if (ordinal < 0) {
+                    return null;
+                }
+                EncodedResult encoded = results[ordinal];
+                if (encoded == null) {
+                    encoded = new EncodedResult(callToolResult, delegate.writeValueAsString(callToolResult));
+                    results[ordinal] = encoded;
+                }
+                return encoded.result().equals(callToolResult) ? encoded : null;
+            }
+
+            private String encodedId(Object id) throws IOException {
+                return id instanceof Integer || id instanceof Long ? id.toString() : delegate.writeValueAsString(id);
+            }
+        };
+    }
+
+    /**
+     * @return The number of responses written from the pre-encoded results
+     */
+    long hits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return The phase whose pre-encoded forms are those of the value, or -1 if it is not one of the eight values
+     */
+    private static int ordinal(Object value) {
+        return value instanceof MoonPhaseEmoji moonPhaseEmoji && moonPhaseEmoji.phase() != null
+            && moonPhaseEmoji.equals(MoonPhaseEmoji.of(moonPhaseEmoji.phase()))
+            ? moonPhaseEmoji.phase().ordinal()
+            : -1;
+    }
+
+    /**
+     * @return The phase whose JSON text is the only content of a tool result, or -1 if it is none of the eight phases
+     */
+    private static int ordinal(McpSchema.CallToolResult result, String[] strings) {
+        if (result.content() == null || result.content().size() != 1
+            || !(result.content().get(0) instanceof McpSchema.TextContent textContent)) {
+            return -1;
+        }
+        for (int ordinal = 0; ordinal < strings.length; ordinal++) {
+            if (strings[ordinal].equals(textContent.text())) {
+                return ordinal;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isMap(Type type) {
+        return type == Map.class || type == Object.class
+            || type instanceof ParameterizedType parameterized && parameterized.getRawType() == Map.class;
+    }
+
+    /**
+     * A tool result, and its JSON text and UTF-8 bytes as encoded by the decorated mapper.
+     */
+    private record EncodedResult(McpSchema.CallToolResult result, String json, byte[] utf8) {
+        EncodedResult(McpSchema.CallToolResult result, String json) {
+            this(result, json, json.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * The JSON of a successful JSON-RPC response as laid out by the decorated mapper, around its id and its result.
+     */
+    private record ResponseTemplate(boolean idFirst, String head, String middle, String tail,
+                                    byte[] headBytes, byte[] middleBytes, byte[] tailBytes) {
+
+        /**
+         * @return The template, or null if the response of the decorated mapper cannot be split around the id and the result
+         */
+        static ResponseTemplate of(McpJsonMapper mapper) throws IOException {
+            String json = mapper.writeValueAsString(new McpSchema.JSONRPCResponse(McpSchema.JSONRPC_VERSION, ID_MARKER, RESULT_MARKER, null));
+            String id = mapper.writeValueAsString(ID_MARKER);
+            String result = mapper.writeValueAsString(RESULT_MARKER);
+            int idAt = json.indexOf(id);
+            int resultAt = json.indexOf(result);
+            if (idAt < 0 || resultAt < 0 || json.indexOf(id, idAt + 1) >= 0 || json.indexOf(result, resultAt + 1) >= 0) {
+                return null;
+            }
+            boolean idFirst = idAt < resultAt;
+            int firstAt = Math.min(idAt, resultAt);
+            int firstEnd = firstAt + (idFirst ? id : result).length();
+            int secondAt = Math.max(idAt, resultAt);
+            int secondEnd = secondAt + (idFirst ? result : id).length();
+            if (firstEnd > secondAt) {
+                return null;
+            }
+            String head = json.substring(0, firstAt);
+            String middle = json.substring(firstEnd, secondAt);
+            String tail = json.substring(secondEnd);
+            return new ResponseTemplate(idFirst, head, middle, tail,
+                head.getBytes(StandardCharsets.UTF_8), middle.getBytes(StandardCharsets.UTF_8), tail.getBytes(StandardCharsets.UTF_8));
+        }
+
+        String string(String id, String result) {
+            return idFirst ? head + id + middle + result + tail : head + result + middle + id + tail;
+        }
+
+        byte[] bytes(String id, byte[] result) {
+            byte[] idBytes = id.getBytes(StandardCharsets.UTF_8);
+            byte[] first = idFirst ? idBytes : result;
+            byte[] second = idFirst ? result : idBytes;
+            byte[] bytes = new byte[headBytes.length + first.length + middleBytes.length + second.length + tailBytes.length];
+            int at = copy(headBytes, bytes, 0);
+            at = copy(first, bytes, at);
+            at = copy(middleBytes, bytes, at);
+            at = copy(second, bytes, at);
+            copy(tailBytes, bytes, at);
+            return bytes;
+        }
+
+        private static int copy(byte[] part, byte[] bytes, int at) {
+            System.arraycopy(part, 0, bytes, at, part.length);
+            return at + part.length;
+        }
+    }
+}
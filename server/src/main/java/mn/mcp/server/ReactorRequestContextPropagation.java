@@ -0,0 +1,41 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package mn.mcp.server;
+
+import io.micronaut.context.annotation.Context;
+import io.micronaut.core.propagation.PropagatedContext;
+import jakarta.annotation.PreDestroy;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Carries the Micronaut propagated context, and with it the current HTTP request, over to the Reactor schedulers
+ * the MCP SDK runs the tool handlers on, so that the tool calls can be related to their request and session.
+ */
+@Context
+public class ReactorRequestContextPropagation {
+
+    private static final String HOOK_KEY = ReactorRequestContextPropagation.class.getName();
+
+    ReactorRequestContextPropagation() {
+        Schedulers.onScheduleHook(HOOK_KEY, PropagatedContext::wrapCurrent);
+    }
+
+    @PreDestroy
+    void close() {
+        Schedulers.resetOnScheduleHook(HOOK_KEY);
+    }
+}
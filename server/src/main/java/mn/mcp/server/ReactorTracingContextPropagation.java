@@ -0,0 +1,43 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package mn.mcp.server;
+
+import io.micronaut.context.annotation.Context;
+import io.micronaut.context.annotation.Requires;
+import io.opentelemetry.api.OpenTelemetry;
+import jakarta.annotation.PreDestroy;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Carries the tracing context over to the Reactor schedulers the MCP SDK runs the tool handlers on,
+ * so that the tool spans are children of the span of the HTTP request, and not the roots of traces of their own.
+ */
+@Context
+@Requires(beans = OpenTelemetry.class)
+public class ReactorTracingContextPropagation {
+
+    private static final String HOOK_KEY = ReactorTracingContextPropagation.class.getName();
+
+    ReactorTracingContextPropagation() {
+        Schedulers.onScheduleHook(HOOK_KEY, task -> io.opentelemetry.context.Context.current().wrap(task));
+    }
+
+    @PreDestroy
+    void close() {
+        Schedulers.resetOnScheduleHook(HOOK_KEY);
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package mn.mcp.server;
+
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.jsonschema.JsonSchema;
+import io.micronaut.serde.annotation.Serdeable;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDate;
+
+/**
+ * @param date the date in format yyyy-MM-dd
+ * @param latitude the latitude of the location, in degrees from -90 (south) to 90 (north)
+ * @param longitude the longitude of the location, in degrees from -180 (west) to 180 (east)
+ */
+@JsonSchema
+@Serdeable
+public record RiseSetRequest(
+    @NonNull @NotNull LocalDate date,
+    @NonNull @NotNull @DecimalMin("-90") @DecimalMax("90") Double latitude,
+    @NonNull @NotNull @DecimalMin("-180") @DecimalMax("180") Double longitude
+) {
+}
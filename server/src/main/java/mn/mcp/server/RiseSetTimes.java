@@ -0,0 +1,52 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package mn.mcp.server;
+
+import io.micronaut.core.annotation.NonNull;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.jsonschema.JsonSchema;
+import io.micronaut.serde.annotation.Serdeable;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ *
+ * @param date The day, from local midnight to local midnight in the mean solar time of the longitude
+ * @param latitude The latitude of the location, in degrees, positive to the north
+ * @param longitude The longitude of the location, in degrees, positive to the east
+ * @param sunrise The instant the Sun rises, in ISO-8601 format (UTC), absent if it does not rise that day
+ * @param sunset The instant the Sun sets, in ISO-8601 format (UTC), absent if it does not set that day
+ * @param moonrise The instant the Moon rises, in ISO-8601 format (UTC), absent if it does not rise that day
+ * @param moonset The instant the Moon sets, in ISO-8601 format (UTC), absent if it does not set that day
+ */
+@JsonSchema(
+    title = "Rise and set times",
+    description = "The instants at which the Sun and the Moon rise and set on a day, at a location",
+    uri = "/riseSetTimes"
+)
+@Serdeable
+public record RiseSetTimes(
+    @NonNull @NotNull LocalDate date,
+    double latitude,
+    double longitude,
+    @Nullable Instant sunrise,
+    @Nullable Instant sunset,
+    @Nullable Instant moonrise,
+    @Nullable Instant moonset
+) { }
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package mn.mcp.server;
+
+import io.micronaut.context.annotation.Context;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.context.annotation.Value;
+import io.micronaut.core.util.StringUtils;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+
+/**
+ * Logs the outliers among the tool calls as they happen: streams the {@link McpToolCallEvent} events
+ * over a threshold from Flight Recorder, in the process, and logs a warning for each of them.
+ * The other recordings, such as one started with the {@code moon-phases.jfc} settings, are not affected.
+ */
+@Context
+@Requires(property = "moon-phases.jfr.slow-calls.enabled", value = StringUtils.TRUE)
+public class SlowToolCallMonitor {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SlowToolCallMonitor.class);
+
+    private final RecordingStream recordingStream = new RecordingStream();
+
+    SlowToolCallMonitor(@Value("${moon-phases.jfr.slow-calls.threshold:1s}") Duration threshold) {
+        recordingStream.enable(McpToolCallEvent.NAME).withThreshold(threshold);
+        recordingStream.onEvent(McpToolCallEvent.NAME, this::log);
+        recordingStream.startAsync();
+    }
+
+    private void log(RecordedEvent event) {
+        LOG.warn("Slow tool call: {} took {} ms, outcome {}, session {}, arguments of {} bytes",
+            event.getString("tool"), event.getDuration().toMillis(), event.getString("outcome"),
+            event.getString("session"), event.getLong("argumentSize"));
+    }
+
+    @PreDestroy
+    void close() {
+        recordingStream.close();
+    }
+}
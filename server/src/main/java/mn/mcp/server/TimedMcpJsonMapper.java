@@ -0,0 +1,131 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package mn.mcp.server;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.context.event.BeanCreatedEvent;
+import io.micronaut.context.event.BeanCreatedEventListener;
+import io.modelcontextprotocol.json.McpJsonMapper;
+import io.modelcontextprotocol.json.TypeRef;
+import jakarta.inject.Provider;
+import jakarta.inject.Singleton;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times the JSON mapping of the MCP messages, by decorating the {@link McpJsonMapper} the server is created with:
+ * {@code mcp.json.serialization} measures the encoding of the responses and notifications, tool results included,
+ * and {@code mcp.json.deserialization} the decoding of the requests.
+ */
+@Singleton
+@Requires(beans = MeterRegistry.class)
+public class TimedMcpJsonMapper implements BeanCreatedEventListener<McpJsonMapper> {
+
+    // Looked up lazily, as the JSON mapper may be created before the meter registry
+    private final Provider<MeterRegistry> meterRegistry;
+    private volatile Timer serialization;
+    private volatile Timer deserialization;
+
+    TimedMcpJsonMapper(Provider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public McpJsonMapper onCreated(BeanCreatedEvent<McpJsonMapper> event) {
+        McpJsonMapper delegate = event.getBean();
+        return new McpJsonMapper() {
+            @Override
+            public <T> T readValue(String content, Class<T> type) throws IOException {
+                return timed(deserialization(), () -> delegate.readValue(content, type));
+            }
+
+            @Override
+            public <T> T readValue(byte[] content, Class<T> type) throws IOException {
+                return timed(deserialization(), () -> delegate.readValue(content, type));
+            }
+
+            @Override
+            public <T> T readValue(String content, TypeRef<T> type) throws IOException {
+                return timed(deserialization(), () -> delegate.readValue(content, type));
+            }
+
+            @Override
+            public <T> T readValue(byte[] content, TypeRef<T> type) throws IOException {
+                return timed(deserialization(), () -> delegate.readValue(content, type));
+            }
+
+            @Override
+            public <T> T convertValue(Object fromValue, Class<T> type) {
+                return delegate.convertValue(fromValue, type);
+            }
+
+            @Override
+            public <T> T convertValue(Object fromValue, TypeRef<T> type) {
+                return delegate.convertValue(fromValue, type);
+            }
+
+            @Override
+            public String writeValueAsString(Object value) throws IOException {
+                return timed(serialization(), () -> delegate.writeValueAsString(value));
+            }
+
+            @Override
+            public byte[] writeValueAsBytes(Object value) throws IOException {
+                return timed(serialization(), () -> delegate.writeValueAsBytes(value));
+            }
+        };
+    }
+
+    private Timer serialization() {
+        Timer timer = serialization;
+        if (timer == null) {
+            timer = Timer.builder("mcp.json.serialization")
+                .description("Encoding of the MCP messages to JSON")
+                .register(meterRegistry.get());
+            serialization = timer;
+        }
+        return timer;
+    }
+
+    private Timer deserialization() {
+        Timer timer = deserialization;
+        if (timer == null) {
+            timer = Timer.builder("mcp.json.deserialization")
+                .description("Decoding of the MCP messages from JSON")
+                .register(meterRegistry.get());
+            deserialization = timer;
+        }
+        return timer;
+    }
+
+    private static <T> T timed(Timer timer, Mapping<T> mapping) throws IOException {
+        long start = System.nanoTime();
+        try {
+            return mapping.map();
+        } finally {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Mapping<T> {
+        T map() throws IOException;
+    }
+}
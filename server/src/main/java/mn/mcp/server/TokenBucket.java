@@ -0,0 +1,68 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package mn.mcp.server;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A token bucket, implemented with the generic cell rate algorithm: instead of a count of tokens refilled over time,
+ * it keeps the theoretical arrival time of the next request, in a single {@link AtomicLong} updated with compare-and-set,
+ * so that admitting a request takes no lock.
+ * <p>
+ * Requests are admitted at {@code ratePerSecond} on average, with bursts of up to {@code burst} requests.
+ * A bucket whose theoretical arrival time has passed is full, and behaves exactly like a new one.
+ */
+final class TokenBucket {
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final AtomicLong theoreticalArrivalNanos;
+
+    TokenBucket(double ratePerSecond, int burst, long nowNanos) {
+        if (ratePerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("A token bucket needs a positive rate and burst, not " + ratePerSecond + " and " + burst);
+        }
+        this.emissionIntervalNanos = Math.max(1L, (long) (1e9 / ratePerSecond));
+        this.burstToleranceNanos = emissionIntervalNanos * (burst - 1);
+        this.theoreticalArrivalNanos = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * @param nowNanos The current time, from {@link System#nanoTime()}.
+     * @return 0 when a token was taken, otherwise the nanoseconds to wait until one is available.
+     */
+    long tryAcquire(long nowNanos) {
+        while (true) {
+            long theoreticalArrival = theoreticalArrivalNanos.get();
+            long earliest = theoreticalArrival - burstToleranceNanos;
+            if (nowNanos - earliest < 0) {
+                return earliest - nowNanos;
+            }
+            long next = Math.max(theoreticalArrival, nowNanos) + emissionIntervalNanos;
+            if (theoreticalArrivalNanos.compareAndSet(theoreticalArrival, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * @return Whether the bucket is full at that time, and could be replaced by a new one.
+     */
+    boolean isFull(long nowNanos) {
+        return theoreticalArrivalNanos.get() - nowNanos <= 0;
+    }
+}
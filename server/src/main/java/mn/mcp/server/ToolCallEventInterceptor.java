@@ -0,0 +1,75 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package mn.mcp.server;
+
+import io.micronaut.aop.InterceptPhase;
+import io.micronaut.aop.InterceptorBean;
+import io.micronaut.aop.MethodInterceptor;
+import io.micronaut.aop.MethodInvocationContext;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.context.ServerRequestContext;
+import io.micronaut.mcp.annotations.Tool;
+import io.modelcontextprotocol.spec.McpSchema;
+import jakarta.inject.Singleton;
+import jdk.jfr.EventType;
+
+/**
+ * Commits a {@link McpToolCallEvent} for every call to a {@link ToolCall} method, when the event is enabled
+ * in a Flight Recorder recording. The session and the size of the arguments are taken from the HTTP request
+ * of the call, see {@link ReactorRequestContextPropagation}.
+ * It runs before the validation of the arguments, so that invalid calls are recorded as errors too.
+ */
+@Singleton
+@InterceptorBean(ToolCall.class)
+public class ToolCallEventInterceptor implements MethodInterceptor<Object, Object> {
+
+    // Checked before creating an event, so that the calls allocate nothing when no recording has it enabled
+    private static final EventType EVENT_TYPE = EventType.getEventType(McpToolCallEvent.class);
+
+    @Override
+    public int getOrder() {
+        return InterceptPhase.VALIDATE.getPosition() - 15;
+    }
+
+    @Override
+    public Object intercept(MethodInvocationContext<Object, Object> context) {
+        if (!EVENT_TYPE.isEnabled()) {
+            return context.proceed();
+        }
+        McpToolCallEvent event = new McpToolCallEvent();
+        event.begin();
+        String outcome = "error";
+        try {
+            Object result = context.proceed();
+            if (!(result instanceof McpSchema.CallToolResult callToolResult && Boolean.TRUE.equals(callToolResult.isError()))) {
+                outcome = "success";
+            }
+            return result;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.tool = context.stringValue(Tool.class, "name").orElse(context.getMethodName());
+                event.outcome = outcome;
+                HttpRequest<Object> request = ServerRequestContext.currentRequest().orElse(null);
+                // The session of the client, also when the request is forwarded to a local session
+                event.session = request != null ? McpSessionRehydrationFilter.clientSessionId(request) : null;
+                event.argumentSize = request != null ? request.getContentLength() : -1;
+                event.commit();
+            }
+        }
+    }
+}
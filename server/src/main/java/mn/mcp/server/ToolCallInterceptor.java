@@ -0,0 +1,96 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package mn.mcp.server;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micronaut.aop.InterceptPhase;
+import io.micronaut.aop.InterceptorBean;
+import io.micronaut.aop.MethodInterceptor;
+import io.micronaut.aop.MethodInvocationContext;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.mcp.annotations.Tool;
+import io.modelcontextprotocol.spec.McpSchema;
+import jakarta.inject.Singleton;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the latency and the outcome of every call to a {@link ToolCall} method, tagged by tool name:
+ * <ul>
+ *     <li>{@code mcp.tool.calls}, a timer with a percentile histogram, tagged by outcome ({@code success} or {@code error}),</li>
+ *     <li>{@code mcp.tool.errors}, a counter tagged by the exception thrown.</li>
+ * </ul>
+ * It runs before the validation of the arguments, so that invalid calls are counted as errors too.
+ */
+@Singleton
+@InterceptorBean(ToolCall.class)
+@Requires(beans = MeterRegistry.class)
+public class ToolCallInterceptor implements MethodInterceptor<Object, Object> {
+
+    private static final String SUCCESS = "success";
+    private static final String ERROR = "error";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    ToolCallInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public int getOrder() {
+        return InterceptPhase.VALIDATE.getPosition() - 10;
+    }
+
+    @Override
+    public Object intercept(MethodInvocationContext<Object, Object> context) {
+        String tool = context.stringValue(Tool.class, "name").orElse(context.getMethodName());
+        long start = System.nanoTime();
+        String outcome = ERROR;
+        try {
+            Object result = context.proceed();
+            if (!(result instanceof McpSchema.CallToolResult callToolResult && Boolean.TRUE.equals(callToolResult.isError()))) {
+                outcome = SUCCESS;
+            }
+            return result;
+        } catch (RuntimeException e) {
+            Counter.builder("mcp.tool.errors")
+                .description("Tool calls that failed with an exception")
+                .tag("tool", tool)
+                .tag("exception", e.getClass().getSimpleName())
+                .register(meterRegistry)
+                .increment();
+            throw e;
+        } finally {
+            timer(tool, outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer timer(String tool, String outcome) {
+        return timers.computeIfAbsent(tool + '/' + outcome, key -> Timer.builder("mcp.tool.calls")
+            .description("Latency of the tool calls")
+            .tag("tool", tool)
+            .tag("outcome", outcome)
+            .publishPercentiles(0.5, 0.95, 0.99)
+            .publishPercentileHistogram()
+            .register(meterRegistry));
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package mn.mcp.server;
+
+import io.micronaut.aop.InterceptPhase;
+import io.micronaut.aop.InterceptorBean;
+import io.micronaut.aop.MethodInterceptor;
+import io.micronaut.aop.MethodInvocationContext;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.mcp.annotations.Tool;
+import io.modelcontextprotocol.spec.McpSchema;
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.ContextKey;
+import io.opentelemetry.context.Scope;
+import jakarta.inject.Singleton;
+
+/**
+ * Traces the calls to the {@link ToolCall} methods, with a {@code tools/call} span named after the tool,
+ * with the tool name as {@value #TOOL_NAME}. It runs before the validation of the arguments, which gets a
+ * {@code validate} child span, ended by {@link ValidatedToolCallTracingInterceptor} once the arguments are valid.
+ * The spans of the computation, see {@link MoonPhasesService}, are children of the tool span.
+ */
+@Singleton
+@InterceptorBean(ToolCall.class)
+@Requires(beans = OpenTelemetry.class)
+public class ToolCallTracingInterceptor implements MethodInterceptor<Object, Object> {
+
+    static final String INSTRUMENTATION_SCOPE = "mn.mcp.server";
+    static final String TOOL_NAME = "mcp.tool.name";
+    static final ContextKey<Span> TOOL_SPAN = ContextKey.named("mcp.tool.span");
+    static final ContextKey<Span> VALIDATION_SPAN = ContextKey.named("mcp.tool.validation.span");
+    private static final AttributeKey<String> TOOL_NAME_KEY = AttributeKey.stringKey(TOOL_NAME);
+
+    private final Tracer tracer;
+
+    ToolCallTracingInterceptor(OpenTelemetry openTelemetry) {
+        this.tracer = openTelemetry.getTracer(INSTRUMENTATION_SCOPE);
+    }
+
+    @Override
+    public int getOrder() {
+        return InterceptPhase.VALIDATE.getPosition() - 5;
+    }
+
+    @Override
+    public Object intercept(MethodInvocationContext<Object, Object> context) {
+        String tool = context.stringValue(Tool.class, "name").orElse(context.getMethodName());
+        Span toolSpan = tracer.spanBuilder("tools/call " + tool)
+            .setAttribute(TOOL_NAME_KEY, tool)
+            .startSpan();
+        Context toolContext = Context.current().with(toolSpan).with(TOOL_SPAN, toolSpan);
+        Span validationSpan = tracer.spanBuilder("validate")
+            .setParent(toolContext)
+            .startSpan();
+        try (Scope ignored = toolContext.with(validationSpan).with(VALIDATION_SPAN, validationSpan).makeCurrent()) {
+            Object result = context.proceed();
+            if (result instanceof McpSchema.CallToolResult callToolResult && Boolean.TRUE.equals(callToolResult.isError())) {
+                toolSpan.setStatus(StatusCode.ERROR);
+            }
+            return result;
+        } catch (RuntimeException e) {
+            // Still recording when the validation failed
+            if (validationSpan.isRecording()) {
+                validationSpan.recordException(e).setStatus(StatusCode.ERROR);
+            }
+            toolSpan.recordException(e).setStatus(StatusCode.ERROR);
+            throw e;
+        } finally {
+            if (validationSpan.isRecording()) {
+                validationSpan.end();
+            }
+            toolSpan.end();
+        }
+    }
+}
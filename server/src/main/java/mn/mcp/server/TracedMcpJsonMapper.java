@@ -0,0 +1,148 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package mn.mcp.server;
+
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.context.event.BeanCreatedEvent;
+import io.micronaut.context.event.BeanCreatedEventListener;
+import io.modelcontextprotocol.json.McpJsonMapper;
+import io.modelcontextprotocol.json.TypeRef;
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Scope;
+import jakarta.inject.Provider;
+import jakarta.inject.Singleton;
+
+import java.io.IOException;
+
+/**
+ * Traces the JSON mapping of the MCP messages, by decorating the {@link McpJsonMapper} the server is created with:
+ * an {@code mcp.json.decode} span for each request decoded, and an {@code mcp.json.encode} span for each response
+ * or notification encoded, with the length of the JSON text as {@value #PAYLOAD_LENGTH}.
+ */
+@Singleton
+@Requires(beans = OpenTelemetry.class)
+public class TracedMcpJsonMapper implements BeanCreatedEventListener<McpJsonMapper> {
+
+    static final String PAYLOAD_LENGTH = "mcp.payload.length";
+    private static final AttributeKey<Long> PAYLOAD_LENGTH_KEY = AttributeKey.longKey(PAYLOAD_LENGTH);
+
+    // Looked up lazily, as the JSON mapper may be created before OpenTelemetry
+    private final Provider<OpenTelemetry> openTelemetry;
+    private volatile Tracer tracer;
+
+    TracedMcpJsonMapper(Provider<OpenTelemetry> openTelemetry) {
+        this.openTelemetry = openTelemetry;
+    }
+
+    @Override
+    public McpJsonMapper onCreated(BeanCreatedEvent<McpJsonMapper> event) {
+        McpJsonMapper delegate = event.getBean();
+        return new McpJsonMapper() {
+            @Override
+            public <T> T readValue(String content, Class<T> type) throws IOException {
+                return decoded(content.length(), () -> delegate.readValue(content, type));
+            }
+
+            @Override
+            public <T> T readValue(byte[] content, Class<T> type) throws IOException {
+                return decoded(content.length, () -> delegate.readValue(content, type));
+            }
+
+            @Override
+            public <T> T readValue(String content, TypeRef<T> type) throws IOException {
+                return decoded(content.length(), () -> delegate.readValue(content, type));
+            }
+
+            @Override
+            public <T> T readValue(byte[] content, TypeRef<T> type) throws IOException {
+                return decoded(content.length, () -> delegate.readValue(content, type));
+            }
+
+            @Override
+            public <T> T convertValue(Object fromValue, Class<T> type) {
+                return delegate.convertValue(fromValue, type);
+            }
+
+            @Override
+            public <T> T convertValue(Object fromValue, TypeRef<T> type) {
+                return delegate.convertValue(fromValue, type);
+            }
+
+            @Override
+            public String writeValueAsString(Object value) throws IOException {
+                Span span = tracer().spanBuilder("mcp.json.encode").startSpan();
+                try (Scope ignored = span.makeCurrent()) {
+                    String json = delegate.writeValueAsString(value);
+                    span.setAttribute(PAYLOAD_LENGTH_KEY, (long) json.length());
+                    return json;
+                } catch (IOException | RuntimeException e) {
+                    span.recordException(e).setStatus(StatusCode.ERROR);
+                    throw e;
+                } finally {
+                    span.end();
+                }
+            }
+
+            @Override
+            public byte[] writeValueAsBytes(Object value) throws IOException {
+                Span span = tracer().spanBuilder("mcp.json.encode").startSpan();
+                try (Scope ignored = span.makeCurrent()) {
+                    byte[] json = delegate.writeValueAsBytes(value);
+                    span.setAttribute(PAYLOAD_LENGTH_KEY, (long) json.length);
+                    return json;
+                } catch (IOException | RuntimeException e) {
+                    span.recordException(e).setStatus(StatusCode.ERROR);
+                    throw e;
+                } finally {
+                    span.end();
+                }
+            }
+        };
+    }
+
+    private <T> T decoded(int length, Mapping<T> mapping) throws IOException {
+        Span span = tracer().spanBuilder("mcp.json.decode")
+            .setAttribute(PAYLOAD_LENGTH_KEY, (long) length)
+            .startSpan();
+        try (Scope ignored = span.makeCurrent()) {
+            return mapping.map();
+        } catch (IOException | RuntimeException e) {
+            span.recordException(e).setStatus(StatusCode.ERROR);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+
+    private Tracer tracer() {
+        Tracer current = tracer;
+        if (current == null) {
+            current = openTelemetry.get().getTracer(ToolCallTracingInterceptor.INSTRUMENTATION_SCOPE);
+            tracer = current;
+        }
+        return current;
+    }
+
+    @FunctionalInterface
+    private interface Mapping<T> {
+        T map() throws IOException;
+    }
+}
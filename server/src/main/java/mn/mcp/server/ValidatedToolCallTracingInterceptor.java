@@ -0,0 +1,57 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package mn.mcp.server;
+
+import io.micronaut.aop.InterceptPhase;
+import io.micronaut.aop.InterceptorBean;
+import io.micronaut.aop.MethodInterceptor;
+import io.micronaut.aop.MethodInvocationContext;
+import io.micronaut.context.annotation.Requires;
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.Scope;
+import jakarta.inject.Singleton;
+
+/**
+ * Runs right after the validation of the arguments of a {@link ToolCall} method: ends the {@code validate} span
+ * started by {@link ToolCallTracingInterceptor}, and makes the tool span current again for the call itself.
+ */
+@Singleton
+@InterceptorBean(ToolCall.class)
+@Requires(beans = OpenTelemetry.class)
+public class ValidatedToolCallTracingInterceptor implements MethodInterceptor<Object, Object> {
+
+    @Override
+    public int getOrder() {
+        return InterceptPhase.VALIDATE.getPosition() + 5;
+    }
+
+    @Override
+    public Object intercept(MethodInvocationContext<Object, Object> context) {
+        Context current = Context.current();
+        Span validationSpan = current.get(ToolCallTracingInterceptor.VALIDATION_SPAN);
+        Span toolSpan = current.get(ToolCallTracingInterceptor.TOOL_SPAN);
+        if (validationSpan == null || toolSpan == null) {
+            return context.proceed();
+        }
+        validationSpan.end();
+        try (Scope ignored = current.with(toolSpan).makeCurrent()) {
+            return context.proceed();
+        }
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package mn.mcp.server;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+import static mn.mcp.server.MoonPhaseBatch.BETA;
+import static mn.mcp.server.MoonPhaseBatch.HALF_PI;
+import static mn.mcp.server.MoonPhaseBatch.INVERSE_TWO_PI;
+import static mn.mcp.server.MoonPhaseBatch.KEPLER_ITERATIONS;
+import static mn.mcp.server.MoonPhaseBatch.ROUNDING_MAGIC;
+import static mn.mcp.server.MoonPhaseBatch.S1;
+import static mn.mcp.server.MoonPhaseBatch.S2;
+import static mn.mcp.server.MoonPhaseBatch.S3;
+import static mn.mcp.server.MoonPhaseBatch.S4;
+import static mn.mcp.server.MoonPhaseBatch.S5;
+import static mn.mcp.server.MoonPhaseBatch.S6;
+import static mn.mcp.server.MoonPhaseBatch.S7;
+import static mn.mcp.server.MoonPhaseBatch.SUN_MEAN_ANOMALY_OFFSET;
+import static mn.mcp.server.MoonPhaseBatch.TWO_PI;
+import static mn.mcp.server.MoonPhaseConstants.ANNUAL_EQUATION;
+import static mn.mcp.server.MoonPhaseConstants.ANOMALY_CORRECTION;
+import static mn.mcp.server.MoonPhaseConstants.ECCENTRICITY_EARTH_ORBIT;
+import static mn.mcp.server.MoonPhaseConstants.EPOCH_1980_JULIAN_DAY;
+import static mn.mcp.server.MoonPhaseConstants.EQUATION_OF_CENTER;
+import static mn.mcp.server.MoonPhaseConstants.EVECTION;
+import static mn.mcp.server.MoonPhaseConstants.MOON_MEAN_LONGITUDE_DAILY_MOTION;
+import static mn.mcp.server.MoonPhaseConstants.MOON_MEAN_LONGITUDE_EPOCH;
+import static mn.mcp.server.MoonPhaseConstants.MOON_PERIGEE_DAILY_MOTION;
+import static mn.mcp.server.MoonPhaseConstants.MOON_PERIGEE_LONGITUDE_EPOCH;
+import static mn.mcp.server.MoonPhaseConstants.SECOND_EQUATION_OF_CENTER;
+import static mn.mcp.server.MoonPhaseConstants.SECONDS_PER_DAY;
+import static mn.mcp.server.MoonPhaseConstants.SUN_ECLIPTIC_LONGITUDE_PERIGEE;
+import static mn.mcp.server.MoonPhaseConstants.SUN_MEAN_ANOMALY_DAILY_MOTION;
+import static mn.mcp.server.MoonPhaseConstants.TO_DEGREES;
+import static mn.mcp.server.MoonPhaseConstants.TO_RADIANS;
+import static mn.mcp.server.MoonPhaseConstants.UNIX_EPOCH_JULIAN_DAY;
+import static mn.mcp.server.MoonPhaseConstants.VARIATION;
+
+/**
+ * Lane-wise version of {@link MoonPhaseBatch#phaseDegrees(long)}, with the incubating Vector API.
+ * <p>
+ * Every step mirrors the scalar version operation for operation, with branches replaced by blends,
+ * so that both give bit-identical phase angles. This class must only be loaded when the
+ * {@code jdk.incubator.vector} module is present, see {@link MoonPhaseBatch#VECTOR_API_AVAILABLE}.
+ */
+final class VectorizedMoonPhaseBatch {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+    // Same lane count as the doubles, since both are 64-bit wide
+    private static final VectorSpecies<Long> LONG_SPECIES = VectorSpecies.of(long.class, SPECIES.vectorShape());
+
+    private VectorizedMoonPhaseBatch() {
+    }
+
+    static void evaluate(long[] unixTimestamps, byte[] phaseOrdinals, double[] phaseAnglesDegrees) {
+        int length = SPECIES.length();
+        int upperBound = SPECIES.loopBound(unixTimestamps.length);
+        double[] lanes = new double[length];
+        int i = 0;
+        for (; i < upperBound; i += length) {
+            DoubleVector timestamps = (DoubleVector) LongVector.fromArray(LONG_SPECIES, unixTimestamps, i)
+                .convert(VectorOperators.L2D, 0);
+            phaseDegrees(timestamps).intoArray(lanes, 0);
+            for (int lane = 0; lane < length; lane++) {
+                phaseOrdinals[i + lane] = (byte) MoonPhasesService.phaseOrdinal(lanes[lane]);
+            }
+            if (phaseAnglesDegrees != null) {
+                System.arraycopy(lanes, 0, phaseAnglesDegrees, i, length);
+            }
+        }
+        MoonPhaseBatch.evaluateScalar(unixTimestamps, i, phaseOrdinals, phaseAnglesDegrees);
+    }
+
+    static DoubleVector phaseDegrees(DoubleVector unixTimestamps) {
+        DoubleVector days = unixTimestamps.div(SECONDS_PER_DAY).add(UNIX_EPOCH_JULIAN_DAY).sub(EPOCH_1980_JULIAN_DAY);
+
+        // Sun's mean anomaly, then eccentric anomaly, with a fixed number of Newton iterations
+        DoubleVector sunMeanAnomalyRad = fixAngle(days.mul(SUN_MEAN_ANOMALY_DAILY_MOTION).add(SUN_MEAN_ANOMALY_OFFSET))
+            .mul(TO_RADIANS);
+        DoubleVector sinMeanAnomaly = sin(sunMeanAnomalyRad);
+        DoubleVector eccentricAnomalyRad = sunMeanAnomalyRad.add(sinMeanAnomaly.mul(ECCENTRICITY_EARTH_ORBIT));
+        for (int i = 0; i < KEPLER_ITERATIONS; i++) {
+            DoubleVector delta = eccentricAnomalyRad.sub(sin(eccentricAnomalyRad).mul(ECCENTRICITY_EARTH_ORBIT)).sub(sunMeanAnomalyRad);
+            DoubleVector slope = broadcast(1.0).sub(cos(eccentricAnomalyRad).mul(ECCENTRICITY_EARTH_ORBIT));
+            eccentricAnomalyRad = eccentricAnomalyRad.sub(delta.div(slope));
+        }
+
+        // Sun's true anomaly and longitude
+        DoubleVector y = sin(eccentricAnomalyRad).mul(BETA).div(broadcast(1.0).sub(cos(eccentricAnomalyRad).mul(BETA)));
+        DoubleVector sunTrueAnomalyRad = eccentricAnomalyRad.add(atanSmall(y).mul(2.0));
+        DoubleVector sunLongitudeDeg = fixAngle(sunTrueAnomalyRad.mul(TO_DEGREES).add(SUN_ECLIPTIC_LONGITUDE_PERIGEE));
+
+        // Moon's mean longitude and anomaly
+        DoubleVector moonMeanLongitudeDeg = fixAngle(days.mul(MOON_MEAN_LONGITUDE_DAILY_MOTION).add(MOON_MEAN_LONGITUDE_EPOCH));
+        DoubleVector moonMeanAnomalyDeg = fixAngle(moonMeanLongitudeDeg.sub(days.mul(MOON_PERIGEE_DAILY_MOTION)).sub(MOON_PERIGEE_LONGITUDE_EPOCH));
+
+        // Evection, annual equation, equation of center and variation
+        DoubleVector evectionDeg = sin(moonMeanLongitudeDeg.sub(sunLongitudeDeg).mul(2.0).sub(moonMeanAnomalyDeg).mul(TO_RADIANS))
+            .mul(EVECTION);
+        DoubleVector annualEquationDeg = sinMeanAnomaly.mul(ANNUAL_EQUATION);
+        DoubleVector correctedMoonAnomalyRad = moonMeanAnomalyDeg.add(evectionDeg).sub(annualEquationDeg).sub(sinMeanAnomaly.mul(ANOMALY_CORRECTION))
+            .mul(TO_RADIANS);
+        DoubleVector correctedMoonLongitudeDeg = moonMeanLongitudeDeg.add(evectionDeg).add(sin(correctedMoonAnomalyRad).mul(EQUATION_OF_CENTER))
+            .sub(annualEquationDeg).add(sin(correctedMoonAnomalyRad.mul(2.0)).mul(SECOND_EQUATION_OF_CENTER));
+        DoubleVector moonTrueLongitudeDeg = correctedMoonLongitudeDeg.add(
+            sin(correctedMoonLongitudeDeg.sub(sunLongitudeDeg).mul(2.0).mul(TO_RADIANS)).mul(VARIATION));
+
+        return fixAngle(moonTrueLongitudeDeg.sub(sunLongitudeDeg));
+    }
+
+    private static DoubleVector fixAngle(DoubleVector angleDegrees) {
+        DoubleVector turns = angleDegrees.mul(1.0 / 360.0).add(ROUNDING_MAGIC).sub(ROUNDING_MAGIC);
+        DoubleVector normalized = angleDegrees.sub(turns.mul(360.0));
+        return normalized.blend(normalized.add(360.0), normalized.compare(VectorOperators.LT, 0.0));
+    }
+
+    private static DoubleVector sin(DoubleVector x) {
+        DoubleVector turns = x.mul(INVERSE_TWO_PI).add(ROUNDING_MAGIC).sub(ROUNDING_MAGIC);
+        DoubleVector r = x.sub(turns.mul(TWO_PI));
+        VectorMask<Double> above = r.compare(VectorOperators.GT, HALF_PI);
+        r = r.blend(broadcast(Math.PI).sub(r), above);
+        VectorMask<Double> below = r.compare(VectorOperators.LT, -HALF_PI);
+        r = r.blend(broadcast(-Math.PI).sub(r), below);
+        DoubleVector r2 = r.mul(r);
+        DoubleVector p = r2.mul(S7).add(S6).mul(r2).add(S5).mul(r2).add(S4).mul(r2).add(S3).mul(r2).add(S2).mul(r2).add(S1);
+        return r.add(r.mul(r2.mul(p)));
+    }
+
+    private static DoubleVector cos(DoubleVector x) {
+        return sin(x.add(HALF_PI));
+    }
+
+    private static DoubleVector atanSmall(DoubleVector y) {
+        DoubleVector y2 = y.mul(y);
+        DoubleVector p = y2.mul(-1.0 / 7.0).add(1.0 / 5.0).mul(y2).add(-1.0 / 3.0);
+        return y.add(y.mul(y2.mul(p)));
+    }
+
+    private static DoubleVector broadcast(double value) {
+        return DoubleVector.broadcast(SPECIES, value);
+    }
+}
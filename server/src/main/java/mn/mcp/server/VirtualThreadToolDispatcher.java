@@ -0,0 +1,62 @@
+/*
+ * Copyright 2025 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package mn.mcp.server;
+
+import io.micronaut.context.annotation.Context;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.core.util.StringUtils;
+import jakarta.annotation.PreDestroy;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Dispatches the {@link io.micronaut.mcp.annotations.Tool} methods on virtual threads.
+ * <p>
+ * The MCP SDK runs synchronous tool handlers off the transport threads, on Reactor's bounded elastic scheduler,
+ * a pool of at most ten platform threads per core with a bounded queue: a burst of slow tool calls fills it,
+ * and the calls behind them wait. When enabled, this bean replaces the schedulers created for the bounded elastic
+ * pool with ones that start a virtual thread per task, so tool calls are neither run on the Netty event loop
+ * nor queued behind a fixed number of platform threads.
+ * <p>
+ * As the factory is global to Reactor, any other use of {@code Schedulers.boundedElastic()} in the application
+ * moves to virtual threads as well.
+ */
+@Context
+@Requires(property = "moon-phases.tools.virtual-threads", value = StringUtils.TRUE)
+public class VirtualThreadToolDispatcher implements Schedulers.Factory {
+
+    private final ThreadFactory threadFactory = Thread.ofVirtual().name("mcp-tool-", 0).factory();
+
+    VirtualThreadToolDispatcher() {
+        // Also disposes the schedulers already cached, so that they are re-created from this factory
+        Schedulers.setFactory(this);
+    }
+
+    @Override
+    public Scheduler newBoundedElastic(int threadCap, int queuedTaskCap, ThreadFactory ignored, int ttlSeconds) {
+        // The executor is shut down when the scheduler is disposed
+        return Schedulers.fromExecutorService(Executors.newThreadPerTaskExecutor(threadFactory), "mcp-tools");
+    }
+
+    @PreDestroy
+    void close() {
+        Schedulers.resetFactory();
+    }
+}
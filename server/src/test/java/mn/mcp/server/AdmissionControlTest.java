@@ -0,0 +1,94 @@
+package mn.mcp.server;
+
+import io.micronaut.context.ApplicationContext;
+import io.micronaut.runtime.server.EmbeddedServer;
+import io.modelcontextprotocol.client.McpClient;
+import io.modelcontextprotocol.client.McpSyncClient;
+import io.modelcontextprotocol.client.transport.HttpClientStreamableHttpTransport;
+import io.modelcontextprotocol.spec.McpSchema;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissionControlTest {
+
+    @Test
+    void tokenBucketAdmitsBurstsThenTheRate() {
+        long now = 0;
+        TokenBucket bucket = new TokenBucket(10, 3, now);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, bucket.tryAcquire(now));
+        }
+        long retryAfter = bucket.tryAcquire(now);
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), retryAfter);
+        assertEquals(0, bucket.tryAcquire(now + retryAfter));
+        assertTrue(bucket.tryAcquire(now + retryAfter) > 0);
+
+        assertFalse(bucket.isFull(now + retryAfter));
+        assertTrue(bucket.isFull(now + TimeUnit.SECONDS.toNanos(1)));
+    }
+
+    @Test
+    void capsTheToolCallsInFlight() {
+        AdmissionControl admissionControl = new AdmissionControl(50, 100, 1000, 1000, 2);
+
+        assertEquals(0, admissionControl.admitToolCall());
+        assertEquals(0, admissionControl.admitToolCall());
+        assertEquals(AdmissionControl.CONCURRENCY_RETRY_AFTER_NANOS, admissionControl.admitToolCall());
+        admissionControl.release();
+        assertEquals(0, admissionControl.admitToolCall());
+
+        assertEquals(1, admissionControl.rejections(AdmissionControl.Rejection.CONCURRENCY));
+    }
+
+    @Test
+    void rateLimitsEachSessionOnItsOwn() {
+        AdmissionControl admissionControl = new AdmissionControl(1, 2, 1000, 1000, 10);
+
+        assertEquals(0, admissionControl.admitSessionRequest("a"));
+        assertEquals(0, admissionControl.admitSessionRequest("a"));
+        assertTrue(admissionControl.admitSessionRequest("a") > 0);
+        assertEquals(0, admissionControl.admitSessionRequest("b"));
+
+        admissionControl.sessionEnded("a");
+        assertEquals(0, admissionControl.admitSessionRequest("a"));
+        assertEquals(1, admissionControl.rejections(AdmissionControl.Rejection.SESSION_RATE));
+    }
+
+    @Test
+    void rejectsARunawaySessionRightAway() {
+        try (EmbeddedServer embeddedServer = ApplicationContext.run(EmbeddedServer.class, Map.of(
+            "moon-phases.admission.session.rate", "1",
+            "moon-phases.admission.session.burst", "5"))) {
+            McpSyncClient client = McpClient.sync(HttpClientStreamableHttpTransport
+                    .builder(embeddedServer.getURI().toString() + "/mcp")
+                    .build())
+                .requestTimeout(Duration.ofSeconds(10))
+                .build();
+            client.initialize();
+
+            int rejected = 0;
+            long start = System.nanoTime();
+            for (int i = 0; i < 20; i++) {
+                try {
+                    client.callTool(new McpSchema.CallToolRequest("moon-phase-at-date", Map.of("date", "2025-10-01")));
+                } catch (RuntimeException e) {
+                    rejected++;
+                }
+            }
+
+            assertTrue(rejected >= 10, rejected + " calls rejected");
+            // Rejected, not queued until the timeout
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(10));
+            AdmissionControl admissionControl = embeddedServer.getApplicationContext().getBean(AdmissionControl.class);
+            assertTrue(admissionControl.rejections(AdmissionControl.Rejection.SESSION_RATE) >= rejected);
+
+            client.closeGracefully();
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package mn.mcp.server;
+
+import io.micronaut.context.ApplicationContext;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChebyshevEphemerisTest {
+    private static final long START = LocalDate.of(2000, 1, 1).toEpochDay() * 86400;
+    private static final long END = LocalDate.of(2011, 1, 1).toEpochDay() * 86400;
+
+    @Test
+    void agreesWithReferenceAlgorithm(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("moon-elongation.bin");
+        Files.write(file, ChebyshevEphemerisGenerator.generate(START, END, 8 * 86400, 12).array());
+        ChebyshevEphemeris ephemeris = ChebyshevEphemeris.map(file);
+
+        assertTrue(ephemeris.maxErrorDegrees() < 1E-7, "max error " + ephemeris.maxErrorDegrees());
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            long timestamp = START + (long) (random.nextDouble() * (END - START));
+            double expected = MoonPhasesService.normalizedPhaseDegrees(timestamp);
+            double actual = ephemeris.phaseDegrees(timestamp);
+            double error = Math.abs(expected - actual);
+            assertTrue(Math.min(error, 360.0 - error) <= ephemeris.maxErrorDegrees() * 1.5, "at " + timestamp);
+            assertTrue(actual >= 0.0 && actual < 360.0);
+        }
+    }
+
+    @Test
+    void fallsBackToReferenceOutsideOfSpan() {
+        ChebyshevEphemeris ephemeris = new ChebyshevEphemeris(ChebyshevEphemerisGenerator.generate(START, END, 8 * 86400, 12));
+        assertFalse(ephemeris.covers(START - 1));
+        assertEquals(MoonPhasesService.normalizedPhaseDegrees(START - 1), ephemeris.phaseDegrees(START - 1));
+        long afterEnd = END + 30L * 86400;
+        assertFalse(ephemeris.covers(afterEnd));
+        assertEquals(MoonPhasesService.normalizedPhaseDegrees(afterEnd), ephemeris.phaseDegrees(afterEnd));
+    }
+
+    @Test
+    void rejectsOtherFiles() {
+        assertThrows(IllegalArgumentException.class, () -> new ChebyshevEphemeris(ByteBuffer.allocate(64)));
+    }
+
+    @Test
+    void mapsTheSharedCopyOnlyWhenItHoldsTheContent(@TempDir Path directory) throws IOException {
+        byte[] content = ChebyshevEphemerisGenerator.generate(START, END, 8 * 86400, 12).array();
+        long timestamp = START + 86400;
+        double expected = new ChebyshevEphemeris(ByteBuffer.wrap(content.clone())).phaseDegrees(timestamp);
+
+        assertEquals(expected, ChebyshevEphemeris.mapCopy(content, directory).phaseDegrees(timestamp));
+        Path shared;
+        try (var files = Files.list(directory)) {
+            shared = files.filter(file -> file.getFileName().toString().endsWith(".bin")).findFirst().orElseThrow();
+        }
+        assertArrayEquals(content, Files.readAllBytes(shared));
+
+        // Altered in place, the shared copy is no longer trusted
+        byte[] altered = content.clone();
+        altered[ChebyshevEphemeris.HEADER_BYTES + 7] ^= 0x40;
+        Files.write(shared, altered);
+        assertNotEquals(expected, new ChebyshevEphemeris(ByteBuffer.wrap(altered.clone())).phaseDegrees(timestamp));
+        assertEquals(expected, ChebyshevEphemeris.mapCopy(content, directory).phaseDegrees(timestamp));
+    }
+
+    @Test
+    void generatedResourceIsWithinDocumentedError() {
+        ChebyshevEphemeris ephemeris = ChebyshevEphemeris.fromClasspath();
+        assertTrue(ephemeris.maxErrorDegrees() < 2E-8, "max error " + ephemeris.maxErrorDegrees());
+        assertTrue(ephemeris.covers(LocalDate.of(1800, 1, 1).toEpochDay() * 86400));
+        assertTrue(ephemeris.covers(LocalDate.of(2200, 12, 31).toEpochDay() * 86400));
+    }
+
+    @Test
+    void tierIsConfigurable() {
+        try (ApplicationContext context = ApplicationContext.run(Map.of("moon-phases.ephemeris.tier", "chebyshev"))) {
+            assertInstanceOf(ChebyshevEphemeris.class, context.getBean(Ephemeris.class));
+            MoonPhasesService service = context.getBean(MoonPhasesService.class);
+            assertEquals(MoonPhase.FIRST_QUARTER.ordinal(), service.phaseOrdinalAt(LocalDate.of(2025, 10, 1).toEpochDay() * 86400));
+        }
+        try (ApplicationContext context = ApplicationContext.run()) {
+            assertSame(Ephemeris.PRECISE, context.getBean(Ephemeris.class));
+        }
+        assertThrows(IllegalArgumentException.class, () -> EphemerisFactory.tier("approximate"));
+    }
+}
@@ -0,0 +1,123 @@
+package mn.mcp.server;
+
+import io.micronaut.scheduling.ScheduledExecutorTaskScheduler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CurrentMoonPhaseCacheTest {
+    private final MoonPhasesService service = new MoonPhasesService(new MoonPhaseIndex(true, 2000, 2050));
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+    private final MutableClock clock = new MutableClock();
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void expiresAtTheNextPhaseChange() {
+        long now = Instant.parse("2025-10-01T00:00:00Z").getEpochSecond();
+        long boundary = service.nextPhaseChangeAt(now);
+        clock.set(now);
+
+        CurrentMoonPhaseCache cache = new CurrentMoonPhaseCache(service, clock, new ScheduledExecutorTaskScheduler(executor));
+
+        assertEquals(MoonPhase.FIRST_QUARTER, cache.currentMoonPhase().phase());
+        assertEquals(Instant.ofEpochSecond(boundary), cache.expiresAt());
+        assertEquals(MoonPhase.FIRST_QUARTER.ordinal(), service.phaseOrdinalAt(boundary - 1));
+        assertEquals(MoonPhase.WAXING_GIBBOUS.ordinal(), service.phaseOrdinalAt(boundary));
+
+        clock.set(boundary);
+        assertEquals(MoonPhase.WAXING_GIBBOUS, cache.currentMoonPhase().phase());
+        assertTrue(cache.expiresAt().isAfter(Instant.ofEpochSecond(boundary)));
+    }
+
+    @Test
+    void swapsInTheNextPhaseInTheBackground() throws InterruptedException {
+        long now = Instant.parse("2025-10-01T00:00:00Z").getEpochSecond();
+        long boundary = service.nextPhaseChangeAt(now);
+        // The background refresh is due in a second
+        clock.set(boundary - 1);
+
+        CurrentMoonPhaseCache cache = new CurrentMoonPhaseCache(service, clock, new ScheduledExecutorTaskScheduler(executor));
+        clock.set(boundary);
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!cache.expiresAt().isAfter(Instant.ofEpochSecond(boundary)) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertEquals(service.nextPhaseChangeAt(boundary), cache.expiresAt().getEpochSecond());
+        assertEquals(MoonPhase.WAXING_GIBBOUS, cache.currentMoonPhase().phase());
+    }
+
+    @Test
+    void publishesAnEventOnlyWhenThePhaseChanges() {
+        long now = Instant.parse("2025-10-01T00:00:00Z").getEpochSecond();
+        long boundary = service.nextPhaseChangeAt(now);
+        clock.set(now);
+        List<MoonPhaseChangedEvent> events = new CopyOnWriteArrayList<>();
+
+        CurrentMoonPhaseCache cache = new CurrentMoonPhaseCache(service, clock, new ScheduledExecutorTaskScheduler(executor), events::add);
+        cache.currentMoonPhase();
+        clock.set(boundary - 1);
+        cache.currentMoonPhase();
+        assertTrue(events.isEmpty());
+
+        clock.set(boundary);
+        cache.currentMoonPhase();
+        cache.currentMoonPhase();
+        assertEquals(1, events.size());
+        assertEquals(MoonPhase.WAXING_GIBBOUS, events.getFirst().moonPhaseEmoji().phase());
+        assertEquals(Instant.ofEpochSecond(boundary), events.getFirst().since());
+    }
+
+    @Test
+    void publishesTheEventOutsideTheLock() {
+        long now = Instant.parse("2025-10-01T00:00:00Z").getEpochSecond();
+        clock.set(now);
+        AtomicReference<CurrentMoonPhaseCache> cache = new AtomicReference<>();
+        List<Boolean> lockHeld = new CopyOnWriteArrayList<>();
+
+        cache.set(new CurrentMoonPhaseCache(service, clock, new ScheduledExecutorTaskScheduler(executor),
+            event -> lockHeld.add(Thread.holdsLock(cache.get()))));
+        clock.set(service.nextPhaseChangeAt(now));
+        cache.get().currentMoonPhase();
+
+        assertEquals(List.of(false), lockHeld);
+    }
+
+    private static final class MutableClock extends Clock {
+        private volatile long millis;
+
+        void set(long unixTimestamp) {
+            millis = unixTimestamp * 1000L;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package mn.mcp.server;
+
+import io.micronaut.context.ApplicationContext;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FastEphemerisTest {
+    private static final long START = LocalDate.of(1800, 1, 1).toEpochDay() * 86400;
+    private static final long END = LocalDate.of(2201, 1, 1).toEpochDay() * 86400;
+    // The phase angle moves by about 12.2 degrees per day
+    private static final double DEGREES_PER_SECOND = 360.0 / 29.530589 / 86400;
+
+    @Test
+    void agreesWithReferenceAlgorithm() {
+        Random random = new Random(42);
+        for (int i = 0; i < 200_000; i++) {
+            long timestamp = START + (long) (random.nextDouble() * (END - START));
+            double expected = MoonPhasesService.normalizedPhaseDegrees(timestamp);
+            double actual = FastEphemeris.phaseDegrees(timestamp);
+            double error = Math.abs(expected - actual);
+            assertTrue(Math.min(error, 360.0 - error) <= FastEphemeris.MAX_ERROR_DEGREES, "at " + timestamp);
+            assertTrue(actual >= 0.0 && actual < 360.0);
+        }
+    }
+
+    @Test
+    void agreesOnThePhaseExceptNearItsBoundaries() {
+        // Every hour, plus a few seconds so as not to sample the same minute of the day
+        for (long timestamp = START; timestamp < END; timestamp += 3607) {
+            double expected = MoonPhasesService.normalizedPhaseDegrees(timestamp);
+            // Distance to the closest boundary between phases, at 22.5 + 45 * k degrees
+            double offset = ((expected - 22.5) % 45.0 + 45.0) % 45.0;
+            if (Math.min(offset, 45.0 - offset) <= FastEphemeris.MAX_ERROR_DEGREES) {
+                continue;
+            }
+            assertEquals(MoonPhasesService.phaseOrdinal(expected), MoonPhasesService.phaseOrdinal(FastEphemeris.phaseDegrees(timestamp)),
+                "at " + timestamp);
+        }
+        // The margin is under a second of lunar motion
+        assertTrue(FastEphemeris.MAX_ERROR_DEGREES / DEGREES_PER_SECOND < 1.0);
+    }
+
+    @Test
+    void sineIsWithinDocumentedError() {
+        for (double x = -20.0; x < 20.0; x += 1E-3) {
+            assertEquals(Math.sin(x), FastEphemeris.sin(x), 4E-6, "at " + x);
+        }
+    }
+
+    @Test
+    void tierIsSelectableByConfigurationOrPerCall() {
+        try (ApplicationContext context = ApplicationContext.run(Map.of("moon-phases.ephemeris.tier", "fast"))) {
+            assertSame(Ephemeris.FAST, context.getBean(Ephemeris.class));
+        }
+        MoonPhasesService service = new MoonPhasesService(new MoonPhaseIndex(false, 1900, 2100));
+        LocalDate date = LocalDate.of(2250, 6, 1);
+        MoonPhase expected = service.moonPhaseAtDate(date).phase();
+        assertEquals(expected, service.moonPhaseAtDate(date, EphemerisTier.PRECISE).phase());
+        assertEquals(expected, service.moonPhaseAtDate(date, EphemerisTier.FAST).phase());
+        // Only available when configured
+        assertThrows(IllegalArgumentException.class, () -> service.moonPhaseAtDate(date, EphemerisTier.CHEBYSHEV));
+        MoonPhasesService chebyshevService = new MoonPhasesService(new MoonPhaseIndex(false, 1900, 2100), ChebyshevEphemeris.fromClasspath());
+        assertEquals(expected, chebyshevService.moonPhaseAtDate(date, EphemerisTier.CHEBYSHEV).phase());
+    }
+
+    @Test
+    void tierOfTheCallBypassesTheIndex() {
+        KeplerSolverCounters counters = new KeplerSolverCounters();
+        MoonPhasesService service = new MoonPhasesService(new MoonPhaseIndex(true, 1900, 2100), Ephemeris.PRECISE, counters);
+        LocalDate date = LocalDate.of(2025, 10, 1);
+
+        MoonPhase indexed = service.moonPhaseAtDate(date).phase();
+        assertEquals(0, counters.solves());
+        assertEquals(indexed, service.moonPhaseAtDate(date, EphemerisTier.PRECISE).phase());
+        assertEquals(1, counters.solves());
+    }
+}
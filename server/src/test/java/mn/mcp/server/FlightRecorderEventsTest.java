@@ -0,0 +1,113 @@
+package mn.mcp.server;
+
+import io.micronaut.context.ApplicationContext;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.MediaType;
+import io.micronaut.http.client.HttpClient;
+import io.micronaut.runtime.server.EmbeddedServer;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@MicronautTest(startApplication = false)
+class FlightRecorderEventsTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void toolCallsAreRecorded(MoonPhasesMcpServer server) throws IOException {
+        List<RecordedEvent> events = record(McpToolCallEvent.NAME,
+            () -> server.moonPhaseAtDate(new MoonPhaseRequest(LocalDate.of(2025, 10, 1))));
+
+        assertEquals(1, events.size());
+        RecordedEvent event = events.getFirst();
+        assertEquals("moon-phase-at-date", event.getString("tool"));
+        assertEquals("success", event.getString("outcome"));
+        // Called outside of an HTTP request
+        assertNull(event.getString("session"));
+        assertEquals(-1, event.getLong("argumentSize"));
+    }
+
+    @Test
+    void toolCallsOfRehydratedSessionsAreRecordedUnderTheSessionOfTheClient() throws IOException {
+        try (EmbeddedServer stateless = ApplicationContext.run(EmbeddedServer.class, Map.of("moon-phases.transport.stateless", true));
+             HttpClient httpClient = stateless.getApplicationContext().createBean(HttpClient.class, stateless.getURL())) {
+            // A session initialized on another instance, forwarded by this one to a local session
+            String sessionId = "initialized-elsewhere";
+            List<RecordedEvent> events = record(McpToolCallEvent.NAME, () -> httpClient.toBlocking().exchange(HttpRequest.POST("/mcp",
+                    "{\"jsonrpc\":\"2.0\",\"id\":2,\"method\":\"tools/call\"," +
+                        "\"params\":{\"name\":\"moon-phase-at-date\",\"arguments\":{\"date\":\"2025-10-01\"}}}")
+                .contentType(MediaType.APPLICATION_JSON_TYPE)
+                .accept(MediaType.APPLICATION_JSON_TYPE, MediaType.TEXT_EVENT_STREAM_TYPE)
+                .header(McpSessionRehydrationFilter.PROTOCOL_VERSION_HEADER, "2025-06-18")
+                .header(McpTransportMetricsFilter.SESSION_HEADER, sessionId), String.class));
+
+            assertEquals(1, events.size());
+            assertEquals(sessionId, events.getFirst().getString("session"));
+        }
+    }
+
+    @Test
+    void calculationsAreRecorded() throws IOException {
+        List<RecordedEvent> events = record(MoonPhaseComputationEvent.NAME,
+            () -> MoonPhasesService.calculateMoonPhaseRadians(1_759_276_800L));
+
+        assertEquals(1, events.size());
+        RecordedEvent event = events.getFirst();
+        assertEquals(Instant.ofEpochSecond(1_759_276_800L), event.getInstant("instant"));
+        assertTrue(event.getInt("keplerIterations") > 0);
+    }
+
+    @Test
+    void calculationsAllocateNoEventWithoutARecording() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        int calculations = 10_000;
+        MoonPhasesService.calculateMoonPhaseRadians(1_759_276_800L);
+        MoonPhasesService.lunarStateAt(1_759_276_800L);
+
+        long phaseBytes = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < calculations; i++) {
+            MoonPhasesService.calculateMoonPhaseRadians(1_759_276_800L + i);
+        }
+        phaseBytes = threads.getCurrentThreadAllocatedBytes() - phaseBytes;
+        // An event would take more than 8 bytes per calculation, whereas the calculation itself allocates nothing
+        assertTrue(phaseBytes < calculations * 8L, phaseBytes + " bytes allocated by " + calculations + " calculations");
+
+        // Each state is allocated, 64 bytes, but not its event
+        long stateBytes = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < calculations; i++) {
+            MoonPhasesService.lunarStateAt(1_759_276_800L + i);
+        }
+        stateBytes = threads.getCurrentThreadAllocatedBytes() - stateBytes;
+        assertTrue(stateBytes < calculations * 96L, stateBytes + " bytes allocated by " + calculations + " states");
+    }
+
+    private List<RecordedEvent> record(String eventName, Runnable action) throws IOException {
+        Path file = directory.resolve("recording.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(eventName).withThreshold(Duration.ZERO);
+            recording.start();
+            action.run();
+            recording.stop();
+            recording.dump(file);
+        }
+        return RecordingFile.readAllEvents(file).stream()
+            .filter(event -> event.getEventType().getName().equals(eventName))
+            .toList();
+    }
+}
@@ -0,0 +1,103 @@
+package mn.mcp.server;
+
+import io.micronaut.context.ApplicationContext;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.annotation.RequestFilter;
+import io.micronaut.http.annotation.ServerFilter;
+import io.micronaut.http.client.HttpClient;
+import io.micronaut.http.client.exceptions.HttpClientResponseException;
+import io.micronaut.runtime.server.EmbeddedServer;
+import io.micronaut.scheduling.TaskExecutors;
+import io.micronaut.scheduling.annotation.ExecuteOn;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JitWarmupTest {
+
+    @Test
+    void reportsReadyOnceWarmedUp() throws InterruptedException {
+        try (EmbeddedServer server = ApplicationContext.run(EmbeddedServer.class, Map.of(
+                 "moon-phases.warmup.enabled", "true",
+                 "moon-phases.warmup.budget", "2s",
+                 "endpoints.health.details-visible", "ANONYMOUS"));
+             HttpClient client = HttpClient.create(server.getURL())) {
+            JitWarmup warmup = server.getApplicationContext().getBean(JitWarmup.class);
+
+            long deadline = System.nanoTime() + 30_000_000_000L;
+            while (warmup.state() == JitWarmup.State.PENDING || warmup.state() == JitWarmup.State.WARMING) {
+                assertTrue(System.nanoTime() < deadline, "The warm-up outlasted its budget");
+                Thread.sleep(50);
+            }
+
+            assertTrue(warmup.state() == JitWarmup.State.SETTLED || warmup.state() == JitWarmup.State.BUDGET_SPENT,
+                "Unexpected state " + warmup.state());
+            assertTrue(warmup.rounds() > 0);
+            String health = client.toBlocking().retrieve(HttpRequest.GET("/health/readiness"));
+            assertTrue(health.contains("\"jitWarmup\""), health);
+            assertTrue(health.contains("\"rounds\":" + warmup.rounds()), health);
+            // The loopback session was ended
+            assertEquals(0, server.getApplicationContext().getBean(McpSessionRegistry.class).size());
+        }
+    }
+
+    @Test
+    void isNotReadyWhileWarmingUp() throws InterruptedException {
+        WarmupHold.released = new CountDownLatch(1);
+        try (EmbeddedServer server = ApplicationContext.run(EmbeddedServer.class, Map.of(
+                 "spec.name", "JitWarmupTest",
+                 "moon-phases.warmup.enabled", "true",
+                 "moon-phases.warmup.budget", "2s"));
+             HttpClient client = HttpClient.create(server.getURL())) {
+            JitWarmup warmup = server.getApplicationContext().getBean(JitWarmup.class);
+            long deadline = System.nanoTime() + 10_000_000_000L;
+            while (warmup.state() == JitWarmup.State.PENDING) {
+                assertTrue(System.nanoTime() < deadline, "The warm-up did not start");
+                Thread.sleep(10);
+            }
+
+            // Held at its first loopback request
+            assertEquals(JitWarmup.State.WARMING, warmup.state());
+            HttpClientResponseException e = assertThrows(HttpClientResponseException.class,
+                () -> client.toBlocking().exchange(HttpRequest.GET("/health/readiness")));
+            assertEquals(HttpStatus.SERVICE_UNAVAILABLE, e.getStatus());
+
+            WarmupHold.released.countDown();
+            deadline = System.nanoTime() + 30_000_000_000L;
+            while (warmup.state() == JitWarmup.State.WARMING) {
+                assertTrue(System.nanoTime() < deadline, "The warm-up outlasted its budget");
+                Thread.sleep(50);
+            }
+            assertEquals(HttpStatus.OK, client.toBlocking().exchange(HttpRequest.GET("/health/readiness")).getStatus());
+        } finally {
+            WarmupHold.released.countDown();
+        }
+    }
+
+    @Test
+    void isDisabledByDefault() {
+        try (ApplicationContext context = ApplicationContext.run()) {
+            assertFalse(context.containsBean(JitWarmup.class));
+        }
+    }
+
+    /**
+     * Holds the loopback requests of the warm-up until released, so that the instance is caught warming up.
+     */
+    @ServerFilter("/mcp")
+    @Requires(property = "spec.name", value = "JitWarmupTest")
+    static class WarmupHold {
+        static volatile CountDownLatch released = new CountDownLatch(0);
+
+        @RequestFilter
+        @ExecuteOn(TaskExecutors.BLOCKING)
+        public void hold(HttpRequest<?> request) throws InterruptedException {
+            released.await();
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package mn.mcp.server;
+
+import io.micronaut.context.ApplicationContext;
+import io.micronaut.runtime.server.EmbeddedServer;
+import io.modelcontextprotocol.client.McpClient;
+import io.modelcontextprotocol.client.McpSyncClient;
+import io.modelcontextprotocol.client.transport.HttpClientStreamableHttpTransport;
+import io.modelcontextprotocol.spec.McpSchema;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Drives the server through the MCP client, over the Streamable HTTP transport, to measure what the microbenchmarks
+ * of {@code src/jmh} leave out: the transport, the sessions and the JSON-RPC round trips.
+ * Run it with {@code ./gradlew loadTest}, and configure it with Gradle properties, e.g. {@code -Pload.model=open -Pload.rate=2000}:
+ * <ul>
+ *     <li>{@code load.sessions}: the number of concurrent MCP sessions,</li>
+ *     <li>{@code load.model}: {@code closed}, where each session sends its next request as soon as it has the response
+ *     of the previous one, or {@code open}, where requests arrive at {@code load.rate} per second whatever the latency,</li>
+ *     <li>{@code load.warmup} and {@code load.duration}: the seconds of warm-up, not measured, and of measurement,</li>
+ *     <li>{@code load.mix}: the relative weights of the operations, e.g. {@code initialize:1,tools/list:4,current-moon-phase:45,moon-phase-at-date:50},
+ *     where {@code initialize} opens, initializes and closes a new session,</li>
+ *     <li>{@code load.p50}, {@code load.p99} and {@code load.p999}: the latency thresholds, in milliseconds, over all the operations,</li>
+ *     <li>{@code load.admission}: whether the admission control is enabled, {@code false} by default.</li>
+ * </ul>
+ * In the open model, the latency is measured from the instant each request was due, so that a server falling behind
+ * is not hidden by requests being sent late.
+ */
+@EnabledIfSystemProperty(named = "load.enabled", matches = "true")
+class McpLoadTest {
+    private static final long MAX_LATENCY_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    // Admission control would reject the excess load, unless enabled with -Pload.admission=true
+    private final EmbeddedServer embeddedServer = ApplicationContext.run(EmbeddedServer.class,
+        Map.of("moon-phases.admission.enabled", System.getProperty("load.admission", "false")));
+    private final List<McpSyncClient> sessions = new ArrayList<>();
+    private final Map<Operation, Recorder> recorders = new EnumMap<>(Operation.class);
+    private final AtomicLong errors = new AtomicLong();
+
+    enum Operation {
+        INITIALIZE("initialize"),
+        TOOLS_LIST("tools/list"),
+        CURRENT_MOON_PHASE("current-moon-phase"),
+        MOON_PHASE_AT_DATE("moon-phase-at-date");
+
+        private final String label;
+
+        Operation(String label) {
+            this.label = label;
+        }
+
+        static Operation of(String label) {
+            for (Operation operation : values()) {
+                if (operation.label.equals(label)) {
+                    return operation;
+                }
+            }
+            throw new IllegalArgumentException("Unknown operation '" + label + "' in load.mix");
+        }
+    }
+
+    @AfterEach
+    void stop() {
+        sessions.forEach(McpSyncClient::closeGracefully);
+        embeddedServer.close();
+    }
+
+    @Test
+    void latencyStaysWithinThresholds() {
+        int sessionCount = Integer.getInteger("load.sessions", 16);
+        String model = System.getProperty("load.model", "closed");
+        double rate = Double.parseDouble(System.getProperty("load.rate", "1000"));
+        Duration warmup = Duration.ofSeconds(Long.getLong("load.warmup", 5));
+        Duration duration = Duration.ofSeconds(Long.getLong("load.duration", 20));
+        Operation[] mix = mix(System.getProperty("load.mix", "initialize:1,tools/list:4,current-moon-phase:45,moon-phase-at-date:50"));
+        if (!model.equals("closed") && !model.equals("open")) {
+            throw new IllegalArgumentException("load.model must be 'closed' or 'open', not '" + model + "'");
+        }
+
+        for (Operation operation : Operation.values()) {
+            recorders.put(operation, new Recorder(MAX_LATENCY_NANOS, 3));
+        }
+        for (int i = 0; i < sessionCount; i++) {
+            McpSyncClient session = newSession();
+            session.initialize();
+            sessions.add(session);
+        }
+
+        run(model, mix, warmup, rate);
+        // The warm-up is over, start measuring from scratch
+        recorders.values().forEach(Recorder::reset);
+        errors.set(0);
+        long start = System.nanoTime();
+        run(model, mix, duration, rate);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        Histogram total = new Histogram(MAX_LATENCY_NANOS, 3);
+        System.out.printf(Locale.ROOT, "%n%d sessions, %s model, %.1f s%n", sessionCount, model, seconds);
+        System.out.printf(Locale.ROOT, "%-20s %10s %10s %10s %10s %10s %10s%n", "operation", "count", "ops/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = recorders.get(operation).getIntervalHistogram();
+            if (histogram.getTotalCount() > 0) {
+                report(operation.label, histogram, seconds);
+                total.add(histogram);
+            }
+        }
+        report("all", total, seconds);
+        System.out.printf(Locale.ROOT, "errors: %d%n", errors.get());
+
+        assertEquals(0, errors.get(), "failed operations");
+        assertTrue(total.getTotalCount() > 0, "no operation completed");
+        assertWithin("p50", total.getValueAtPercentile(50.0), Double.parseDouble(System.getProperty("load.p50", "10")));
+        assertWithin("p99", total.getValueAtPercentile(99.0), Double.parseDouble(System.getProperty("load.p99", "100")));
+        assertWithin("p99.9", total.getValueAtPercentile(99.9), Double.parseDouble(System.getProperty("load.p999", "250")));
+    }
+
+    private void run(String model, Operation[] mix, Duration duration, double ratePerSecond) {
+        if (model.equals("open")) {
+            runOpen(mix, duration, ratePerSecond);
+        } else {
+            runClosed(mix, duration);
+        }
+    }
+
+    /**
+     * Each session sends a request as soon as it has the response to the previous one.
+     */
+    private void runClosed(Operation[] mix, Duration duration) {
+        long end = System.nanoTime() + duration.toNanos();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (McpSyncClient session : sessions) {
+                executor.execute(() -> {
+                    while (System.nanoTime() < end) {
+                        execute(session, pick(mix), System.nanoTime());
+                    }
+                });
+            }
+        }
+    }
+
+    /**
+     * Requests arrive at a fixed rate, each on the next session in turn, however long the previous ones take.
+     */
+    private void runOpen(Operation[] mix, Duration duration, double ratePerSecond) {
+        long interval = (long) (1e9 / ratePerSecond);
+        long start = System.nanoTime();
+        long arrivals = duration.toNanos() / interval;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; i < arrivals; i++) {
+                long due = start + i * interval;
+                long wait = due - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                McpSyncClient session = sessions.get((int) (i % sessions.size()));
+                Operation operation = pick(mix);
+                executor.execute(() -> execute(session, operation, due));
+            }
+        }
+    }
+
+    private void execute(McpSyncClient session, Operation operation, long startNanos) {
+        try {
+            switch (operation) {
+                case INITIALIZE -> {
+                    McpSyncClient client = newSession();
+                    client.initialize();
+                    client.closeGracefully();
+                }
+                case TOOLS_LIST -> session.listTools();
+                case CURRENT_MOON_PHASE -> check(session.callTool(new McpSchema.CallToolRequest("current-moon-phase", Map.of())));
+                case MOON_PHASE_AT_DATE -> {
+                    LocalDate date = LocalDate.ofEpochDay(ThreadLocalRandom.current().nextLong(-25_000, 50_000));
+                    check(session.callTool(new McpSchema.CallToolRequest("moon-phase-at-date", Map.of("date", date.toString()))));
+                }
+            }
+            recorders.get(operation).recordValue(Math.min(System.nanoTime() - startNanos, MAX_LATENCY_NANOS));
+        } catch (RuntimeException e) {
+            errors.incrementAndGet();
+        }
+    }
+
+    private McpSyncClient newSession() {
+        return McpClient.sync(HttpClientStreamableHttpTransport
+                .builder(embeddedServer.getURI().toString() + "/mcp")
+                .build())
+            .requestTimeout(Duration.ofSeconds(30))
+            .build();
+    }
+
+    private static void check(McpSchema.CallToolResult result) {
+        if (Boolean.TRUE.equals(result.isError())) {
+            throw new IllegalStateException("Tool call failed: " + result.content());
+        }
+    }
+
+    /**
+     * @return The operations repeated as many times as their weight, to pick from at random.
+     */
+    static Operation[] mix(String weights) {
+        List<Operation> operations = new ArrayList<>();
+        for (String entry : weights.split(",")) {
+            int separator = entry.lastIndexOf(':');
+            Operation operation = Operation.of(entry.substring(0, separator).trim());
+            int weight = Integer.parseInt(entry.substring(separator + 1).trim());
+            for (int i = 0; i < weight; i++) {
+                operations.add(operation);
+            }
+        }
+        if (operations.isEmpty()) {
+            throw new IllegalArgumentException("load.mix has no operation with a positive weight");
+        }
+        return operations.toArray(Operation[]::new);
+    }
+
+    private static Operation pick(Operation[] mix) {
+        return mix[ThreadLocalRandom.current().nextInt(mix.length)];
+    }
+
+    private static void report(String label, Histogram histogram, double seconds) {
+        System.out.printf(Locale.ROOT, "%-20s %10d %10.0f %10.3f %10.3f %10.3f %10.3f%n", label, histogram.getTotalCount(),
+            histogram.getTotalCount() / seconds, millis(histogram.getValueAtPercentile(50.0)), millis(histogram.getValueAtPercentile(99.0)),
+            millis(histogram.getValueAtPercentile(99.9)), millis(histogram.getMaxValue()));
+    }
+
+    private static void assertWithin(String percentile, long valueNanos, double thresholdMillis) {
+        assertTrue(millis(valueNanos) <= thresholdMillis,
+            String.format(Locale.ROOT, "%s latency of %.3f ms above the threshold of %.3f ms", percentile, millis(valueNanos), thresholdMillis));
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+}
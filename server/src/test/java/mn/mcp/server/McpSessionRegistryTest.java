@@ -0,0 +1,269 @@
+package mn.mcp.server;
+
+import io.micronaut.context.ApplicationContext;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.MediaType;
+import io.micronaut.http.client.HttpClient;
+import io.micronaut.http.client.exceptions.HttpClientResponseException;
+import io.micronaut.runtime.server.EmbeddedServer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.lang.management.ManagementFactory;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class McpSessionRegistryTest {
+    static final String INITIALIZE = "{\"jsonrpc\":\"2.0\",\"id\":0,\"method\":\"initialize\",\"params\":{\"protocolVersion\":\"2025-06-18\"," +
+        "\"capabilities\":{},\"clientInfo\":{\"name\":\"test\",\"version\":\"1.0.0\"}}}";
+    static final String LIST_TOOLS = "{\"jsonrpc\":\"2.0\",\"id\":1,\"method\":\"tools/list\"}";
+
+    private final MutableClock clock = new MutableClock();
+    private final List<String> evicted = new ArrayList<>();
+
+    @Test
+    void boundsTheNumberOfSessions() {
+        McpSessionRegistry registry = new McpSessionRegistry(2, Duration.ofMinutes(1), clock, evicted::add);
+
+        assertTrue(registry.reserve());
+        registry.register("a");
+        assertTrue(registry.reserve());
+        assertFalse(registry.reserve());
+        assertEquals(1, registry.rejections());
+
+        // An initialization that failed gives its room back
+        registry.release();
+        assertTrue(registry.reserve());
+        registry.register("b");
+        assertEquals(2, registry.size());
+        assertFalse(registry.reserve());
+
+        registry.remove("a");
+        assertTrue(registry.reserve());
+    }
+
+    @Test
+    void endsTheIdleSessions() {
+        McpSessionRegistry registry = new McpSessionRegistry(10, Duration.ofMinutes(1), clock, evicted::add);
+        registry.reserve();
+        registry.register("idle");
+        registry.reserve();
+        registry.register("active");
+
+        for (int second = 1; second <= 90; second++) {
+            clock.advance(Duration.ofSeconds(1));
+            registry.touch("active");
+            registry.expire();
+            if (second < 60) {
+                assertTrue(evicted.isEmpty(), "evicted after " + second + " seconds");
+            }
+        }
+        assertEquals(List.of("idle"), evicted);
+        assertEquals(1, registry.evictions());
+        assertFalse(registry.touch("idle"));
+        assertTrue(registry.touch("active"));
+        assertEquals(1, registry.size());
+    }
+
+    @Test
+    void aSessionRegisteredAgainKeepsASingleTimer() {
+        McpSessionRegistry registry = new McpSessionRegistry(10, Duration.ofMinutes(1), clock, evicted::add);
+        for (int i = 0; i < 100; i++) {
+            registry.reserve();
+            registry.register("rehydrated");
+            registry.touch("rehydrated");
+            registry.remove("rehydrated");
+        }
+        registry.reserve();
+        registry.register("rehydrated");
+        registry.reserve();
+        registry.register("rehydrated");
+
+        // Once the wheel has reached them, the timers of the ended registrations are gone
+        for (int second = 1; second <= 90; second++) {
+            clock.advance(Duration.ofSeconds(1));
+            registry.touch("rehydrated");
+            registry.expire();
+        }
+        assertEquals(1, registry.timers());
+        assertEquals(1, registry.size());
+        assertTrue(evicted.isEmpty());
+
+        // Then left idle, it is evicted once
+        for (int second = 1; second <= 90; second++) {
+            clock.advance(Duration.ofSeconds(1));
+            registry.expire();
+        }
+        assertEquals(List.of("rehydrated"), evicted);
+        assertEquals(0, registry.timers());
+        assertEquals(0, registry.size());
+        assertTrue(registry.reserve());
+    }
+
+    @Test
+    void idleSessionsAreEndedOnTheServer() throws InterruptedException {
+        try (EmbeddedServer embeddedServer = ApplicationContext.run(EmbeddedServer.class,
+                Map.of("moon-phases.sessions.idle-timeout", "500ms"));
+             HttpClient httpClient = embeddedServer.getApplicationContext().createBean(HttpClient.class, embeddedServer.getURL())) {
+            McpSessionRegistry registry = embeddedServer.getApplicationContext().getBean(McpSessionRegistry.class);
+            String sessionId = initialize(httpClient);
+            assertEquals(1, registry.size());
+
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (registry.size() > 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(50);
+            }
+            assertEquals(0, registry.size());
+            assertEquals(1, registry.evictions());
+
+            // The session was ended in the MCP transport too
+            deadline = System.currentTimeMillis() + 5_000;
+            HttpStatus status;
+            do {
+                Thread.sleep(50);
+                status = post(httpClient, LIST_TOOLS, sessionId);
+            } while (status != HttpStatus.NOT_FOUND && System.currentTimeMillis() < deadline);
+            assertEquals(HttpStatus.NOT_FOUND, status);
+        }
+    }
+
+    @Test
+    void rejectsNewSessionsWhenFull() {
+        try (EmbeddedServer embeddedServer = ApplicationContext.run(EmbeddedServer.class, Map.of("moon-phases.sessions.max", 1));
+             HttpClient httpClient = embeddedServer.getApplicationContext().createBean(HttpClient.class, embeddedServer.getURL())) {
+            initialize(httpClient);
+
+            HttpClientResponseException rejected = assertThrows(HttpClientResponseException.class, () -> initialize(httpClient));
+            assertEquals(HttpStatus.SERVICE_UNAVAILABLE, rejected.getStatus());
+            assertNotNull(rejected.getResponse().getHeaders().get("Retry-After"));
+        }
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "load.enabled", matches = "true")
+    void heapStaysFlatWithTensOfThousandsOfSessions() throws Exception {
+        int maxSessions = 2_000;
+        int sessionCount = Integer.getInteger("load.registry.sessions", 40_000);
+        try (EmbeddedServer embeddedServer = ApplicationContext.run(EmbeddedServer.class, Map.of(
+                "moon-phases.sessions.max", maxSessions,
+                "moon-phases.sessions.idle-timeout", "1s",
+                "moon-phases.admission.enabled", false));
+             HttpClient httpClient = embeddedServer.getApplicationContext().createBean(HttpClient.class, embeddedServer.getURL())) {
+            McpSessionRegistry registry = embeddedServer.getApplicationContext().getBean(McpSessionRegistry.class);
+            ExecutorService executor = Executors.newFixedThreadPool(16);
+            AtomicInteger opened = new AtomicInteger();
+            try {
+                // Warm up, with as many sessions as the instance holds
+                openSessions(httpClient, registry, executor, opened, maxSessions * 2);
+                long baseline = usedHeapAfterGc();
+
+                openSessions(httpClient, registry, executor, opened, sessionCount);
+                long used = usedHeapAfterGc();
+
+                String summary = opened.get() + " sessions opened, " + registry.evictions() + " evicted, " +
+                    registry.rejections() + " rejections, heap " + (baseline >> 20) + " MB then " + (used >> 20) + " MB";
+                assertTrue(registry.size() <= maxSessions, registry.size() + " sessions held; " + summary);
+                assertTrue(registry.evictions() >= opened.get() - maxSessions, summary);
+                assertTrue(used - baseline < 64L << 20, summary);
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    private static void openSessions(HttpClient httpClient, McpSessionRegistry registry, ExecutorService executor,
+                                     AtomicInteger opened, int count) throws Exception {
+        List<Future<?>> futures = new ArrayList<>();
+        AtomicInteger remaining = new AtomicInteger(count);
+        for (int i = 0; i < 16; i++) {
+            futures.add(executor.submit(() -> {
+                while (remaining.getAndDecrement() > 0) {
+                    while (true) {
+                        try {
+                            initialize(httpClient);
+                            opened.incrementAndGet();
+                            break;
+                        } catch (HttpClientResponseException e) {
+                            assertEquals(HttpStatus.SERVICE_UNAVAILABLE, e.getStatus());
+                            Thread.sleep(registry.retryAfter().toMillis());
+                        }
+                    }
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+    }
+
+    private static long usedHeapAfterGc() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(200);
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static String initialize(HttpClient httpClient) {
+        HttpResponse<String> response = httpClient.toBlocking().exchange(request(INITIALIZE, null), String.class);
+        String sessionId = response.header(McpTransportMetricsFilter.SESSION_HEADER);
+        assertNotNull(sessionId);
+        return sessionId;
+    }
+
+    private static HttpStatus post(HttpClient httpClient, String body, String sessionId) {
+        try {
+            return httpClient.toBlocking().exchange(request(body, sessionId), String.class).getStatus();
+        } catch (HttpClientResponseException e) {
+            return e.getStatus();
+        }
+    }
+
+    private static HttpRequest<String> request(String body, String sessionId) {
+        var request = HttpRequest.POST("/mcp", body)
+            .contentType(MediaType.APPLICATION_JSON_TYPE)
+            .accept(MediaType.APPLICATION_JSON_TYPE, MediaType.TEXT_EVENT_STREAM_TYPE);
+        if (sessionId != null) {
+            request.header(McpTransportMetricsFilter.SESSION_HEADER, sessionId);
+        }
+        return request;
+    }
+
+    private static final class MutableClock extends Clock {
+        private volatile long millis = Instant.parse("2025-10-01T00:00:00Z").toEpochMilli();
+
+        void advance(Duration duration) {
+            millis += duration.toMillis();
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package mn.mcp.server;
+
+import io.micronaut.context.ApplicationContext;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.MediaType;
+import io.micronaut.http.MutableHttpRequest;
+import io.micronaut.http.client.HttpClient;
+import io.micronaut.http.client.exceptions.HttpClientResponseException;
+import io.micronaut.runtime.server.EmbeddedServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class McpSessionRehydrationTest {
+    private static final String INITIALIZE = "{\"jsonrpc\":\"2.0\",\"id\":1,\"method\":\"initialize\",\"params\":{\"protocolVersion\":\"2025-06-18\"," +
+        "\"capabilities\":{},\"clientInfo\":{\"name\":\"round-robin\",\"version\":\"1.0.0\"}}}";
+    private static final String INITIALIZED = "{\"jsonrpc\":\"2.0\",\"method\":\"notifications/initialized\"}";
+    private static final String TOOL_CALL = "{\"jsonrpc\":\"2.0\",\"id\":2,\"method\":\"tools/call\"," +
+        "\"params\":{\"name\":\"moon-phase-at-date\",\"arguments\":{\"date\":\"2025-10-01\"}}}";
+
+    private final List<EmbeddedServer> servers = new ArrayList<>();
+    private final List<HttpClient> clients = new ArrayList<>();
+    private int next;
+
+    @AfterEach
+    void stop() {
+        clients.forEach(HttpClient::close);
+        servers.forEach(EmbeddedServer::close);
+    }
+
+    @Test
+    void statelessInstancesServeAnySession() {
+        for (int i = 0; i < 3; i++) {
+            start(ApplicationContext.builder().properties(Map.of("moon-phases.transport.stateless", true)).run(EmbeddedServer.class));
+        }
+
+        assertRoundRobinSessionWorks();
+    }
+
+    @Test
+    void instancesSharingASessionStoreServeItsSessions() {
+        SharedMcpSessionStore store = new SharedMcpSessionStore();
+        for (int i = 0; i < 3; i++) {
+            start(ApplicationContext.builder().singletons(store).run(EmbeddedServer.class));
+        }
+
+        String sessionId = assertRoundRobinSessionWorks();
+
+        assertTrue(store.find(sessionId).isPresent());
+        HttpResponse<String> deleted = client().toBlocking().exchange(request(HttpRequest.DELETE("/mcp"), sessionId), String.class);
+        assertTrue(deleted.code() < 300);
+        assertTrue(store.find(sessionId).isEmpty());
+    }
+
+    @Test
+    void sessionIdleOnOneInstanceStaysActiveOnTheOthers() throws InterruptedException {
+        SharedMcpSessionStore store = new SharedMcpSessionStore();
+        start(ApplicationContext.builder().singletons(store).properties(Map.of("moon-phases.sessions.idle-timeout", "300ms")).run(EmbeddedServer.class));
+        start(ApplicationContext.builder().singletons(store).run(EmbeddedServer.class));
+        McpSessionRegistry idleRegistry = servers.getFirst().getApplicationContext().getBean(McpSessionRegistry.class);
+
+        // Initialized on the first instance, then only used on the second one until the first evicts it
+        String sessionId = initialize();
+        call(sessionId, INITIALIZED);
+        long deadline = System.currentTimeMillis() + 10_000;
+        do {
+            next = 1;
+            assertTrue(call(sessionId, TOOL_CALL).contains("FIRST_QUARTER"));
+            Thread.sleep(50);
+        } while (idleRegistry.evictions() == 0 && System.currentTimeMillis() < deadline);
+        assertEquals(1, idleRegistry.evictions());
+        assertEquals(0, idleRegistry.size());
+
+        assertTrue(store.find(sessionId).isPresent());
+        next = 1;
+        assertTrue(call(sessionId, TOOL_CALL).contains("FIRST_QUARTER"));
+        // And the first instance serves it again, rehydrated
+        next = 0;
+        assertTrue(call(sessionId, TOOL_CALL).contains("FIRST_QUARTER"));
+    }
+
+    @Test
+    void clientsCannotPassTheirRequestsOffAsLoopbackOnes() {
+        SharedMcpSessionStore store = new SharedMcpSessionStore();
+        for (int i = 0; i < 2; i++) {
+            start(ApplicationContext.builder().singletons(store).run(EmbeddedServer.class));
+        }
+        String sessionId = initialize();
+        call(sessionId, INITIALIZED);
+
+        // Rehydrated on the second instance all the same
+        next = 1;
+        HttpResponse<String> called = client().toBlocking().exchange(request(HttpRequest.POST("/mcp", TOOL_CALL), sessionId)
+            .header(McpSessionRehydrationFilter.REHYDRATION_HEADER, "true"), String.class);
+        assertTrue(called.getBody().orElse("").contains("FIRST_QUARTER"));
+
+        // Ended for good, rather than on an instance only
+        next = 1;
+        HttpResponse<String> deleted = client().toBlocking().exchange(request(HttpRequest.DELETE("/mcp"), sessionId)
+            .header(McpSessionRehydrationFilter.EVICTION_HEADER, "true"), String.class);
+        assertTrue(deleted.code() < 300);
+        assertTrue(store.find(sessionId).isEmpty());
+    }
+
+    @Test
+    void sessionsOfOtherInstancesAreUnknownByDefault() {
+        for (int i = 0; i < 2; i++) {
+            start(ApplicationContext.run(EmbeddedServer.class));
+        }
+        String sessionId = initialize();
+
+        HttpClientResponseException e = assertThrows(HttpClientResponseException.class, () -> call(sessionId,
+            "{\"jsonrpc\":\"2.0\",\"id\":2,\"method\":\"tools/list\"}"));
+        assertEquals(HttpStatus.NOT_FOUND, e.getStatus());
+    }
+
+    /**
+     * Sends each request of a session to the next instance in turn.
+     *
+     * @return The session id.
+     */
+    private String assertRoundRobinSessionWorks() {
+        String sessionId = initialize();
+        call(sessionId, INITIALIZED);
+        for (int i = 0; i < 2 * servers.size(); i++) {
+            String body = call(sessionId, "{\"jsonrpc\":\"2.0\",\"id\":" + (i + 2) + ",\"method\":\"tools/call\"," +
+                "\"params\":{\"name\":\"moon-phase-at-date\",\"arguments\":{\"date\":\"2025-10-01\"}}}");
+            assertTrue(body.contains("FIRST_QUARTER"), body);
+        }
+        return sessionId;
+    }
+
+    private String initialize() {
+        HttpResponse<String> response = client().toBlocking().exchange(request(HttpRequest.POST("/mcp", INITIALIZE), null), String.class);
+        String sessionId = response.header(McpTransportMetricsFilter.SESSION_HEADER);
+        assertNotNull(sessionId);
+        return sessionId;
+    }
+
+    private String call(String sessionId, String body) {
+        HttpResponse<String> response = client().toBlocking().exchange(request(HttpRequest.POST("/mcp", body), sessionId), String.class);
+        assertTrue(response.code() < 300);
+        return response.getBody().orElse("");
+    }
+
+    private HttpClient client() {
+        return clients.get(next++ % clients.size());
+    }
+
+    private void start(EmbeddedServer server) {
+        servers.add(server);
+        clients.add(server.getApplicationContext().createBean(HttpClient.class, server.getURL()));
+    }
+
+    private static <B> MutableHttpRequest<B> request(MutableHttpRequest<B> request, String sessionId) {
+        request.contentType(MediaType.APPLICATION_JSON_TYPE)
+            .accept(MediaType.APPLICATION_JSON_TYPE, MediaType.TEXT_EVENT_STREAM_TYPE)
+            .header(McpSessionRehydrationFilter.PROTOCOL_VERSION_HEADER, "2025-06-18");
+        if (sessionId != null) {
+            request.header(McpTransportMetricsFilter.SESSION_HEADER, sessionId);
+        }
+        return request;
+    }
+
+    /**
+     * Stands in for a store shared between the instances, such as a database.
+     */
+    static final class SharedMcpSessionStore implements McpSessionStore {
+        private final Map<String, McpSession> sessions = new ConcurrentHashMap<>();
+
+        @Override
+        public void save(McpSession session) {
+            sessions.put(session.id(), session);
+        }
+
+        @Override
+        public Optional<McpSession> find(String id) {
+            return Optional.ofNullable(sessions.get(id));
+        }
+
+        @Override
+        public void remove(String id) {
+            sessions.remove(id);
+        }
+    }
+}
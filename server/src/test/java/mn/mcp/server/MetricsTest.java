@@ -0,0 +1,88 @@
+package mn.mcp.server;
+
+import io.micronaut.context.ApplicationContext;
+import io.micronaut.http.client.HttpClient;
+import io.micronaut.runtime.server.EmbeddedServer;
+import io.modelcontextprotocol.client.McpClient;
+import io.modelcontextprotocol.client.McpSyncClient;
+import io.modelcontextprotocol.client.transport.HttpClientStreamableHttpTransport;
+import io.modelcontextprotocol.spec.McpSchema;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricsTest {
+    EmbeddedServer embeddedServer = ApplicationContext.run(EmbeddedServer.class);
+    HttpClient httpClient = embeddedServer.getApplicationContext().createBean(HttpClient.class, embeddedServer.getURL());
+
+    @AfterEach
+    void stop() {
+        httpClient.close();
+        embeddedServer.close();
+    }
+
+    @Test
+    void toolCallsAndSessionsAreExposedToPrometheus() {
+        McpSyncClient client = McpClient.sync(HttpClientStreamableHttpTransport
+                .builder(embeddedServer.getURI().toString() + "/mcp")
+                .build())
+            .requestTimeout(Duration.ofSeconds(10))
+            .build();
+        client.initialize();
+
+        client.callTool(new McpSchema.CallToolRequest("moon-phase-at-date", Map.of("date", "2025-10-01")));
+        client.callTool(new McpSchema.CallToolRequest("next-phase-event", Map.of("phase", "FULL_MOON")));
+        try {
+            client.callTool(new McpSchema.CallToolRequest("moon-phase-range", Map.of("start", "2025-12-31", "end", "2025-01-01")));
+        } catch (RuntimeException e) {
+            // Reported as an error to the client
+        }
+
+        String metrics = httpClient.toBlocking().retrieve("/prometheus");
+        assertEquals(1.0, value(metrics, "mcp_tool_calls_seconds_count{outcome=\"success\",tool=\"moon-phase-at-date\"}"), metrics);
+        assertTrue(metrics.contains("mcp_tool_calls_seconds_bucket{outcome=\"success\",tool=\"next-phase-event\""), metrics);
+        assertEquals(1.0, value(metrics, "mcp_tool_errors_total{exception=\"IllegalArgumentException\",tool=\"moon-phase-range\"}"), metrics);
+        assertEquals(1.0, value(metrics, "mcp_sessions_active"), metrics);
+        assertTrue(value(metrics, "mcp_requests_active") >= 0, metrics);
+        assertTrue(value(metrics, "ephemeris_kepler_iterations_total") > 0, metrics);
+        assertTrue(value(metrics, "mcp_json_serialization_seconds_count") > 0, metrics);
+
+        client.closeGracefully();
+    }
+
+    @Test
+    void keplerSolverIterationsAreCounted() {
+        KeplerSolverCounters counters = new KeplerSolverCounters();
+        KeplerSolverCounters otherCounters = new KeplerSolverCounters();
+        MoonPhasesService.calculateMoonPhaseRadians(1_759_276_800L, counters);
+        assertEquals(1, counters.solves());
+        assertTrue(counters.iterations() > 0);
+        assertEquals(0, otherCounters.solves());
+    }
+
+    @Test
+    void keplerSolverCountersBelongToTheirApplicationContext() {
+        try (ApplicationContext other = ApplicationContext.run()) {
+            KeplerSolverCounters counters = embeddedServer.getApplicationContext().getBean(KeplerSolverCounters.class);
+            KeplerSolverCounters otherCounters = other.getBean(KeplerSolverCounters.class);
+            assertNotSame(counters, otherCounters);
+            long otherSolves = otherCounters.solves();
+            long solves = counters.solves();
+            embeddedServer.getApplicationContext().getBean(MoonPhasesService.class).phaseAngleDegreesAt(1_759_276_800L);
+            assertEquals(solves + 1, counters.solves());
+            assertEquals(otherSolves, otherCounters.solves());
+        }
+    }
+
+    private static double value(String metrics, String series) {
+        return metrics.lines()
+            .filter(line -> line.startsWith(series + " "))
+            .mapToDouble(line -> Double.parseDouble(line.substring(series.length() + 1).split(" ")[0]))
+            .findFirst()
+            .orElse(Double.NaN);
+    }
+}
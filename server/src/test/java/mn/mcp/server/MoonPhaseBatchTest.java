@@ -0,0 +1,78 @@
+package mn.mcp.server;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoonPhaseBatchTest {
+    private static final long START = LocalDate.of(1800, 1, 1).toEpochDay() * 86400;
+    private static final long END = LocalDate.of(2200, 1, 1).toEpochDay() * 86400;
+    // Not a multiple of the vector length, so that the scalar tail is exercised too
+    private static final int COUNT = 100_003;
+
+    private final long[] timestamps = randomTimestamps();
+
+    @Test
+    void vectorApiIsAvailableInTests() {
+        assertTrue(MoonPhaseBatch.VECTOR_API_AVAILABLE);
+    }
+
+    @Test
+    void vectorizedAndScalarAreIdentical() {
+        byte[] vectorOrdinals = new byte[COUNT];
+        double[] vectorAngles = new double[COUNT];
+        VectorizedMoonPhaseBatch.evaluate(timestamps, vectorOrdinals, vectorAngles);
+
+        byte[] scalarOrdinals = new byte[COUNT];
+        double[] scalarAngles = new double[COUNT];
+        MoonPhaseBatch.evaluateScalar(timestamps, 0, scalarOrdinals, scalarAngles);
+
+        assertArrayEquals(scalarOrdinals, vectorOrdinals);
+        for (int i = 0; i < COUNT; i++) {
+            assertEquals(Double.doubleToLongBits(scalarAngles[i]), Double.doubleToLongBits(vectorAngles[i]), "at " + timestamps[i]);
+        }
+    }
+
+    @Test
+    void batchAgreesWithReferenceAlgorithm() {
+        byte[] ordinals = new byte[COUNT];
+        double[] angles = new double[COUNT];
+        new MoonPhasesService(new MoonPhaseIndex(false, 1900, 2100)).moonPhasesAt(timestamps, ordinals, angles);
+
+        for (int i = 0; i < COUNT; i++) {
+            double expected = MoonPhasesService.normalizedPhaseDegrees(timestamps[i]);
+            double error = Math.abs(expected - angles[i]);
+            assertTrue(Math.min(error, 360.0 - error) < 1E-9, "at " + timestamps[i]);
+            assertTrue(angles[i] >= 0.0 && angles[i] < 360.0);
+            assertEquals(MoonPhasesService.phaseOrdinal(expected), ordinals[i], "at " + timestamps[i]);
+        }
+    }
+
+    @Test
+    void anglesAreOptional() {
+        byte[] ordinals = new byte[COUNT];
+        MoonPhaseBatch.evaluate(timestamps, ordinals, null);
+        assertEquals(MoonPhasesService.phaseOrdinal(MoonPhasesService.normalizedPhaseDegrees(timestamps[0])), ordinals[0]);
+    }
+
+    @Test
+    void rejectsShortOutputArrays() {
+        MoonPhasesService moonPhasesService = new MoonPhasesService(new MoonPhaseIndex(false, 1900, 2100));
+        assertThrows(IllegalArgumentException.class,
+            () -> moonPhasesService.moonPhasesAt(timestamps, new byte[COUNT - 1], null));
+        assertThrows(IllegalArgumentException.class,
+            () -> moonPhasesService.moonPhasesAt(timestamps, new byte[COUNT], new double[1]));
+    }
+
+    private static long[] randomTimestamps() {
+        Random random = new Random(42);
+        long[] timestamps = new long[COUNT];
+        for (int i = 0; i < COUNT; i++) {
+            timestamps[i] = START + (long) (random.nextDouble() * (END - START));
+        }
+        return timestamps;
+    }
+}
@@ -0,0 +1,43 @@
+package mn.mcp.server;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoonPhaseIndexTest {
+    private static final long START = LocalDate.of(2000, 1, 1).toEpochDay() * 86400;
+    private static final long END = LocalDate.of(2011, 1, 1).toEpochDay() * 86400;
+
+    private final MoonPhaseIndex index = new MoonPhaseIndex(true, 2000, 2010);
+
+    @Test
+    void indexAgreesWithAlgorithm() {
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            long timestamp = START + (long) (random.nextDouble() * (END - START));
+            int expected = MoonPhasesService.phaseOrdinal(MoonPhasesService.normalizedPhaseDegrees(timestamp));
+            assertEquals(expected, index.phaseOrdinalAt(timestamp), "at " + timestamp);
+        }
+    }
+
+    @Test
+    void transitionsAreSecondPrecise() {
+        MoonPhaseIndex.Transitions transitions = MoonPhaseIndex.build(START, END);
+        for (int i = 0; i < transitions.instants().length; i++) {
+            long instant = transitions.instants()[i];
+            int phase = transitions.phases()[i];
+            assertEquals(phase, MoonPhasesService.phaseOrdinal(MoonPhasesService.normalizedPhaseDegrees(instant)));
+            assertEquals((phase + 7) % 8, MoonPhasesService.phaseOrdinal(MoonPhasesService.normalizedPhaseDegrees(instant - 1)));
+        }
+    }
+
+    @Test
+    void outsideOfSpanIsNotIndexed() {
+        assertEquals(-1, index.phaseOrdinalAt(START - 1));
+        assertEquals(-1, index.phaseOrdinalAt(END));
+        assertEquals(-1, new MoonPhaseIndex(false, 2000, 2010).phaseOrdinalAt(START));
+    }
+}
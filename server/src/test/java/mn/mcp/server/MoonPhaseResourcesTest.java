@@ -0,0 +1,111 @@
+package mn.mcp.server;
+
+import io.micronaut.context.ApplicationContext;
+import io.micronaut.runtime.server.EmbeddedServer;
+import io.modelcontextprotocol.client.McpClient;
+import io.modelcontextprotocol.client.McpSyncClient;
+import io.modelcontextprotocol.client.transport.HttpClientStreamableHttpTransport;
+import io.modelcontextprotocol.spec.McpSchema;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoonPhaseResourcesTest {
+    EmbeddedServer embeddedServer = ApplicationContext.run(EmbeddedServer.class);
+    McpSyncClient client;
+
+    @BeforeEach
+    void connect() {
+        client = McpClient.sync(HttpClientStreamableHttpTransport
+                .builder(embeddedServer.getURI().toString() + "/mcp")
+                .build())
+            .requestTimeout(Duration.ofSeconds(10))
+            .build();
+        client.initialize();
+    }
+
+    @AfterEach
+    void stop() {
+        client.closeGracefully();
+        embeddedServer.close();
+    }
+
+    @Test
+    void listsTheCurrentPhaseAndTheCalendarTemplate() {
+        assertTrue(client.listResources().resources().stream()
+            .anyMatch(resource -> resource.uri().equals(MoonPhaseResources.CURRENT_URI)));
+        assertTrue(client.listResourceTemplates().resourceTemplates().stream()
+            .anyMatch(template -> template.uriTemplate().equals(MoonPhaseResources.CALENDAR_URI_TEMPLATE)));
+    }
+
+    @Test
+    void readsTheCurrentPhase() {
+        McpSchema.ReadResourceResult result = client.readResource(new McpSchema.ReadResourceRequest(MoonPhaseResources.CURRENT_URI));
+
+        McpSchema.TextResourceContents contents = (McpSchema.TextResourceContents) result.contents().getFirst();
+        MoonPhase phase = embeddedServer.getApplicationContext().getBean(CurrentMoonPhaseCache.class).currentMoonPhase().phase();
+        assertEquals("application/json", contents.mimeType());
+        assertTrue(contents.text().contains(phase.name()), contents.text());
+    }
+
+    @Test
+    void readsTheCalendarOfAMonth() {
+        McpSchema.ReadResourceResult result = client.readResource(new McpSchema.ReadResourceRequest("moon://calendar/2025-10"));
+
+        McpSchema.TextResourceContents contents = (McpSchema.TextResourceContents) result.contents().getFirst();
+        assertEquals("moon://calendar/2025-10", contents.uri());
+        assertTrue(contents.text().contains("\"month\":\"2025-10\""), contents.text());
+        assertTrue(contents.text().contains("2025-10-31"), contents.text());
+        assertTrue(contents.text().contains("FULL_MOON"), contents.text());
+    }
+
+    @Test
+    void parsesTheMonthOfTheCalendarUri() {
+        assertEquals(YearMonth.of(2025, 10), MoonPhaseResources.month("moon://calendar/2025-10"));
+        assertThrows(IllegalArgumentException.class, () -> MoonPhaseResources.month("moon://calendar/October"));
+        assertThrows(IllegalArgumentException.class, () -> MoonPhaseResources.month("moon://current"));
+    }
+
+    @Test
+    void notifiesOnlyTheSubscribersWhenThePhaseChanges() throws InterruptedException {
+        BlockingQueue<List<McpSchema.ResourceContents>> updates = new LinkedBlockingQueue<>();
+        McpSyncClient subscriber = client(updates);
+        subscriber.initialize();
+        subscriber.subscribeResource(new McpSchema.SubscribeRequest(MoonPhaseResources.CURRENT_URI));
+        BlockingQueue<List<McpSchema.ResourceContents>> bystanderUpdates = new LinkedBlockingQueue<>();
+        McpSyncClient bystander = client(bystanderUpdates);
+        bystander.initialize();
+
+        embeddedServer.getApplicationContext().getBean(MoonPhaseResourceNotifier.class)
+            .onMoonPhaseChanged(new MoonPhaseChangedEvent(MoonPhaseEmoji.of(MoonPhase.FULL_MOON), Instant.now()));
+
+        // The client reads the resource again when notified
+        List<McpSchema.ResourceContents> contents = updates.poll(10, TimeUnit.SECONDS);
+        assertNotNull(contents);
+        assertEquals(MoonPhaseResources.CURRENT_URI, contents.getFirst().uri());
+        // Sent at the same time as to the subscriber, so it would have arrived by now
+        assertNull(bystanderUpdates.poll(1, TimeUnit.SECONDS));
+
+        subscriber.closeGracefully();
+        bystander.closeGracefully();
+    }
+
+    private McpSyncClient client(BlockingQueue<List<McpSchema.ResourceContents>> updates) {
+        return McpClient.sync(HttpClientStreamableHttpTransport
+                .builder(embeddedServer.getURI().toString() + "/mcp")
+                .build())
+            .requestTimeout(Duration.ofSeconds(10))
+            .resourcesUpdateConsumer(updates::add)
+            .build();
+    }
+}
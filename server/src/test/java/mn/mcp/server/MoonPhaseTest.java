@@ -19,4 +19,14 @@ class MoonPhaseTest {
         assertEquals("Full Moon", MoonPhase.FULL_MOON.toString());
         assertEquals("New Moon", MoonPhase.NEW_MOON.toString());
     }
+
+    @Test
+    void emoji_isCanonicalPerPhase() {
+        assertEquals("🌕", MoonPhase.FULL_MOON.getEmoji());
+        for (MoonPhase phase : MoonPhase.values()) {
+            MoonPhaseEmoji moonPhaseEmoji = MoonPhaseEmoji.of(phase);
+            assertSame(moonPhaseEmoji, MoonPhaseEmoji.of(phase));
+            assertEquals(new MoonPhaseEmoji(phase, phase.getEmoji()), moonPhaseEmoji);
+        }
+    }
 }
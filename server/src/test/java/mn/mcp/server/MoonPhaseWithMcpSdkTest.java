@@ -0,0 +1,95 @@
+package mn.mcp.server;
+
+import io.micronaut.context.ApplicationContext;
+import io.micronaut.core.type.Argument;
+import io.micronaut.json.JsonMapper;
+import io.micronaut.runtime.server.EmbeddedServer;
+import io.modelcontextprotocol.client.McpClient;
+import io.modelcontextprotocol.client.McpSyncClient;
+import io.modelcontextprotocol.client.transport.HttpClientStreamableHttpTransport;
+import io.modelcontextprotocol.spec.McpSchema;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MoonPhaseWithMcpSdkTest {
+    EmbeddedServer embeddedServer = ApplicationContext.run(EmbeddedServer.class);
+
+    @Test
+    void testLocalServer() {
+        HttpClientStreamableHttpTransport transport = HttpClientStreamableHttpTransport
+            .builder(embeddedServer.getURI().toString() + "/mcp")
+            .build();
+
+        McpSyncClient client = McpClient.sync(transport)
+            .requestTimeout(Duration.ofSeconds(10))
+            .loggingConsumer(System.out::println)
+            .progressConsumer(System.out::println)
+            .build();
+
+        client.initialize();
+
+        McpSchema.ListToolsResult tools = client.listTools();
+        tools.tools().forEach(System.out::println);
+
+        McpSchema.CallToolResult result = client.callTool(
+            new McpSchema.CallToolRequest("moon-phase-at-date", Map.of("date", "2025-10-01"))
+        );
+
+        assertTrue(result.content().getFirst().toString().contains("FIRST_QUARTER"));
+
+        client.closeGracefully();
+    }
+
+    @Test
+    void testMoonPhaseRangeStreamsProgress() throws IOException {
+        HttpClientStreamableHttpTransport transport = HttpClientStreamableHttpTransport
+            .builder(embeddedServer.getURI().toString() + "/mcp")
+            .build();
+
+        List<McpSchema.ProgressNotification> notifications = new CopyOnWriteArrayList<>();
+        McpSyncClient client = McpClient.sync(transport)
+            .requestTimeout(Duration.ofSeconds(10))
+            .progressConsumer(notifications::add)
+            .build();
+
+        client.initialize();
+        JsonMapper jsonMapper = embeddedServer.getApplicationContext().getBean(JsonMapper.class);
+
+        McpSchema.CallToolResult result = client.callTool(
+            new McpSchema.CallToolRequest("moon-phase-range",
+                Map.of("start", "2025-01-01", "end", "2025-12-31"),
+                Map.of("progressToken", "range"))
+        );
+
+        // The days are only in the notifications, which read back as the whole range
+        MoonPhaseRange streamed = jsonMapper.readValue(((McpSchema.TextContent) result.content().getFirst()).text(), MoonPhaseRange.class);
+        assertEquals(LocalDate.of(2025, 12, 31), streamed.end());
+        assertTrue(streamed.days().isEmpty());
+        assertFalse(notifications.isEmpty());
+        assertEquals(365.0, notifications.getLast().progress());
+        List<MoonPhaseDay> days = new ArrayList<>();
+        for (McpSchema.ProgressNotification notification : notifications) {
+            days.addAll(jsonMapper.readValue(notification.message(), Argument.listOf(MoonPhaseDay.class)));
+        }
+
+        McpSchema.CallToolResult whole = client.callTool(
+            new McpSchema.CallToolRequest("moon-phase-range", Map.of("start", "2025-01-01", "end", "2025-12-31"))
+        );
+        MoonPhaseRange range = jsonMapper.readValue(((McpSchema.TextContent) whole.content().getFirst()).text(), MoonPhaseRange.class);
+        assertEquals(365, range.days().size());
+        assertEquals(range.days(), days);
+
+        client.closeGracefully();
+    }
+}
@@ -0,0 +1,53 @@
+package mn.mcp.server;
+
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@MicronautTest(startApplication = false)
+class MoonPhasesMcpServerTest {
+
+    @Test
+    void moonPhaseAtSergioBirthday(MoonPhasesMcpServer server) {
+        MoonPhaseEmoji moonPhaseEmoji = server.moonPhaseAtDate(new MoonPhaseRequest(LocalDate.of(1982, 10, 28)));
+        assertEquals(MoonPhase.WAXING_GIBBOUS, moonPhaseEmoji.phase());
+    }
+
+    @Test
+    void currentMoonPhase(MoonPhasesMcpServer server) {
+        assertDoesNotThrow(server::currentMoonPhase);
+    }
+
+    @Test
+    void moonPhasesBatch(MoonPhasesMcpServer server) {
+        MoonPhasesBatchResult result = server.moonPhasesBatch(new MoonPhasesBatchRequest(
+            List.of(LocalDate.of(1982, 10, 28), LocalDate.of(2025, 10, 1), LocalDate.of(1982, 10, 28)),
+            List.of(Instant.parse("2025-10-07T03:47:00Z"))));
+
+        assertEquals(List.of(MoonPhase.WAXING_GIBBOUS, MoonPhase.FIRST_QUARTER, MoonPhase.WAXING_GIBBOUS),
+            result.dates().stream().map(MoonPhaseEmoji::phase).toList());
+        assertEquals(MoonPhase.FULL_MOON, result.instants().getFirst().phase());
+        assertTrue(server.moonPhasesBatch(new MoonPhasesBatchRequest(null, null)).dates().isEmpty());
+    }
+
+    @Test
+    void moonIlluminationAgeAndRiseSetTimes(MoonPhasesMcpServer server) {
+        MoonIllumination illumination = server.moonIllumination(new MoonInstantRequest(LocalDate.of(2025, 10, 7), null));
+        assertEquals(Instant.parse("2025-10-07T00:00:00Z"), illumination.instant());
+        assertTrue(illumination.illuminatedFraction() > 0.99);
+
+        MoonAge age = server.moonAge(new MoonInstantRequest(null, Instant.parse("2025-10-07T03:47:00Z")));
+        assertEquals(14.8, age.ageDays(), 0.5);
+        assertThrows(IllegalArgumentException.class,
+            () -> server.moonAge(new MoonInstantRequest(LocalDate.of(2025, 10, 7), Instant.parse("2025-10-07T03:47:00Z"))));
+
+        RiseSetTimes times = server.riseSetTimes(new RiseSetRequest(LocalDate.of(2025, 10, 7), 48.8566, 2.3522));
+        assertNotNull(times.sunrise());
+        assertTrue(times.sunrise().isBefore(times.sunset()));
+    }
+}
@@ -0,0 +1,161 @@
+package mn.mcp.server;
+
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@MicronautTest(startApplication = false)
+class MoonPhasesServiceTestEmoji {
+
+    @Test
+    void moonPhaseAtSergioBirthday(MoonPhasesService service) {
+        MoonPhaseEmoji moonPhaseEmoji = service.moonPhaseAtDate(LocalDate.of(1982, 10, 28));
+        assertEquals(MoonPhase.WAXING_GIBBOUS, moonPhaseEmoji.phase());
+    }
+
+    @Test
+    void moonPhase(MoonPhasesService service) {
+        long timestamp = LocalDate.of(1982, 10, 28).toEpochDay() * (24 * 60 * 60);
+        MoonPhaseEmoji moonPhaseEmoji = service.moonPhaseAtUnixTimestamp(timestamp);
+        assertEquals(MoonPhase.WAXING_GIBBOUS, moonPhaseEmoji.phase());
+    }
+
+    @Test
+    void primitiveApiMatchesMoonPhaseEmoji(MoonPhasesService service) {
+        long timestamp = LocalDate.of(1982, 10, 28).toEpochDay() * (24 * 60 * 60);
+        assertEquals(MoonPhase.WAXING_GIBBOUS.ordinal(), service.phaseOrdinalAt(timestamp));
+        assertSame(MoonPhaseEmoji.of(MoonPhase.WAXING_GIBBOUS), service.moonPhaseAtUnixTimestamp(timestamp));
+
+        double angle = service.phaseAngleDegreesAt(timestamp);
+        assertTrue(angle >= 112.5 && angle < 157.5, "angle of " + angle);
+    }
+
+    @Test
+    void moonPhaseToday(MoonPhasesService service) {
+        assertDoesNotThrow(service::currentMoonPhase);
+    }
+
+    @Test
+    void moonPhaseRangeMatchesDailyLookups(MoonPhasesService service) {
+        List<List<MoonPhaseDay>> chunks = new ArrayList<>();
+        MoonPhaseRange range = service.moonPhaseRange(LocalDate.of(2024, 1, 1), LocalDate.of(2025, 12, 31), chunks::add);
+
+        assertEquals(731, range.days().size());
+        assertEquals(range.days(), chunks.stream().flatMap(List::stream).toList());
+        for (MoonPhaseDay day : range.days()) {
+            assertEquals(service.moonPhaseAtDate(day.date()).phase(), day.phase(), "on " + day.date());
+        }
+    }
+
+    @Test
+    void moonPhaseRangeRejectsReversedDates(MoonPhasesService service) {
+        assertThrows(IllegalArgumentException.class,
+            () -> service.moonPhaseRange(LocalDate.of(2025, 1, 2), LocalDate.of(2025, 1, 1), chunk -> { }));
+    }
+
+    @Test
+    void nextFullMoon(MoonPhasesService service) {
+        List<MoonPhaseEvent> events = service.nextPhaseEvents(Instant.parse("2025-10-01T00:00:00Z"), MoonPhase.FULL_MOON, 1);
+
+        // The full moon of October 2025 was on the 7th at 03:47 UTC
+        Duration error = Duration.between(Instant.parse("2025-10-07T03:47:00Z"), events.getFirst().instant()).abs();
+        assertTrue(error.compareTo(Duration.ofMinutes(30)) < 0, "off by " + error);
+        assertEquals(MoonPhase.FULL_MOON, events.getFirst().phase());
+    }
+
+    @Test
+    void nextPhaseEventsFollowEachOther(MoonPhasesService service) {
+        List<MoonPhaseEvent> events = service.nextPhaseEvents(Instant.parse("2025-10-01T00:00:00Z"), null, 8);
+
+        assertEquals(8, events.size());
+        for (int i = 1; i < events.size(); i++) {
+            MoonPhaseEvent previous = events.get(i - 1);
+            MoonPhaseEvent event = events.get(i);
+            assertEquals((previous.phase().ordinal() + 2) % 8, event.phase().ordinal());
+            Duration gap = Duration.between(previous.instant(), event.instant());
+            assertTrue(gap.compareTo(Duration.ofDays(6)) > 0 && gap.compareTo(Duration.ofDays(9)) < 0, "gap of " + gap);
+            // The event is exact to the second: the phase angle is reached then, and not a second before
+            long instant = event.instant().getEpochSecond();
+            double target = event.phase().ordinal() * 45.0;
+            assertTrue(offsetFrom(target, instant) >= 0);
+            assertTrue(offsetFrom(target, instant - 1) < 0);
+        }
+    }
+
+    private static double offsetFrom(double targetDegrees, long unixTimestamp) {
+        return MoonPhasesService.fixAngle(MoonPhasesService.normalizedPhaseDegrees(unixTimestamp) - targetDegrees + 180.0) - 180.0;
+    }
+
+    @Test
+    void nextPhaseEventRejectsIntermediatePhases(MoonPhasesService service) {
+        assertThrows(IllegalArgumentException.class,
+            () -> service.nextPhaseEvents(Instant.now(), MoonPhase.WAXING_GIBBOUS, 1));
+    }
+
+    @Test
+    void moonPhaseCalendarListsDaysAndTransitions(MoonPhasesService service) {
+        MoonPhaseCalendar calendar = service.moonPhaseCalendar(YearMonth.of(2025, 10));
+
+        assertEquals("2025-10", calendar.month());
+        assertEquals(31, calendar.days().size());
+        assertEquals(LocalDate.of(2025, 10, 31), calendar.days().getLast().date());
+        assertEquals(MoonPhase.FIRST_QUARTER, calendar.days().getFirst().phase());
+
+        // About a change every 3.7 days
+        assertTrue(calendar.transitions().size() >= 7 && calendar.transitions().size() <= 10, calendar.transitions().toString());
+        Instant previous = Instant.parse("2025-10-01T00:00:00Z");
+        for (MoonPhaseEvent transition : calendar.transitions()) {
+            long second = transition.instant().getEpochSecond();
+            assertTrue(transition.instant().isAfter(previous) || transition.instant().equals(previous));
+            assertTrue(transition.instant().isBefore(Instant.parse("2025-11-01T00:00:00Z")));
+            assertEquals(transition.phase().ordinal(), service.phaseOrdinalAt(second));
+            assertNotEquals(transition.phase().ordinal(), service.phaseOrdinalAt(second - 1));
+            previous = transition.instant();
+        }
+        // The full moon of 2025-10-07 is reached within that phase
+        assertTrue(calendar.transitions().stream().anyMatch(transition -> transition.phase() == MoonPhase.FULL_MOON
+            && transition.instant().isBefore(Instant.parse("2025-10-07T03:47:00Z"))
+            && transition.instant().isAfter(Instant.parse("2025-10-04T00:00:00Z"))));
+    }
+
+    @Test
+    void moonPhasesAtDatesKeepsTheOrderAndDuplicates(MoonPhasesService service) {
+        List<LocalDate> dates = new ArrayList<>();
+        for (int i = 0; i < 3 * MoonPhasesService.PARALLEL_BATCH_THRESHOLD; i++) {
+            // Dates in a shuffled order, each of them repeated
+            dates.add(LocalDate.of(1950, 1, 1).plusDays((i * 7919L) % (2 * MoonPhasesService.PARALLEL_BATCH_THRESHOLD)));
+        }
+
+        List<MoonPhaseEmoji> phases = service.moonPhasesAtDates(dates);
+
+        assertEquals(dates.size(), phases.size());
+        for (int i = 0; i < dates.size(); i++) {
+            assertSame(service.moonPhaseAtDate(dates.get(i)), phases.get(i), dates.get(i).toString());
+        }
+    }
+
+    @Test
+    void moonPhasesAtInstantsAreToTheSecond(MoonPhasesService service) {
+        long boundary = service.nextPhaseChangeAt(Instant.parse("2025-10-01T00:00:00Z").getEpochSecond());
+        List<Instant> instants = List.of(Instant.ofEpochSecond(boundary), Instant.ofEpochSecond(boundary - 1), Instant.ofEpochSecond(boundary));
+
+        List<MoonPhaseEmoji> phases = service.moonPhasesAtInstants(instants);
+
+        assertEquals(List.of(MoonPhase.WAXING_GIBBOUS, MoonPhase.FIRST_QUARTER, MoonPhase.WAXING_GIBBOUS),
+            phases.stream().map(MoonPhaseEmoji::phase).toList());
+    }
+
+    @Test
+    void moonPhasesBatchRejectsTooManyDates(MoonPhasesService service) {
+        assertThrows(IllegalArgumentException.class,
+            () -> service.moonPhasesAtUnixTimestamps(new long[MoonPhasesService.MAX_BATCH_SIZE + 1]));
+    }
+}
@@ -0,0 +1,131 @@
+package mn.mcp.server;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoonSkyServiceTest {
+    private final LunarStateCache cache = new LunarStateCache(4096);
+    private final MoonSkyService moonSkyService =
+        new MoonSkyService(cache, new MoonPhasesService(new MoonPhaseIndex(true, 2000, 2050)));
+
+    @Test
+    void stateHasTheSamePhaseAngleAsThePhaseTools() {
+        Random random = new Random(42);
+        for (int i = 0; i < 10_000; i++) {
+            long unixTimestamp = -5_000_000_000L + (long) (random.nextDouble() * 10_000_000_000L);
+            assertEquals(MoonPhasesService.normalizedPhaseDegrees(unixTimestamp),
+                MoonPhasesService.lunarStateAt(unixTimestamp).phaseDegrees());
+        }
+    }
+
+    @Test
+    void fullMoonIsFullyIlluminated() {
+        MoonIllumination illumination = moonSkyService.moonIllumination(Instant.parse("2025-10-07T03:47:30Z"));
+
+        assertEquals(Instant.parse("2025-10-07T03:47:00Z"), illumination.instant());
+        assertEquals(1.0, illumination.illuminatedFraction(), 1E-4);
+        assertEquals(180.0, illumination.phaseAngle(), 1.0);
+        assertEquals(MoonPhase.FULL_MOON, illumination.phase());
+
+        MoonAge age = moonSkyService.moonAge(Instant.parse("2025-10-07T03:47:00Z"));
+        assertEquals(29.530589 / 2, age.ageDays(), 0.5);
+        assertEquals(illumination.illuminatedFraction(), age.illuminatedFraction());
+    }
+
+    @Test
+    void newMoonIsDark() {
+        MoonIllumination illumination = moonSkyService.moonIllumination(Instant.parse("2025-10-21T12:25:00Z"));
+
+        assertEquals(0.0, illumination.illuminatedFraction(), 1E-3);
+        assertEquals(MoonPhase.NEW_MOON, illumination.phase());
+        assertTrue(moonSkyService.moonAge(Instant.parse("2025-10-22T12:25:00Z")).ageDays() < 1.5);
+    }
+
+    @Test
+    void sunRisesAndSetsAsInTheAlmanacs() {
+        // Paris on the summer solstice: 05:47 and 21:58 CEST
+        RiseSetTimes paris = moonSkyService.riseSetTimes(LocalDate.of(2025, 6, 21), 48.8566, 2.3522);
+        assertWithin(Instant.parse("2025-06-21T03:47:00Z"), paris.sunrise(), Duration.ofMinutes(2));
+        assertWithin(Instant.parse("2025-06-21T19:58:00Z"), paris.sunset(), Duration.ofMinutes(2));
+
+        // New York on the winter solstice: 07:17 and 16:32 EST
+        RiseSetTimes newYork = moonSkyService.riseSetTimes(LocalDate.of(2025, 12, 21), 40.7128, -74.0060);
+        assertWithin(Instant.parse("2025-12-21T12:17:00Z"), newYork.sunrise(), Duration.ofMinutes(2));
+        assertWithin(Instant.parse("2025-12-21T21:32:00Z"), newYork.sunset(), Duration.ofMinutes(2));
+    }
+
+    @Test
+    void sunNeverSetsOnAPolarDay() {
+        RiseSetTimes tromso = moonSkyService.riseSetTimes(LocalDate.of(2025, 6, 21), 69.6496, 18.9560);
+
+        assertNull(tromso.sunrise());
+        assertNull(tromso.sunset());
+    }
+
+    @Test
+    void moonRisesAtTheHorizon() {
+        // Around the full moon, the moon rises about when the sun sets
+        RiseSetTimes paris = moonSkyService.riseSetTimes(LocalDate.of(2025, 10, 6), 48.8566, 2.3522);
+        assertWithin(paris.sunset(), paris.moonrise(), Duration.ofMinutes(60));
+
+        // The interpolated instants are within a couple of minutes of those of a minute by minute search
+        for (Instant instant : new Instant[]{paris.moonrise(), paris.moonset()}) {
+            LunarState before = MoonPhasesService.lunarStateAt(instant.getEpochSecond() - 120);
+            LunarState after = MoonPhasesService.lunarStateAt(instant.getEpochSecond() + 120);
+            assertNotEquals(Math.signum(moonHeight(before, 48.8566, 2.3522)), Math.signum(moonHeight(after, 48.8566, 2.3522)),
+                "No crossing of the horizon around " + instant);
+        }
+    }
+
+    @Test
+    void dayRunsInTheLocalMeanTimeOfTheLongitude() {
+        RiseSetTimes sydney = moonSkyService.riseSetTimes(LocalDate.of(2025, 10, 6), -33.87, 151.21);
+        Instant localMidnight = Instant.parse("2025-10-06T00:00:00Z").minusSeconds(Math.round(151.21 * 240));
+
+        for (Instant instant : new Instant[]{sydney.sunrise(), sydney.sunset(), sydney.moonrise(), sydney.moonset()}) {
+            assertNotNull(instant);
+            assertFalse(instant.isBefore(localMidnight));
+            assertTrue(instant.isBefore(localMidnight.plus(Duration.ofDays(1))));
+        }
+    }
+
+    @Test
+    void toolsShareTheStatesOfTheSameDay() {
+        moonSkyService.moonIllumination(Instant.parse("2025-10-06T00:00:00Z"));
+        long misses = cache.misses();
+        moonSkyService.moonAge(Instant.parse("2025-10-06T00:00:30Z"));
+        assertEquals(misses, cache.misses());
+
+        // The hours of the day, the first of which was calculated for the illumination
+        moonSkyService.riseSetTimes(LocalDate.of(2025, 10, 6), 51.4779, 0.0);
+        assertTrue(cache.misses() - misses <= 25, "Misses: " + (cache.misses() - misses));
+
+        // Another location on the same meridian needs no calculation at all
+        misses = cache.misses();
+        moonSkyService.riseSetTimes(LocalDate.of(2025, 10, 6), 40.4168, 0.0);
+        assertEquals(misses, cache.misses());
+    }
+
+    @Test
+    void rejectsLocationsOffEarth() {
+        assertThrows(IllegalArgumentException.class, () -> moonSkyService.riseSetTimes(LocalDate.of(2025, 10, 6), 91.0, 0.0));
+        assertThrows(IllegalArgumentException.class, () -> moonSkyService.riseSetTimes(LocalDate.of(2025, 10, 6), 0.0, Double.NaN));
+    }
+
+    private static double moonHeight(LunarState state, double latitude, double longitude) {
+        double localSiderealTimeDeg = MoonSkyService.greenwichSiderealTimeDegrees(state.unixTimestamp()) + longitude;
+        return MoonSkyService.sinAltitude(state.moonRightAscensionDeg(), state.moonDeclinationDeg(), localSiderealTimeDeg,
+            Math.sin(Math.toRadians(latitude)), Math.cos(Math.toRadians(latitude))) - Math.sin(Math.toRadians(0.125));
+    }
+
+    private static void assertWithin(Instant expected, Instant actual, Duration tolerance) {
+        assertNotNull(actual);
+        assertTrue(Duration.between(expected, actual).abs().compareTo(tolerance) <= 0, "Expected " + expected + " but was " + actual);
+    }
+}
@@ -0,0 +1,127 @@
+package mn.mcp.server;
+
+import io.modelcontextprotocol.client.McpClient;
+import io.modelcontextprotocol.client.McpSyncClient;
+import io.modelcontextprotocol.client.transport.HttpClientStreamableHttpTransport;
+import io.modelcontextprotocol.spec.McpSchema;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the calls of {@link MoonPhaseWithMcpSdkTest} against the native binary, built with {@code ./gradlew nativeBinaryTest}.
+ * <p>
+ * It also checks the footprint of the binary against thresholds, configured with Gradle properties,
+ * e.g. {@code -Pnative.startup-millis=100}:
+ * <ul>
+ *     <li>{@code native.startup-millis}: the milliseconds from the start of the process to the server listening, 50 by default,</li>
+ *     <li>{@code native.resident-set-kb}: the resident set of the process once the calls are done, in kB, 102400 by default.
+ *     Only checked where {@code /proc} exists.</li>
+ * </ul>
+ */
+@EnabledIfSystemProperty(named = "native.binary", matches = ".+")
+class NativeBinaryTest {
+    private Process server;
+    private McpSyncClient client;
+    private long startupMillis;
+
+    @BeforeEach
+    void startNativeBinary() throws Exception {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        long start = System.nanoTime();
+        ProcessBuilder processBuilder = new ProcessBuilder(System.getProperty("native.binary")).inheritIO();
+        processBuilder.environment().put("MICRONAUT_SERVER_PORT", String.valueOf(port));
+        server = processBuilder.start();
+        awaitListening(port);
+        startupMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        HttpClientStreamableHttpTransport transport = HttpClientStreamableHttpTransport
+            .builder("http://localhost:" + port + "/mcp")
+            .build();
+        client = McpClient.sync(transport)
+            .requestTimeout(Duration.ofSeconds(10))
+            .build();
+        client.initialize();
+    }
+
+    @AfterEach
+    void stopNativeBinary() throws Exception {
+        if (client != null) {
+            client.closeGracefully();
+        }
+        server.destroy();
+        server.waitFor();
+    }
+
+    @Test
+    void toolsWorkInTheNativeBinary() throws IOException {
+        McpSchema.ListToolsResult tools = client.listTools();
+        assertTrue(tools.tools().stream().anyMatch(tool -> tool.name().equals("moon-phase-at-date")));
+
+        McpSchema.CallToolResult result = client.callTool(
+            new McpSchema.CallToolRequest("moon-phase-at-date", Map.of("date", "2025-10-01"))
+        );
+        assertTrue(result.content().getFirst().toString().contains("FIRST_QUARTER"));
+
+        McpSchema.CallToolResult range = client.callTool(
+            new McpSchema.CallToolRequest("moon-phase-range",
+                Map.of("start", "2025-01-01", "end", "2025-12-31"),
+                Map.of("progressToken", "range"))
+        );
+        assertTrue(range.content().getFirst().toString().contains("2025-12-31"));
+    }
+
+    @Test
+    void startsQuicklyWithASmallFootprint() throws IOException {
+        long maxStartupMillis = Long.getLong("native.startup-millis", 50);
+        assertTrue(startupMillis < maxStartupMillis,
+            "the native binary started in " + startupMillis + " ms, over " + maxStartupMillis + " ms");
+
+        client.callTool(new McpSchema.CallToolRequest("moon-phase-range", Map.of("start", "2025-01-01", "end", "2025-12-31")));
+        long residentSetKilobytes = residentSetKilobytes();
+        long maxResidentSetKilobytes = Long.getLong("native.resident-set-kb", 102_400);
+        if (residentSetKilobytes >= 0) {
+            assertTrue(residentSetKilobytes < maxResidentSetKilobytes,
+                "the resident set of the native binary is " + residentSetKilobytes + " kB, over " + maxResidentSetKilobytes + " kB");
+        }
+    }
+
+    private void awaitListening(int port) throws InterruptedException {
+        for (int attempt = 0; ; attempt++) {
+            try (Socket ignored = new Socket("localhost", port)) {
+                return;
+            } catch (IOException e) {
+                if (attempt == 1000 || !server.isAlive()) {
+                    fail("The native binary is not listening on port " + port, e);
+                }
+                Thread.sleep(5);
+            }
+        }
+    }
+
+    private long residentSetKilobytes() throws IOException {
+        Path status = Path.of("/proc", String.valueOf(server.pid()), "status");
+        if (!Files.exists(status)) {
+            return -1;
+        }
+        return Files.readAllLines(status).stream()
+            .filter(line -> line.startsWith("VmRSS:"))
+            .map(line -> Long.parseLong(line.replaceAll("\\D", "")))
+            .findFirst()
+            .orElse(-1L);
+    }
+}
@@ -0,0 +1,135 @@
+package mn.mcp.server;
+
+import io.micronaut.context.ApplicationContext;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.MediaType;
+import io.micronaut.http.MutableHttpRequest;
+import io.micronaut.http.client.HttpClient;
+import io.micronaut.runtime.server.EmbeddedServer;
+import io.modelcontextprotocol.json.McpJsonMapper;
+import io.modelcontextprotocol.json.TypeRef;
+import io.modelcontextprotocol.spec.McpSchema;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PreEncodedMcpJsonMapperTest {
+    private static final String INITIALIZE = "{\"jsonrpc\":\"2.0\",\"id\":1,\"method\":\"initialize\",\"params\":{\"protocolVersion\":\"2025-06-18\"," +
+        "\"capabilities\":{},\"clientInfo\":{\"name\":\"golden\",\"version\":\"1.0.0\"}}}";
+    private static final String INITIALIZED = "{\"jsonrpc\":\"2.0\",\"method\":\"notifications/initialized\"}";
+    private static final String TOOLS_LIST = "{\"jsonrpc\":\"2.0\",\"id\":2,\"method\":\"tools/list\"}";
+
+    /**
+     * The raw responses of the server must be the ones of the MCP SDK on its own, byte for byte,
+     * for the tool list and for a call of each phase.
+     */
+    @Test
+    void responsesAreTheOnesOfTheSdk() {
+        try (EmbeddedServer preEncoded = ApplicationContext.run(EmbeddedServer.class);
+             EmbeddedServer baseline = ApplicationContext.run(EmbeddedServer.class, Map.of("moon-phases.tools.pre-encoded", false));
+             HttpClient preEncodedClient = preEncoded.getApplicationContext().createBean(HttpClient.class, preEncoded.getURL());
+             HttpClient baselineClient = baseline.getApplicationContext().createBean(HttpClient.class, baseline.getURL())) {
+            assertFalse(baseline.getApplicationContext().containsBean(PreEncodedMcpJsonMapper.class));
+            String preEncodedSession = initialize(preEncodedClient);
+            String baselineSession = initialize(baselineClient);
+
+            String tools = call(preEncodedClient, preEncodedSession, TOOLS_LIST);
+            assertEquals(call(baselineClient, baselineSession, TOOLS_LIST), tools);
+            assertTrue(tools.contains("\"outputSchema\""), tools);
+
+            // A lunation, so that every phase is answered at least once
+            Set<MoonPhase> phases = EnumSet.noneOf(MoonPhase.class);
+            LocalDate start = LocalDate.of(2025, 10, 1);
+            for (int day = 0; day < 30; day++) {
+                String toolCall = "{\"jsonrpc\":\"2.0\",\"id\":" + (day + 3) + ",\"method\":\"tools/call\"," +
+                    "\"params\":{\"name\":\"moon-phase-at-date\",\"arguments\":{\"date\":\"" + start.plusDays(day) + "\"}}}";
+                String body = call(preEncodedClient, preEncodedSession, toolCall);
+                assertEquals(call(baselineClient, baselineSession, toolCall), body);
+                for (MoonPhase phase : MoonPhase.values()) {
+                    if (body.contains("\"" + phase.name() + "\"")) {
+                        phases.add(phase);
+                    }
+                }
+            }
+            assertEquals(EnumSet.allOf(MoonPhase.class), phases);
+
+            assertTrue(preEncoded.getApplicationContext().getBean(PreEncodedMcpJsonMapper.class).hits() >= 30,
+                "the tool responses are not written from the pre-encoded results");
+        }
+    }
+
+    /**
+     * The responses written from the pre-encoded results must be the ones of the decorated mapper, byte for byte,
+     * whatever their id, and the results that differ from the pre-encoded ones must be left to the decorated mapper.
+     */
+    @Test
+    void responsesAreTheOnesOfTheDecoratedMapper() throws IOException {
+        try (ApplicationContext preEncoded = ApplicationContext.run();
+             ApplicationContext baseline = ApplicationContext.run(Map.of("moon-phases.tools.pre-encoded", false))) {
+            McpJsonMapper mapper = preEncoded.getBean(McpJsonMapper.class);
+            McpJsonMapper baselineMapper = baseline.getBean(McpJsonMapper.class);
+            PreEncodedMcpJsonMapper preEncodedMapper = preEncoded.getBean(PreEncodedMcpJsonMapper.class);
+
+            for (MoonPhase phase : MoonPhase.values()) {
+                for (Object id : new Object[]{1, 42L, "\"quoted\" id", phase.name()}) {
+                    McpSchema.JSONRPCResponse response = new McpSchema.JSONRPCResponse(McpSchema.JSONRPC_VERSION, id, result(mapper, phase, false), null);
+                    assertEquals(baselineMapper.writeValueAsString(response), mapper.writeValueAsString(response));
+                    assertArrayEquals(baselineMapper.writeValueAsBytes(response), mapper.writeValueAsBytes(response));
+                }
+            }
+            assertEquals(MoonPhase.values().length * 4 * 2, preEncodedMapper.hits());
+
+            McpSchema.JSONRPCResponse error = new McpSchema.JSONRPCResponse(McpSchema.JSONRPC_VERSION, 1, result(mapper, MoonPhase.FULL_MOON, true), null);
+            assertEquals(baselineMapper.writeValueAsString(error), mapper.writeValueAsString(error));
+            assertEquals(MoonPhase.values().length * 4 * 2, preEncodedMapper.hits());
+        }
+    }
+
+    // The result of a phase tool, as built by the SDK from the JSON text and the map form of its value
+    private static McpSchema.CallToolResult result(McpJsonMapper mapper, MoonPhase phase, boolean isError) throws IOException {
+        MoonPhaseEmoji moonPhaseEmoji = MoonPhaseEmoji.of(phase);
+        return McpSchema.CallToolResult.builder()
+            .addTextContent(mapper.writeValueAsString(moonPhaseEmoji))
+            .isError(isError)
+            .structuredContent(mapper.convertValue(moonPhaseEmoji, new TypeRef<Map<String, Object>>() {
+            }))
+            .build();
+    }
+
+    private static String initialize(HttpClient client) {
+        HttpResponse<String> response = client.toBlocking().exchange(request(HttpRequest.POST("/mcp", INITIALIZE), null), String.class);
+        String sessionId = response.header(McpTransportMetricsFilter.SESSION_HEADER);
+        assertNotNull(sessionId);
+        call(client, sessionId, INITIALIZED);
+        return sessionId;
+    }
+
+    /**
+     * @return The JSON-RPC messages of the response, without the event ids of the server-sent events, if any
+     */
+    private static String call(HttpClient client, String sessionId, String body) {
+        HttpResponse<String> response = client.toBlocking().exchange(request(HttpRequest.POST("/mcp", body), sessionId), String.class);
+        assertTrue(response.code() < 300);
+        return response.getBody().orElse("").lines()
+            .filter(line -> !line.startsWith("id:"))
+            .collect(Collectors.joining("\n"));
+    }
+
+    private static MutableHttpRequest<String> request(MutableHttpRequest<String> request, String sessionId) {
+        request.contentType(MediaType.APPLICATION_JSON_TYPE)
+            .accept(MediaType.APPLICATION_JSON_TYPE, MediaType.TEXT_EVENT_STREAM_TYPE)
+            .header(McpSessionRehydrationFilter.PROTOCOL_VERSION_HEADER, "2025-06-18");
+        if (sessionId != null) {
+            request.header(McpTransportMetricsFilter.SESSION_HEADER, sessionId);
+        }
+        return request;
+    }
+}
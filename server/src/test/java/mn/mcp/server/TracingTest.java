@@ -0,0 +1,119 @@
+package mn.mcp.server;
+
+import io.micronaut.context.ApplicationContext;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.MediaType;
+import io.micronaut.http.client.HttpClient;
+import io.micronaut.runtime.server.EmbeddedServer;
+import io.modelcontextprotocol.client.McpClient;
+import io.modelcontextprotocol.client.McpSyncClient;
+import io.modelcontextprotocol.client.transport.HttpClientStreamableHttpTransport;
+import io.modelcontextprotocol.spec.McpSchema;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TracingTest {
+    static final String TRACE_ID = "0af7651916cd43dd8448eb211c80319c";
+    static final String TRACEPARENT = "00-" + TRACE_ID + "-b7ad6b7169203331-01";
+
+    InMemorySpanExporter exporter = InMemorySpanExporter.create();
+    EmbeddedServer embeddedServer = ApplicationContext.builder()
+        .singletons(SimpleSpanProcessor.create(exporter))
+        .run(EmbeddedServer.class);
+
+    @AfterEach
+    void stop() {
+        embeddedServer.close();
+    }
+
+    @Test
+    void toolCallsAreTracedFromTheTransportToTheCalculation() {
+        McpSyncClient client = McpClient.sync(HttpClientStreamableHttpTransport
+                .builder(embeddedServer.getURI().toString() + "/mcp")
+                .customizeRequest(request -> request.header("traceparent", TRACEPARENT))
+                .build())
+            .requestTimeout(Duration.ofSeconds(10))
+            .build();
+        client.initialize();
+
+        McpSchema.CallToolResult result = client.callTool(
+            new McpSchema.CallToolRequest("moon-phase-at-date", Map.of("date", "2025-10-01")));
+        assertFalse(Boolean.TRUE.equals(result.isError()));
+
+        SpanData toolSpan = awaitSpan(span -> span.getName().equals("tools/call moon-phase-at-date"));
+        assertEquals("moon-phase-at-date", toolSpan.getAttributes().get(AttributeKey.stringKey(ToolCallTracingInterceptor.TOOL_NAME)));
+        // Continued from the traceparent header of the client
+        assertEquals(TRACE_ID, toolSpan.getTraceId());
+
+        SpanData validation = awaitSpan(span -> span.getName().equals("validate"));
+        assertEquals(toolSpan.getSpanId(), validation.getParentSpanId());
+        SpanData calculation = awaitSpan(span -> span.getName().equals("moonPhaseAtDate"));
+        assertEquals(toolSpan.getSpanId(), calculation.getParentSpanId());
+        assertEquals("2025-10-01", calculation.getAttributes().get(AttributeKey.stringKey("moon.date")));
+
+        SpanData decoding = awaitSpan(span -> span.getName().equals("mcp.json.decode"));
+        assertTrue(decoding.getAttributes().get(AttributeKey.longKey(TracedMcpJsonMapper.PAYLOAD_LENGTH)) > 0);
+        SpanData encoding = awaitSpan(span -> span.getName().equals("mcp.json.encode"));
+        assertTrue(encoding.getAttributes().get(AttributeKey.longKey(TracedMcpJsonMapper.PAYLOAD_LENGTH)) > 0);
+
+        SpanData httpSpan = awaitSpan(span -> span.getKind() == SpanKind.SERVER
+            && span.getAttributes().get(AttributeKey.stringKey(McpTransportTracingFilter.SESSION_ID)) != null);
+        assertEquals(TRACE_ID, httpSpan.getTraceId());
+
+        client.closeGracefully();
+    }
+
+    @Test
+    void rehydratedSessionsAreTracedUnderTheSessionOfTheClient() {
+        try (EmbeddedServer stateless = ApplicationContext.builder()
+                 .singletons(SimpleSpanProcessor.create(exporter))
+                 .properties(Map.of("moon-phases.transport.stateless", true))
+                 .run(EmbeddedServer.class);
+             HttpClient httpClient = stateless.getApplicationContext().createBean(HttpClient.class, stateless.getURL())) {
+            // A session initialized on another instance, forwarded by this one to a local session
+            String sessionId = "initialized-elsewhere";
+            HttpResponse<String> response = httpClient.toBlocking().exchange(HttpRequest.POST("/mcp",
+                    "{\"jsonrpc\":\"2.0\",\"id\":2,\"method\":\"tools/call\"," +
+                        "\"params\":{\"name\":\"moon-phase-at-date\",\"arguments\":{\"date\":\"2025-10-01\"}}}")
+                .contentType(MediaType.APPLICATION_JSON_TYPE)
+                .accept(MediaType.APPLICATION_JSON_TYPE, MediaType.TEXT_EVENT_STREAM_TYPE)
+                .header(McpSessionRehydrationFilter.PROTOCOL_VERSION_HEADER, "2025-06-18")
+                .header(McpTransportMetricsFilter.SESSION_HEADER, sessionId), String.class);
+            assertTrue(response.getBody().orElse("").contains("FIRST_QUARTER"));
+
+            awaitSpan(span -> span.getKind() == SpanKind.SERVER
+                && sessionId.equals(span.getAttributes().get(AttributeKey.stringKey(McpTransportTracingFilter.SESSION_ID))));
+        }
+    }
+
+    private SpanData awaitSpan(Predicate<SpanData> predicate) {
+        // The spans are exported as they end, which may be after the response is received
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (true) {
+            List<SpanData> spans = exporter.getFinishedSpanItems();
+            for (SpanData span : spans) {
+                if (predicate.test(span)) {
+                    return span;
+                }
+            }
+            if (System.nanoTime() > deadline) {
+                fail("Span not found among " + spans.stream().map(SpanData::getName).toList());
+            }
+            LockSupport.parkNanos(Duration.ofMillis(10).toNanos());
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package mn.mcp.server;
+
+import io.micronaut.context.ApplicationContext;
+import io.micronaut.runtime.server.EmbeddedServer;
+import io.modelcontextprotocol.client.McpAsyncClient;
+import io.modelcontextprotocol.client.McpClient;
+import io.modelcontextprotocol.client.transport.HttpClientStreamableHttpTransport;
+import io.modelcontextprotocol.spec.McpSchema;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VirtualThreadToolDispatcherTest {
+    private static final int CALLS = 5_000;
+    // Below the default cap of moon-phases.admission.max-in-flight, leaving room for the loopback calls of the server
+    private static final int IN_FLIGHT = 192;
+
+    @Test
+    void disabledByDefault() {
+        try (ApplicationContext context = ApplicationContext.run()) {
+            assertFalse(context.containsBean(VirtualThreadToolDispatcher.class));
+            assertFalse(Mono.fromCallable(() -> Thread.currentThread().isVirtual())
+                .subscribeOn(Schedulers.boundedElastic())
+                .block());
+        }
+    }
+
+    @Test
+    void boundedElasticRunsOnVirtualThreads() {
+        try (ApplicationContext context = ApplicationContext.run(Map.of("moon-phases.tools.virtual-threads", true))) {
+            assertTrue(context.containsBean(VirtualThreadToolDispatcher.class));
+            assertTrue(Mono.fromCallable(() -> Thread.currentThread().isVirtual())
+                .subscribeOn(Schedulers.boundedElastic())
+                .block());
+        }
+        // The default factory is back once the context is closed
+        assertFalse(Mono.fromCallable(() -> Thread.currentThread().isVirtual())
+            .subscribeOn(Schedulers.boundedElastic())
+            .block());
+    }
+
+    @Test
+    void thousandsOfConcurrentToolCallsDoNotStarveTheEventLoop() throws Exception {
+        // A single session sends all the calls, far above the rate that admission control lets through
+        try (EmbeddedServer server = ApplicationContext.run(EmbeddedServer.class,
+            Map.of("moon-phases.tools.virtual-threads", true, "moon-phases.admission.enabled", false))) {
+
+            HttpClientStreamableHttpTransport transport = HttpClientStreamableHttpTransport
+                .builder(server.getURI().toString() + "/mcp")
+                .build();
+            McpAsyncClient client = McpClient.async(transport)
+                .requestTimeout(Duration.ofSeconds(60))
+                .build();
+            client.initialize().block();
+
+            // Meanwhile, probe the event loop with requests that involve no tool
+            AtomicBoolean loading = new AtomicBoolean(true);
+            AtomicLong slowestProbeMillis = new AtomicLong();
+            AtomicInteger probes = new AtomicInteger();
+            AtomicReference<Exception> probeFailure = new AtomicReference<>();
+            Thread prober = Thread.ofVirtual().start(() -> {
+                try {
+                    probe(server.getURI().resolve("/schemas/none.json"), loading, slowestProbeMillis, probes);
+                } catch (Exception e) {
+                    probeFailure.set(e);
+                }
+            });
+
+            List<McpSchema.CallToolResult> results = Flux.range(0, CALLS)
+                .flatMap(i -> client.callTool(toolCall(i)), IN_FLIGHT)
+                .collectList()
+                .block(Duration.ofMinutes(2));
+
+            loading.set(false);
+            prober.join();
+
+            assertNotNull(results);
+            assertEquals(CALLS, results.size());
+            results.forEach(result -> assertNotEquals(Boolean.TRUE, result.isError()));
+            assertNull(probeFailure.get(), () -> "the probe failed: " + probeFailure.get());
+            assertTrue(probes.get() > 0, "the event loop was never probed");
+            assertTrue(slowestProbeMillis.get() < 1000, "slowest probe took " + slowestProbeMillis.get() + " ms");
+
+            client.closeGracefully().block();
+        }
+    }
+
+    private static McpSchema.CallToolRequest toolCall(int i) {
+        // Mix cheap calls with heavier ones, a year of daily phases
+        return i % 2 == 0
+            ? new McpSchema.CallToolRequest("current-moon-phase", Map.of())
+            : new McpSchema.CallToolRequest("moon-phase-range", Map.of("start", "2025-01-01", "end", "2025-12-31"));
+    }
+
+    private static void probe(URI uri, AtomicBoolean loading, AtomicLong slowestProbeMillis, AtomicInteger probes) throws Exception {
+        try (HttpClient httpClient = HttpClient.newHttpClient()) {
+            HttpRequest request = HttpRequest.newBuilder(uri).GET().build();
+            while (loading.get()) {
+                long start = System.nanoTime();
+                httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                slowestProbeMillis.accumulateAndGet(Duration.ofNanos(System.nanoTime() - start).toMillis(), Math::max);
+                probes.incrementAndGet();
+                Thread.sleep(20);
+            }
+        }
+    }
+}